@@ -0,0 +1,26 @@
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Class BenchmarkRunner, runs the JMH benchmarks of the game with the gc profiler,
+ * so the results show the allocation rate (gc.alloc.rate.norm, bytes per operation) next to the throughput.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Main method to run the benchmarks.
+     * Arguments (optional): regular expression of the benchmarks to run, all benchmarks by default.
+     * Example: "GameEngineBenchmark.roll" or "SaveLoadBenchmark".
+     */
+    public static void main(String args[]) throws RunnerException {
+        String benchmarks = (args.length > 0) ? args[0] : "Benchmark";
+        Options options = new OptionsBuilder()
+                .include(benchmarks)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
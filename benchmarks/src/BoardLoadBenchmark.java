@@ -0,0 +1,30 @@
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class BoardLoadBenchmark, JMH benchmark of BoardConstructor.loadBoardFromMapFile() for every board language.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardLoadBenchmark {
+
+    /**
+     * Board file of each language: English, French, Arabic and Persian.
+     */
+    @Param({"board.xml", "board-fr.xml", "board-ar.xml", "board-pe.xml"})
+    public String boardFileName;
+
+    /**
+     * Loads the board file into a new Board.
+     */
+    @Benchmark
+    public Board loadBoardFromMapFile(){
+        Board board = new Board(boardFileName);
+        return new BoardConstructor(board).loadBoardFromMapFile(boardFileName, true);
+    }
+}
@@ -0,0 +1,162 @@
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class GameEngineBenchmark, JMH benchmarks of the rules of BoardModel and of the AI.
+ * Every benchmark plays on a headless BoardModel (no BoardView) with seeded dice, so runs are comparable.
+ * Players start with a very large balance so nobody goes bankrupt while a benchmark runs.
+ * The rules benchmarks play with two human players, so a benchmark call never plays AI turns, and reset the state
+ * they change before every call (see resetPlayer1()), so the game never drifts into Jail or to its end.
+ * The AI benchmark plays on its own BoardModel.
+ * Ownership is only changed with Property.setOwner(), which keeps the owned squares and complete color sets of the
+ * players in step, so the AI and house benchmarks see the color sets their players really own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEngineBenchmark {
+    private static final int LARGE_BALANCE = 1000000000;
+    private static final int MAX_TURNS_PER_GAME = 20000;
+
+    private BoardModel boardModel;
+    private Player player1;
+    private BoardModel aiBoardModel;
+    private AIPlayer aiPlayer;
+    private Property brownProperty1;
+    private Property brownProperty2;
+    private boolean buildOnFirstProperty;
+    private long gameSeed;
+    private int startPosition;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        boardModel = new BoardModel("board.xml", new SeededRandomSource(42));
+        player1 = new Player("P1", new Color(100,0,0), LARGE_BALANCE, false);
+        boardModel.addPlayer(player1);
+        boardModel.addPlayer(new Player("P2", new Color(0,100,0), LARGE_BALANCE, false));
+        boardModel.setCurrentPlayer(player1);
+        aiBoardModel = new BoardModel("board.xml", new SeededRandomSource(42));
+        aiPlayer = new AIPlayer("AI Player1", new Color(0,100,0), LARGE_BALANCE, 2, aiBoardModel.getBoard(), aiBoardModel, null);
+        aiBoardModel.addPlayer(aiPlayer);
+        aiBoardModel.addPlayer(new Player("P2", new Color(0,0,100), LARGE_BALANCE, false));
+        brownProperty1 = boardModel.getBoard().getProperty(1);
+        brownProperty2 = boardModel.getBoard().getProperty(3);
+        buildOnFirstProperty = false;
+        gameSeed = 0;
+        startPosition = 0;
+    }
+
+    /**
+     * Makes player 1 the current player, out of Jail, on the next start square (every square in turn, so passing GO
+     * and landing on Go To Jail are measured too), with nextRoll set and the game not over.
+     */
+    private void resetPlayer1(){
+        boardModel.setCurrentPlayer(player1);
+        player1.setInJail(false);
+        player1.setTurnsInJail(0);
+        player1.setNumOfDoubleRolls(0);
+        player1.setBalance(LARGE_BALANCE);
+        startPosition = (startPosition + 1) % 40;
+        player1.setPosition(startPosition);
+        boardModel.setNextRoll(true);
+        boardModel.setGameOver(false);
+        boardModel.setNumPropertiesLeft(26);
+    }
+
+    /**
+     * Rolls the dice and moves the current player.
+     */
+    @Benchmark
+    public boolean roll(){
+        resetPlayer1();
+        return boardModel.roll();
+    }
+
+    /**
+     * Operates the roll command (roll, rent, jail), the turn is passed to player 2 when player 1 stays in Jail.
+     */
+    @Benchmark
+    public int operateCommandRoll(){
+        resetPlayer1();
+        boardModel.operateCommand(BoardModel.Commands.roll);
+        return player1.getPositon();
+    }
+
+    /**
+     * Purchases the first brown property, which is given back to the bank before every purchase.
+     */
+    @Benchmark
+    public Player purchaseProperty(){
+        boardModel.setCurrentPlayer(player1);
+        player1.setPosition(1);
+        player1.setBalance(LARGE_BALANCE);
+        brownProperty1.setOwner(Player.BANK);
+        boardModel.setNumPropertiesLeft(26);
+        boardModel.purchaseProperty();
+        return brownProperty1.getOwner();
+    }
+
+    /**
+     * Purchases houses and hotels on the brown color set, alternating between its two properties.
+     * Player 1 owns the brown color set (setOwner() does nothing once it does), the houses are removed once both
+     * properties have a hotel.
+     */
+    @Benchmark
+    public int purchaseHouseOrHotel(){
+        boardModel.setCurrentPlayer(player1);
+        brownProperty1.setOwner(player1);
+        brownProperty2.setOwner(player1);
+        player1.setBalance(LARGE_BALANCE);
+        if((brownProperty1.getNumHotels() == 1) && (brownProperty2.getNumHotels() == 1)){
+            brownProperty1.setNumHotels(0);
+            brownProperty2.setNumHotels(0);
+        }
+        buildOnFirstProperty = !buildOnFirstProperty;
+        boardModel.purchaseHouseOrHotel(buildOnFirstProperty ? brownProperty1 : brownProperty2);
+        return brownProperty1.getNumHouses() + brownProperty2.getNumHouses();
+    }
+
+    /**
+     * Runs the AI decisions (HeuristicAIStrategy) to buy a property and to buy houses, on the square the AI player is on.
+     * The AI player moves to the next square before every decision and only that square goes back to the bank,
+     * so the AI player keeps the rest of its squares, owns color sets and buys houses on them.
+     */
+    @Benchmark
+    public int aiDecisions(){
+        aiBoardModel.setCurrentPlayer(aiPlayer);
+        int position = (aiPlayer.getPositon() + 1) % 40;
+        aiPlayer.setPosition(position);
+        aiPlayer.setBalance(LARGE_BALANCE);
+        Property property = aiBoardModel.getBoard().getProperty(position);
+        if((property.getOwner() == aiPlayer) && (property instanceof Railroads)){
+            aiPlayer.setOwnsXtrains(aiPlayer.getOwnsXtrains() - 1);
+        }
+        property.setOwner(Player.BANK);
+        aiBoardModel.setNumPropertiesLeft(26);
+        aiPlayer.decideBuyProperty();
+        aiPlayer.decideBuildHouses();
+        return aiPlayer.getBalance();
+    }
+
+    /**
+     * Plays a complete 4 AI player game, with a new seed every game.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int fullAIGame(){
+        BoardModel game = new BoardModel("board.xml", new SeededRandomSource(gameSeed++));
+        Color[] playerColors = {new Color(100,0,0), new Color(0,100,0), new Color(0,0,100), new Color(150,100,50)};
+        for (int i = 0; i < 4; i++) {
+            game.addPlayer(new AIPlayer("AI Player" + (i+1), playerColors[i], 1500, 4, game.getBoard(), game, null));
+        }
+        game.setCurrentPlayer(game.getPlayer(game.determineFirstPlayer()));
+        game.playScheduledTurns(MAX_TURNS_PER_GAME);
+        return game.getTurnCount();
+    }
+}
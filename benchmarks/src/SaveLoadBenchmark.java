@@ -0,0 +1,106 @@
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class SaveLoadBenchmark, JMH benchmarks of saving and loading a game.
+ * The game saved is a 4 AI player game played for a few hundred turns, so players own property and houses.
+ * Files are written to a temporary directory that is deleted after the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+    private static final int TURNS_BEFORE_SAVE = 300;
+
+    private BoardModel boardModel;
+    private File saveDirectory;
+    private String saveName;
+    private String saveFileName;
+    private String binarySaveFileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boardModel = new BoardModel("board.xml", new SeededRandomSource(42));
+        Color[] playerColors = {new Color(100,0,0), new Color(0,100,0), new Color(0,0,100), new Color(150,100,50)};
+        for (int i = 0; i < 4; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), playerColors[i], 1500, 4, boardModel.getBoard(), boardModel, null));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(TURNS_BEFORE_SAVE);
+        saveDirectory = Files.createTempDirectory("monopoly-benchmark").toFile();
+        saveName = new File(saveDirectory, "BenchmarkSave").getPath();
+        saveFileName = saveName + ".xml";
+        boardModel.save(saveName);
+        binarySaveFileName = saveName + BoardModel.BINARY_SAVE_EXTENSION;
+        boardModel.save(binarySaveFileName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        new File(saveFileName).delete();
+        new File(binarySaveFileName).delete();
+        saveDirectory.delete();
+    }
+
+    /**
+     * Converts the game to its xml save format.
+     */
+    @Benchmark
+    public String toXML(){
+        return boardModel.toXML();
+    }
+
+    /**
+     * Saves the game to a file.
+     */
+    @Benchmark
+    public long save(){
+        boardModel.save(saveName);
+        return new File(saveFileName).length();
+    }
+
+    /**
+     * Reads the saved game file into a SavedGame, without applying it to a BoardModel.
+     */
+    @Benchmark
+    public int readSave() throws Exception {
+        return SavedGame.read(new File(saveFileName)).getNumPlayers();
+    }
+
+    /**
+     * Loads the saved game into a new BoardModel (including the creation of the BoardModel and its board).
+     */
+    @Benchmark
+    public int load(){
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        loadedBoardModel.load(saveFileName);
+        return loadedBoardModel.getCurrentPlayerIndex();
+    }
+
+    /**
+     * Saves the game to a file in the binary save format.
+     */
+    @Benchmark
+    public long saveBinary(){
+        boardModel.save(binarySaveFileName);
+        return new File(binarySaveFileName).length();
+    }
+
+    /**
+     * Loads the binary save of the game into a new BoardModel (including the creation of the BoardModel and its board).
+     */
+    @Benchmark
+    public int loadBinary(){
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        loadedBoardModel.load(binarySaveFileName);
+        return loadedBoardModel.getCurrentPlayerIndex();
+    }
+}
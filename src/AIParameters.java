@@ -0,0 +1,197 @@
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Class AIParameters, the thresholds of the HeuristicAIStrategy.
+ * A property is bought when its cost benefit ratio (plus colorSetBoost if it completes a color set) is at least
+ * lowBalanceCutoff with a balance below lowBalance, midBalanceCutoff with a balance between lowBalance and highBalance,
+ * and highBalanceCutoff with a balance above highBalance.
+ * A house is bought while balance * buildBalanceMultiplier is more than the house price.
+ * DEFAULT holds the original hand picked values, the ones every AI player uses unless it is given others.
+ * Tuned values are written by the GeneticTuner to FILE_NAME, and are only used when they are asked for with load():
+ * the 'tuned' AI players of the GUI, and the parameters file argument of the TournamentRunner and LockstepSimulator.
+ * AIParameters are immutable, so one set can be shared by any number of players and threads.
+ */
+public class AIParameters {
+    public static final String FILE_NAME = "aiParameters.xml";
+    public static final AIParameters DEFAULT = new AIParameters(400, 750, 1.0, 0.75, 0.70, 0.1, 3.0);
+
+    /**
+     * Number of parameters, the length of the array of toArray() and fromArray().
+     */
+    public static final int NUM_PARAMETERS = 7;
+    private static final String[] NAMES = {"lowBalance", "highBalance", "lowBalanceCutoff", "midBalanceCutoff",
+            "highBalanceCutoff", "colorSetBoost", "buildBalanceMultiplier"};
+    private static final double[] MIN_VALUES = {0, 0, 0.0, 0.0, 0.0, 0.0, 0.0};
+    private static final double[] MAX_VALUES = {1500, 3000, 3.0, 3.0, 3.0, 1.0, 10.0};
+
+    private final int lowBalance;
+    private final int highBalance;
+    private final double lowBalanceCutoff;
+    private final double midBalanceCutoff;
+    private final double highBalanceCutoff;
+    private final double colorSetBoost;
+    private final double buildBalanceMultiplier;
+
+    /**
+     * AIParameters Constructor
+     * @param lowBalance balance below which lowBalanceCutoff is used
+     * @param highBalance balance above which highBalanceCutoff is used
+     * @param lowBalanceCutoff minimum cost benefit ratio to buy a property with a low balance
+     * @param midBalanceCutoff minimum cost benefit ratio to buy a property with a balance between the two
+     * @param highBalanceCutoff minimum cost benefit ratio to buy a property with a high balance
+     * @param colorSetBoost added to the cost benefit ratio of a property that completes a color set
+     * @param buildBalanceMultiplier a house is bought while balance * buildBalanceMultiplier is more than its price
+     */
+    public AIParameters(int lowBalance, int highBalance, double lowBalanceCutoff, double midBalanceCutoff,
+                        double highBalanceCutoff, double colorSetBoost, double buildBalanceMultiplier){
+        this.lowBalance = lowBalance;
+        this.highBalance = highBalance;
+        this.lowBalanceCutoff = lowBalanceCutoff;
+        this.midBalanceCutoff = midBalanceCutoff;
+        this.highBalanceCutoff = highBalanceCutoff;
+        this.colorSetBoost = colorSetBoost;
+        this.buildBalanceMultiplier = buildBalanceMultiplier;
+    }
+
+    /**
+     * Getter method for the balance below which lowBalanceCutoff is used
+     */
+    public int getLowBalance(){return lowBalance;}
+
+    /**
+     * Getter method for the balance above which highBalanceCutoff is used
+     */
+    public int getHighBalance(){return highBalance;}
+
+    /**
+     * Getter method for the minimum cost benefit ratio to buy a property with a low balance
+     */
+    public double getLowBalanceCutoff(){return lowBalanceCutoff;}
+
+    /**
+     * Getter method for the minimum cost benefit ratio to buy a property with a balance between low and high
+     */
+    public double getMidBalanceCutoff(){return midBalanceCutoff;}
+
+    /**
+     * Getter method for the minimum cost benefit ratio to buy a property with a high balance
+     */
+    public double getHighBalanceCutoff(){return highBalanceCutoff;}
+
+    /**
+     * Getter method for the boost of a property that completes a color set
+     */
+    public double getColorSetBoost(){return colorSetBoost;}
+
+    /**
+     * Getter method for the multiplier of the balance compared to the house price
+     */
+    public double getBuildBalanceMultiplier(){return buildBalanceMultiplier;}
+
+    /**
+     * Returns the parameters as an array of NUM_PARAMETERS values, in the order of the constructor.
+     */
+    public double[] toArray(){
+        return new double[]{lowBalance, highBalance, lowBalanceCutoff, midBalanceCutoff,
+                highBalanceCutoff, colorSetBoost, buildBalanceMultiplier};
+    }
+
+    /**
+     * Creates parameters from an array of NUM_PARAMETERS values, in the order of the constructor.
+     * Values are clamped to their range, balances are rounded and highBalance is never below lowBalance.
+     * @param values values of the parameters
+     * @return AIParameters of the values
+     */
+    public static AIParameters fromArray(double[] values){
+        double[] clamped = new double[NUM_PARAMETERS];
+        for (int i = 0; i < NUM_PARAMETERS; i++) {
+            clamped[i] = Math.max(MIN_VALUES[i], Math.min(MAX_VALUES[i], values[i]));
+        }
+        int lowBalance = (int)Math.round(clamped[0]);
+        int highBalance = Math.max(lowBalance, (int)Math.round(clamped[1]));
+        return new AIParameters(lowBalance, highBalance, clamped[2], clamped[3], clamped[4], clamped[5], clamped[6]);
+    }
+
+    /**
+     * Returns the smallest value of each parameter, in the order of toArray().
+     */
+    public static double[] getMinValues(){return MIN_VALUES.clone();}
+
+    /**
+     * Returns the largest value of each parameter, in the order of toArray().
+     */
+    public static double[] getMaxValues(){return MAX_VALUES.clone();}
+
+    /**
+     * coverts the parameters to xml format
+     * @return String in xml format
+     */
+    public String toXML(){
+        double[] values = toArray();
+        String s = "<AIParameters>\n";
+        for (int i = 0; i < NUM_PARAMETERS; i++) {
+            String value = (i < 2) ? String.valueOf((int)values[i]) : String.valueOf(values[i]);
+            s += "    <" + NAMES[i] + ">" + value + "</" + NAMES[i] + ">\n";
+        }
+        s += "</AIParameters>\n";
+        return s;
+    }
+
+    /**
+     * Saves the parameters in a file in xml format
+     * @param fileName name of the file to save to
+     */
+    public void save(String fileName){
+        try {
+            FileWriter writer = new FileWriter(new File(fileName));
+            writer.write(toXML());
+            writer.close();
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Loads parameters saved in xml format, a missing parameter keeps its DEFAULT value
+     * @param fileName name of the file to load
+     * @return AIParameters of the file, DEFAULT if the file can not be read
+     */
+    public static AIParameters load(String fileName){
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            DocumentBuilder db = dbf.newDocumentBuilder();
+            Document doc = db.parse(new File(fileName));
+            doc.getDocumentElement().normalize();
+            double[] values = DEFAULT.toArray();
+            for (int i = 0; i < NUM_PARAMETERS; i++) {
+                if(doc.getElementsByTagName(NAMES[i]).getLength() > 0){
+                    values[i] = Double.parseDouble(doc.getElementsByTagName(NAMES[i]).item(0).getTextContent().trim());
+                }
+            }
+            return fromArray(values);
+        }
+        catch (ParserConfigurationException | SAXException | IOException | NumberFormatException e){
+            System.out.println(e.getMessage());
+            return DEFAULT;
+        }
+    }
+
+    @Override
+    public String toString(){
+        double[] values = toArray();
+        String s = "";
+        for (int i = 0; i < NUM_PARAMETERS; i++) {
+            s += ((i > 0) ? ", " : "") + NAMES[i] + "=" + ((i < 2) ? String.valueOf((int)values[i]) : String.format("%.3f", values[i]));
+        }
+        return s;
+    }
+}
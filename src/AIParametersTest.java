@@ -0,0 +1,61 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+
+
+public class AIParametersTest {
+
+    // The default parameters are the original thresholds of the AIPlayer
+    @Test
+    public void testDefault(){
+        AIParameters parameters = AIParameters.DEFAULT;
+        assertEquals(400, parameters.getLowBalance());
+        assertEquals(750, parameters.getHighBalance());
+        assertEquals(1.0, parameters.getLowBalanceCutoff(), 0.0);
+        assertEquals(0.75, parameters.getMidBalanceCutoff(), 0.0);
+        assertEquals(0.70, parameters.getHighBalanceCutoff(), 0.0);
+        assertEquals(0.1, parameters.getColorSetBoost(), 0.0);
+        assertEquals(3.0, parameters.getBuildBalanceMultiplier(), 0.0);
+    }
+
+    // Values out of range are clamped and highBalance is never below lowBalance
+    @Test
+    public void testFromArray(){
+        AIParameters parameters = AIParameters.fromArray(new double[]{600.4, 500, -1.0, 0.5, 9.0, 0.2, 2.0});
+        assertEquals(600, parameters.getLowBalance());
+        assertEquals(600, parameters.getHighBalance());
+        assertEquals(0.0, parameters.getLowBalanceCutoff(), 0.0);
+        assertEquals(3.0, parameters.getHighBalanceCutoff(), 0.0);
+        assertArrayEquals(AIParameters.DEFAULT.toArray(), AIParameters.fromArray(AIParameters.DEFAULT.toArray()).toArray(), 0.0);
+    }
+
+    // Saved parameters load back the same
+    @Test
+    public void testSaveLoad(){
+        AIParameters parameters = new AIParameters(350, 900, 1.2, 0.8, 0.6, 0.25, 2.5);
+        String fileName = "aiParametersTest.xml";
+        parameters.save(fileName);
+        AIParameters loaded = AIParameters.load(fileName);
+        new File(fileName).delete();
+        assertArrayEquals(parameters.toArray(), loaded.toArray(), 0.0);
+    }
+
+    // The default strategy keeps the original parameters even when tuned ones were saved in the working directory
+    @Test
+    public void testDefaultIgnoresTunedFile(){
+        File file = new File(AIParameters.FILE_NAME);
+        if(file.exists()){
+            return;
+        }
+        new AIParameters(350, 900, 1.2, 0.8, 0.6, 0.25, 2.5).save(AIParameters.FILE_NAME);
+        try {
+            assertSame(AIParameters.DEFAULT, new HeuristicAIStrategy().getParameters());
+            assertEquals(350, AIParameters.load(AIParameters.FILE_NAME).getLowBalance());
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
@@ -1,16 +1,17 @@
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class AIPlayer, an extension to Player. This player will be able to make automatic game decisions about it's turn.
- * board, bm, boardView variables to store a reference to the Board, BoardModel, BoardView of the game.
+ * board, bm variables to store a reference to the Board, BoardModel of the game.
  * numPlayers is store the max number of players playing the game.
+ * strategy is the AIStrategy making the decisions of the player, HeuristicAIStrategy by default.
  */
 public class AIPlayer extends Player {
     private Board board;
     private BoardModel bm;
-    private BoardView boardView;
     private int numPlayers;
+    private AIStrategy strategy;
 
     /**
      * @param name          sets the players name to this parameter
@@ -19,153 +20,98 @@ public class AIPlayer extends Player {
      * @param maxPlayers    number of players playing the game
      * @param board         Board of player is set to this parameter
      * @param bm            BoardModel of player is set to this parameter
-     * @param boardView     BoardView of player is set to this parameter
+     * @param boardView     BoardView of the game, unused: the player only reaches the view through the BoardModel
      */
     public AIPlayer(String name, Color color, int startingMoney,int maxPlayers, Board board, BoardModel bm, BoardView boardView) {
+        this(name, color, startingMoney, maxPlayers, board, bm, boardView, new HeuristicAIStrategy());
+    }
+
+    /**
+     * @param name          sets the players name to this parameter
+     * @param color         player's color set to this parameter
+     * @param startingMoney starting money of player is set to this parameter
+     * @param maxPlayers    number of players playing the game
+     * @param board         Board of player is set to this parameter
+     * @param bm            BoardModel of player is set to this parameter
+     * @param boardView     BoardView of the game, unused: the player only reaches the view through the BoardModel
+     * @param strategy      AIStrategy making the decisions of the player
+     */
+    public AIPlayer(String name, Color color, int startingMoney,int maxPlayers, Board board, BoardModel bm, BoardView boardView, AIStrategy strategy) {
         super(name, color, startingMoney, true);
         this.board = board;
         this.bm = bm;
-        this.boardView = boardView;
         this.numPlayers = maxPlayers;
+        this.strategy = strategy;
     }
 
     /**
-     * Method for AI to make decision to buy something or not.
-     * @param Stage String for what to buy (currently just Buy Property)
+     * Getter method for the Board of the AI player
      */
-    public void aiLogic(String Stage) {
-        int pos = this.getPositon();
-        //if Buy Property Stage
-        if (Stage.compareToIgnoreCase("Buy Property") == 0) {
-            Color propertyColor = board.getProperty(pos).getColor();
-            Color jailColor = new Color(250, 140, 0);
-            Color nonPurchasableColor = new Color(255, 255, 255);
-
-            //If its not a chance/Go/Tax/non-purchasable space/Jail
-            if ( (!propertyColor.equals(nonPurchasableColor)) && (!propertyColor.equals(jailColor)) ){
+    public Board getBoard(){return board;}
 
-                // check if a decision to purchase would complete a color set
-                boolean purchaseCompletesColorset = false;
-                Color currPropertyColor = board.getProperty(pos).getColor();
-                int matchingColorCount = 0;
-                for (int i = 0; i < this.getControlledProperty().size(); i++) {
-                    if (currPropertyColor.equals(this.getControlledProperty().get(i).getColor())) {
-                        matchingColorCount++;
-                    }
-                }
+    /**
+     * Getter method for the BoardModel of the AI player
+     */
+    public BoardModel getBoardModel(){return bm;}
 
-                // if matching color is brown or dark blue
-                if (currPropertyColor.equals(new Color (136, 69, 19)) || currPropertyColor.equals(new Color (0, 0, 128))) {
-                    if (matchingColorCount == 1) {
-                        purchaseCompletesColorset = true;
-                    }
-                }
-                else if (matchingColorCount == 2) {
-                    purchaseCompletesColorset = true;
-                }
+    /**
+     * Getter method for the AIStrategy of the AI player
+     */
+    public AIStrategy getStrategy(){return strategy;}
 
-                // give a priority boost to decision to purchase if it will complete colorset
-                double priorityBoost = 0;
-                if(purchaseCompletesColorset) {
-                    priorityBoost = 0.1;
-                }
+    /**
+     * Setter method for the AIStrategy of the AI player
+     * @param strategy AIStrategy to set with
+     */
+    public void setStrategy(AIStrategy strategy){this.strategy = strategy;}
 
-                // check costBenifitRatio of buying property with different Balance ranges
-                double costBenifitRatio = board.getProperty(pos).getCostBenefitRatio(this.getBalance(), board.getProperty(pos).getHousePrice(), board.getProperty(pos).getPrice()) + priorityBoost;
-                Boolean buyProperty = false;
-                if (this.getBalance() < 400){
-                    if (costBenifitRatio>= 1.0){
-                        buyProperty = true;
-                    }
-                }
-                else if ((this.getBalance() > 400)  && (this.getBalance() < 750) ){
-                    if (costBenifitRatio >= 0.75){
-                        buyProperty = true;
-                    }
-                }
-                else if (this.getBalance() > 750){
-                    if (costBenifitRatio >= 0.70){
-                        buyProperty = true;
-                    }
-                }
-                //if true, operate buy property command
-                if(buyProperty){
-                    bm.operateCommand(BoardModel.Commands.purchaseProperty);
-                }
-            }
+    /**
+     * Makes the decision to buy the property the AI player is on, and buys it if the strategy decides to.
+     */
+    public void decideBuyProperty() {
+        if(strategy.buyProperty(this, board.getProperty(this.getPositon()))){
+            bm.operateCommand(BoardModel.Commands.purchaseProperty);
         }
-        //if Buy House Stage
-        if (Stage.compareToIgnoreCase("Buy House") == 0) {
-            //if AI has colorSet
-            if(this.getHasAColorSet()){
-                ArrayList<Color> colorSetList = new ArrayList<>();
-                ArrayList<Property> propertyList = new ArrayList<>();
-                Color railroadColor =  new Color(102,98,95);
-                //Get Color Set Property owned by AI
-                for (int i = 0; i < board.getAllColorsList().size(); i++) {
-                    Color color = board.getAllColorsList().get(i);
-                    ArrayList<Property> tempPropetyList =board.getColorPropertyArrayList().get(color);
-                    Boolean ownsColorSet = true;
-                    for(int j = 0; j<tempPropetyList.size(); j++){
-                        if(!tempPropetyList.get(j).getOwner().equals(this)){
-                            ownsColorSet = false;
-                        }
-                    }
-                    if(ownsColorSet && (!color.equals(railroadColor))){
-                        colorSetList.add(color);
-                        for (int k = 0; k < tempPropetyList.size(); k++) {
-                            propertyList.add(tempPropetyList.get(k));
-                        }
-                    }
-                }
-                //Check value of each property option in propertyList and get color of top priority
-                ArrayList<Double> costBenitfitList = new ArrayList<>();
-                double topBenifitRatio = 0.0;
-                int topBenifitIndex = 0;
-                for (int i = 0; i < propertyList.size(); i++) {
-                    double costBenifitRatio = propertyList.get(i).getCostBenefitRatio(this.getBalance(), propertyList.get(i).getRent(), propertyList.get(i).getHousePrice());
-                    costBenitfitList.add(costBenifitRatio);
-                    if(costBenifitRatio > topBenifitRatio){
-                        topBenifitRatio = costBenifitRatio;
-                        topBenifitIndex = i;
-                    }
-                }
+    }
 
-                Color colorOfTopProperty = propertyList.get(topBenifitIndex).getColor();
-                int colorIndex = colorSetList.indexOf(colorOfTopProperty);
-                //if topPriority Color's Property already have Hotels, change the color.
-                if(board.getColorPropertyArrayList().get(colorOfTopProperty).get(0).getNumHotels() ==1){
-                    colorOfTopProperty = colorSetList.get((colorIndex +1)%colorSetList.size());
-                }
-                ArrayList<Property> topPropertyList = board.getColorPropertyArrayList().get(colorOfTopProperty);
-                for(int i = 0; i < topPropertyList.size(); i++){
-                    Property propertySameColor = topPropertyList.get(i);
-                    //if balance atleast triple cost of buying house, buy houses on top priority color set.
-                    if((this.getBalance()*3) > propertySameColor.getHousePrice()) {
-                        bm.purchaseHouseOrHotel(propertySameColor);
-                    }
-                }
-            }
+    /**
+     * Makes the decision to buy houses or hotels, and buys the ones the strategy chooses.
+     */
+    public void decideBuildHouses() {
+        List<Property> housesToBuild = strategy.chooseHousesToBuild(this);
+        for (int i = 0; i < housesToBuild.size(); i++) {
+            bm.purchaseHouseOrHotel(housesToBuild.get(i));
         }
     }
 
     /**
-     * Method to play an AI player's turn
+     * Method to play an AI player's turn.
+     * The turn ends when the AI can not roll again, or when the turn has already been passed
+     * by the BoardModel (stayed in Jail, went bankrupt, game ended).
      */
     @Override
     public void playAITurn(){
         //While AIPlayer can roll again, roll again and make decision to buy property or not
-        while(bm.getNextRoll()&&(!this.getBankruptStatus())){
+        while(isPlayingTurn() && bm.getNextRoll()){
             bm.operateCommand(BoardModel.Commands.roll);
-            this.aiLogic("Buy Property");
-            this.aiLogic("Buy House");
+            if(isPlayingTurn()) {
+                this.decideBuyProperty();
+                this.decideBuildHouses();
+            }
+            bm.getGameEventListener().aiStepFinished();
         }
         //Update GUI and pass turn to next player
-        boardView.updateAllPlayersStatus(numPlayers);
-        if(this.getBankruptStatus()){
-            boardView.getPlayerLists().get(bm.getCurrentPlayerIndex())[this.getPositon()].setVisible(false);
+        bm.getGameEventListener().updateAllPlayersStatus(numPlayers);
+        if(isPlayingTurn()) {
+            bm.operateCommand(BoardModel.Commands.passTurn);
         }
+        bm.getGameEventListener().aiStepFinished();
+    }
 
-        bm.operateCommand(BoardModel.Commands.passTurn);
+    /**
+     * Returns true if it is still this AI player's turn to play.
+     */
+    private boolean isPlayingTurn(){
+        return (bm.getCurrentPlayer() == this) && (!this.getBankruptStatus()) && (!bm.isGameOver());
     }
 }
@@ -0,0 +1,26 @@
+import java.util.List;
+
+/**
+ * Interface AIStrategy, the decisions an AIPlayer makes during its turn.
+ * Each AIPlayer has its own strategy, so AI players with different strategies can play in the same game.
+ * HeuristicAIStrategy is the original strategy of the AIPlayer.
+ * The strategy only decides, the AIPlayer operates the commands on the BoardModel.
+ */
+public interface AIStrategy {
+
+    /**
+     * Called after every roll, decides whether to buy the property the player landed on
+     * @param player AIPlayer deciding
+     * @param property Property the player is on
+     * @return true to buy the property
+     */
+    boolean buyProperty(AIPlayer player, Property property);
+
+    /**
+     * Called after every roll, decides where to buy houses or hotels
+     * @param player AIPlayer deciding
+     * @return the properties to buy a house or hotel on, in order, empty to buy nothing.
+     * The list may be reused by the strategy, it is only valid until its next decision
+     */
+    List<Property> chooseHousesToBuild(AIPlayer player);
+}
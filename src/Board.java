@@ -20,6 +20,8 @@ public class Board {
     private ArrayList<Color> allColorsList;
     private Boolean isValid;
     private String currency;
+    private RentTable rentTable;
+    private ColorSets colorSets;
 
     /**
      * The source of user input the board will ask for while performing actions (attack, fortify, etc.)
@@ -131,4 +133,26 @@ public class Board {
      */
     public void setAllColorsList(ArrayList<Color> colorsList){allColorsList = colorsList;}
 
+    /**
+     * Getter method for the RentTable of the board
+     */
+    public RentTable getRentTable(){return rentTable;}
+
+    /**
+     * Setter method for the RentTable of the board
+     * @param rentTable RentTable to set with
+     */
+    public void setRentTable(RentTable rentTable){this.rentTable = rentTable;}
+
+    /**
+     * Getter method for the ColorSets of the board
+     */
+    public ColorSets getColorSets(){return colorSets;}
+
+    /**
+     * Setter method for the ColorSets of the board
+     * @param colorSets ColorSets to set with
+     */
+    public void setColorSets(ColorSets colorSets){this.colorSets = colorSets;}
+
 }
\ No newline at end of file
@@ -48,6 +48,24 @@ public class BoardConstructor {
     }
 
 
+    /**
+     * Returns the name of the bundled board file of a currency, board.xml for an unknown currency.
+     * @param currency currency of the game, as in the Currency element of a board or save file
+     * @return name of the board file
+     */
+    public static String getBoardFileName(String currency) {
+        if(currency.equals("IRR ")){
+            return "board-pe.xml";
+        }
+        else if(currency.equals("CAD ")){
+            return "board-fr.xml";
+        }
+        else if(currency.equals("SAR ")){
+            return "board-ar.xml";
+        }
+        return "board.xml";
+    }
+
     /**
      * Loads board from a file and parse it to create Property objects to store in board argument given.
      * @return true with board loaded successfully, else false
@@ -78,19 +96,7 @@ public class BoardConstructor {
                             board.setCurrency(currencyList2.item(itr).getTextContent());
                         }
                     }
-                    String currencyOfGame = board.getCurrency();
-                    if(currencyOfGame.equals("IRR ")){
-                        doc = db.parse(this.getClass().getResourceAsStream("board-pe.xml"));
-                    }
-                    else if(currencyOfGame.equals("CAD ")){
-                        doc = db.parse(this.getClass().getResourceAsStream("board-fr.xml"));
-                    }
-                    else if(currencyOfGame.equals("SAR ")){
-                        doc = db.parse(this.getClass().getResourceAsStream("board-ar.xml"));
-                    }
-                    else{
-                        doc = db.parse(this.getClass().getResourceAsStream("board.xml"));
-                    }
+                    doc = db.parse(this.getClass().getResourceAsStream(getBoardFileName(board.getCurrency())));
                 }
                 doc.getDocumentElement().normalize();
 
@@ -251,6 +257,11 @@ public class BoardConstructor {
                     board.addColorPropertySet(colorsList.get(i),tempPropertyList);
                 }
 
+                // Rents of every Property at every rent level, so paying rent is a single lookup
+                board.setRentTable(new RentTable(board));
+                // Color sets as masks of locations, to check color set ownership and even building with bitwise operations
+                board.setColorSets(new ColorSets(board));
+
             } catch (FileNotFoundException | ParserConfigurationException f) {
 
             } catch (SAXException e) {
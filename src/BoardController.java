@@ -2,7 +2,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Class BoardController. Controls the implementations of the buttons pressed in BoardView of the game.
@@ -12,6 +14,7 @@ import java.util.ArrayList;
  * playerInitializeStage: int to store which stage of the initializing process the game is in.
  * Max_players: to store the total number of players the user entered that will play the game.
  * colorList: Stores an ArrayList of colors for Players.
+ * saveManager: the named save slots of the game, saves are written in the background so the GUI never waits on them.
  *
  */
 public class BoardController implements ActionListener {
@@ -27,6 +30,8 @@ public class BoardController implements ActionListener {
     private Boolean waitForNextButton;
 
     private ArrayList<Color> colorList;
+    private static final String AUTOSAVE_NAME = "Autosave";
+    private SaveManager saveManager;
 
     /**
      * BoardController Constructor
@@ -46,6 +51,7 @@ public class BoardController implements ActionListener {
         colorList.add(new Color(0,0,100));
         colorList.add(new Color(150,100,50));
         this.waitForNextButton = false;
+        this.saveManager = new SaveManager(new File(SaveManager.DEFAULT_DIRECTORY));
 
     }
 
@@ -55,6 +61,10 @@ public class BoardController implements ActionListener {
      */
     @Override
     public void actionPerformed(ActionEvent actionEvent){
+        //the buttons are ignored while AI players are playing their turns
+        if(bm.isTurnLoopRunning()){
+            return;
+        }
         ArrayList<JButton> buttons = bv.getButtonList();
         int startGameButton = 0;
         int rollButton = 1;
@@ -93,13 +103,75 @@ public class BoardController implements ActionListener {
             submitButtonAction();
         }
         if (actionEvent.getSource().equals(buttons.get(saveButton))) {
-            bm.save("SaveFile");
+            saveButtonAction();
         }
         if (actionEvent.getSource().equals(buttons.get(loadButton))) {
-            bm.load("SaveFile.xml");
+            loadButtonAction();
+        }
+    }
+
+    /**
+     * Implements save button, the game is saved in the slot named by the user on the save thread of saveManager
+     */
+    public void saveButtonAction(){
+        String slotName = bv.askSaveSlotName(saveManager.getSlots());
+        if(slotName == null){
+            return;
+        }
+        slotName = slotName.trim();
+        if(!SaveManager.isValidSlotName(slotName)){
+            bv.setEventLabelText("Invalid save name: " + slotName, "Use letters, digits, spaces, - and _");
+            return;
+        }
+        bv.setEventLabelText("Saving game...", "");
+        saveManager.save(slotName, bm).whenComplete((slot, exception) -> SwingUtilities.invokeLater(() -> {
+            if(exception == null){
+                bv.setEventLabelText("Game saved succesfully!", slot.getName());
+            }
+            else{
+                System.out.println(exception.getMessage());
+                bv.setEventLabelText("Game could not be saved", "");
+            }
+        }));
+    }
+
+    /**
+     * Implements load button, the game of the slot chosen by the user is loaded
+     */
+    public void loadButtonAction(){
+        List<SaveSlot> slots = saveManager.getSlots();
+        if(slots.isEmpty()){
+            bv.setEventLabelText("No load files found","");
+            return;
+        }
+        SaveSlot slot = bv.chooseSaveSlot(slots);
+        if(slot == null){
+            return;
+        }
+        saveManager.load(slot.getName(), bm);
+        //autosave the loaded game in the command journal
+        if(!bm.players.isEmpty()){
+            bm.startJournal(AUTOSAVE_NAME);
         }
     }
 
+    /**
+     * Offers to continue the game autosaved in the command journal if it was not finished (the game crashed or was
+     * closed), before a new game or a load starts a new journal that overwrites the autosave.
+     * If the recovered game is in an AI turn, the turn loop is started again.
+     */
+    public void offerAutosaveRecovery(){
+        if(!CommandJournal.hasUnfinishedGame(AUTOSAVE_NAME) || !bv.askRecoverAutosave()){
+            return;
+        }
+        if(!bm.recoverFromJournal(AUTOSAVE_NAME)){
+            bv.setEventLabelText("The autosaved game could not be recovered","");
+            return;
+        }
+        //the journal usually ends inside an AI turn, the turn loop plays on from there
+        bm.playScheduledTurns();
+    }
+
     /**
      * Implements start button
      */
@@ -121,7 +193,10 @@ public class BoardController implements ActionListener {
      */
     public void rollButtonAction(){
         bm.operateCommand(BoardModel.Commands.roll);
-        bv.updateAllPlayersStatus(Max_players);
+        //if the roll passed the turn to AI players, they update the players status themselves
+        if(!bm.isTurnLoopRunning()) {
+            bv.updateAllPlayersStatus(Max_players);
+        }
     }
 
     /**
@@ -137,7 +212,10 @@ public class BoardController implements ActionListener {
      */
     public void passTurnButtonAction(){
         bm.operateCommand(BoardModel.Commands.passTurn);
-        bv.updateAllPlayersStatus(Max_players);
+        //if AI players are playing now, they update the players status themselves
+        if(!bm.isTurnLoopRunning()) {
+            bv.updateAllPlayersStatus(Max_players);
+        }
     }
 
     /**
@@ -227,7 +305,7 @@ public class BoardController implements ActionListener {
             }
             else{
                 playerInitializeStage = Stages.AIPlayerSelect;
-                bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI)?","Press the submit button when done.");
+                bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done.");
                 bv.setEventLabel3Text("");
                 waitForNextButton = true;
             }
@@ -242,13 +320,32 @@ public class BoardController implements ActionListener {
     /**Stage 2 (AIPlayerSelect): Ask User if each player is AI or human, if human ask for a player name.*/
     public void AIPlayerSelect(){
         boolean AIPlayer = bv.getUserInput().equals("yes");
+        boolean monteCarloAIPlayer = bv.getUserInput().equals("mcts");
+        boolean expectedValueAIPlayer = bv.getUserInput().equals("ev");
+        boolean tunedAIPlayer = bv.getUserInput().equals("tuned");
 
         if (AIPlayer) {
             bm.addPlayer(new AIPlayer("AI Player" + (playerInitializing+1), colorList.get(playerInitializing), 1500,Max_players,bm.getBoard(),bm,bv));
             playerInitializing++;
-            bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI)?","Press the submit button when done");
+            bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done");
 
         }
+        else if (tunedAIPlayer) {
+            //the thresholds written by the GeneticTuner are only used when asked for, the other AI players keep the original ones
+            bm.addPlayer(new AIPlayer("Tuned AI Player" + (playerInitializing+1), colorList.get(playerInitializing), 1500,Max_players,bm.getBoard(),bm,bv,new HeuristicAIStrategy(AIParameters.load(AIParameters.FILE_NAME))));
+            playerInitializing++;
+            bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done");
+        }
+        else if (expectedValueAIPlayer) {
+            bm.addPlayer(new AIPlayer("EV AI Player" + (playerInitializing+1), colorList.get(playerInitializing), 1500,Max_players,bm.getBoard(),bm,bv,new ExpectedValueAIStrategy()));
+            playerInitializing++;
+            bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done");
+        }
+        else if (monteCarloAIPlayer) {
+            bm.addPlayer(new AIPlayer("MCTS AI Player" + (playerInitializing+1), colorList.get(playerInitializing), 1500,Max_players,bm.getBoard(),bm,bv,new MonteCarloAIStrategy(MonteCarloTreeSearch.DEFAULT_BUDGET_MILLIS)));
+            playerInitializing++;
+            bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done");
+        }
         else {
             bv.setEventLabelText("Enter the name of Player "+(playerInitializing+1),"Press the submit button when done");
             playerInitializeStage = Stages.AIPlayerInit;
@@ -264,7 +361,7 @@ public class BoardController implements ActionListener {
     /**Stage 3 (AIPlayerInit): helping stage with Stage 2*/
     public void AIPlayerSelectHelper(){
         playerInitializing++;
-        bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI)?","Press the submit button when done");
+        bv.setEventLabelText("Do you want player " + (playerInitializing+1) + " to be an AI Player? ('yes' if AI, 'tuned' if AI tuned by the GeneticTuner, 'ev' if expected value AI, 'mcts' if Monte Carlo AI)?","Press the submit button when done");
         String playerName = bv.getUserInput();
         Player newPlayer = new Player(playerName, new Color(10*playerInitializing,10*playerInitializing,10*playerInitializing), 1500, false);
         bm.addPlayer(newPlayer);
@@ -292,10 +389,10 @@ public class BoardController implements ActionListener {
         }
         playerInitializeStage = Stages.housingPurchase;
         waitForNextButton = true;
-        //if first player is AI, then playAITurn for first player
-        if(firstPlayer.getAi()){
-            firstPlayer.playAITurn();
-        }
+        //autosave the game in the command journal, so it can be rebuilt after a crash
+        bm.startJournal(AUTOSAVE_NAME);
+        //if first player is AI, play the AI turns until a human player has to play
+        bm.playScheduledTurns();
     }
 
     /**Stage 5 (housingPurchase): Check what property name the User typed to buy a house on*/
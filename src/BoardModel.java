@@ -1,30 +1,36 @@
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.swing.*;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import java.awt.*;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.lang.Math;
 
 
 /**
  * Class BoardModel, Model of the board of the game. Has most of the game functionality commands.
+ * The rules of the game are the GameRules, played on the Player and Property objects of the game;
+ * BoardModel publishes their events and keeps the state hash and the journal.
  * ArrayList of Players to store all Players in the BoardModel.
  * currentPlayer variable to keep track of current player in the BoardModel.
  * nextRoll to store if current player will roll again (true) or not (false).
  * board variable to store Board of the BoardModel
  * boardView variable to store BoardView of the game.
+ * gameEventListener receives every event of the game, the BoardView when playing with the GUI, else a NullGameEventListener.
  * board Constructor to store constructor of the board.
  * enum Commands to use to operate game commands with.
  * diceValue1 and diceValue2 to store the random dice values that are rolled.
+ * randomSource is the source of the dice rolls and first player selection, every BoardModel has its own.
+ * gameOver, true once the game has ended, after that no more commands are operated.
+ * turnCount to store how many turns have been passed since the game started.
+ * turnLoopRunning, true while playScheduledTurns is playing AI turns.
+ * turnExecutor plays the AI turns of the turn loop, null to play them on the thread that starts the loop.
  */
-public class BoardModel {
+public class BoardModel extends GameRules {
     public ArrayList<Player> players;
     private Player currentPlayer;
     private ArrayList<Player> winnersList, losersList;
@@ -32,14 +38,52 @@ public class BoardModel {
     private Boolean nextRoll;
     private Board board;
     private BoardView boardView;
+    private GameEventListener gameEventListener;
     private BoardConstructor boardConstructor;
     public enum Commands {quit, roll, passTurn, help, purchaseProperty, purchaseHouse}
+    public static final int DEFAULT_STALEMATE_ROUNDS = 100;
+    public static final double DEFAULT_STALEMATE_BALANCE_DRIFT = 0.02;
+    public static final String BINARY_SAVE_EXTENSION = ".sav";
+    public static final String XML_SAVE_EXTENSION = ".xml";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String SAVE_INDENT = "    ";
+    private static final int SAVE_BUFFER_SIZE = 16 * 1024;
     private int diceValue1,diceValue2;
+    private boolean gameOver;
+    private int turnCount;
+    private volatile boolean turnLoopRunning;
+    private Executor turnExecutor;
+    private RandomSource randomSource;
+    private long stateHash;
+    private long[] ownedSquaresHashes;
+    private int maxTurns;
+    private int stalemateRounds;
+    private double stalemateBalanceDrift;
+    private int stalemateWindowStart;
+    private long stalemateSquaresHash;
+    private int stalemateActivePlayers;
+    private double[] stalemateBalances;
+    private boolean stalemate;
+    private boolean endedByNetWorth;
+    private CommandJournal journal;
+    // depth of the commands in progress on each thread, commands are operated on the event thread and on the AI turn thread
+    private final ThreadLocal<Integer> commandDepth;
+    private boolean replayingJournal;
 
     /**
-     * Constructor for Game
+     * Constructor for Game, dice are rolled with a randomly seeded SeededRandomSource.
+     * @param fileName name of the board file
      */
     public BoardModel(String fileName){
+        this(fileName, new SeededRandomSource());
+    }
+
+    /**
+     * Constructor for Game
+     * @param fileName name of the board file
+     * @param randomSource source of the dice rolls and first player selection of this game
+     */
+    public BoardModel(String fileName, RandomSource randomSource){
         this.players = new ArrayList<>();
         this.currentPlayer = null;
         this.winnersList = new ArrayList<>();
@@ -53,8 +97,22 @@ public class BoardModel {
         //boardConstructor.validateXMLSchema("board.xsd", "board.xml");
         board.setIsValid(true);
         boardView = null;
+        gameEventListener = NullGameEventListener.INSTANCE;
         diceValue1 = -1;
         diceValue2 = -2;
+        gameOver = false;
+        turnCount = 0;
+        turnLoopRunning = false;
+        this.randomSource = randomSource;
+        this.stateHash = 0;
+        this.ownedSquaresHashes = new long[StateHash.MAX_PLAYERS];
+        maxTurns = 0;
+        stalemateRounds = 0;
+        stalemate = false;
+        endedByNetWorth = false;
+        journal = null;
+        commandDepth = ThreadLocal.withInitial(() -> 0);
+        replayingJournal = false;
     }
 
     /**
@@ -63,9 +121,8 @@ public class BoardModel {
      */
     public int determineFirstPlayer() {
         int totalPlayers = players.size();
-        int multiplierFactor = 70;
         // generate a random integer number in the range 0 to totalPlayers - 1 inclusive
-        int randomPlayer = (int)((Math.random() * multiplierFactor)%totalPlayers);
+        int randomPlayer = randomSource.nextInt(totalPlayers);
         return randomPlayer;
     }
 
@@ -93,346 +150,568 @@ public class BoardModel {
      * @param command the command that the function will process
      */
     public void operateCommand(Commands command) {
-        boardView.setEventLabel3Text("");
-        String playerName = currentPlayer.getName();
-        String currency = board.getCurrency();
+        //once the game has ended, no more commands are operated
+        if (gameOver) {
+            return;
+        }
+        if ((journal != null) && !replayingJournal) {
+            //checkpoints are only taken between two commands, never inside one (AI turns can be played inside a passTurn)
+            if ((commandDepth.get() == 0) && journal.needsCheckpoint()) {
+                checkpointJournal();
+            }
+            journal.recordCommand(getCurrentPlayerIndex(), command);
+        }
+        commandDepth.set(commandDepth.get() + 1);
+        try {
+            executeCommand(command);
+        }
+        finally {
+            commandDepth.set(commandDepth.get() - 1);
+        }
+    }
+
+    /**
+     * executes a game command for operateCommand, the rules of the commands are the GameRules
+     * @param command the command that the function will process
+     */
+    private void executeCommand(Commands command) {
+        gameEventListener.setEventLabel3Text("");
         if (command.equals(Commands.quit)) {
-            boardView.setEventLabel3Text("Game has ended.");
-            boardView.resultsMessageWindow();
+            gameOver = true;
+            gameEventListener.setEventLabel3Text("Game has ended.");
+            gameEventListener.resultsMessageWindow();
             return;
         }
         if (command.equals(Commands.roll)) {
-            if(nextRoll && (currentPlayer.getInJail() == false)) {
-                nextRoll = roll();
-                Property propertyOn = board.getProperty(currentPlayer.getPositon());
-                Player owner = propertyOn.getOwner();
-                //if current player lands on a property it does not own, pay rent (which will pay if owner is not bank or is a tax property)
-                if (!owner.equals(currentPlayer)) {
-                    propertyOn.payRent(currentPlayer);
-
-                    int taxPropertyLocation1 = 4;
-                    int taxPropertyLocation2 = 38;
-                    //if owner is not bank or Property is a Tax Property, then set label text to show player paying rent amount.
-                    if(!owner.getName().equals("bank")||(propertyOn.getLocation() == taxPropertyLocation1)||(propertyOn.getLocation() == taxPropertyLocation2)) {
-                        boardView.setEventLabel3Text(playerName + " pays "+currency + propertyOn.getRent() + " to " + owner.getName() + " on " + propertyOn.getName());
-                    }
-                }
-            }
-            else{
-                boardView.setEventLabelText(playerName+" can NOT roll again. Pass your turn or buy property.","");
-            }
-            if ((currentPlayer.getInJail() == true)){
-                Boolean isDouble = roll();
-                if (isDouble && (currentPlayer.getTurnsInJail() != 0)) {
-                    currentPlayer.setInJail(false);
-                    currentPlayer.setTurnsInJail(0);
-                    boardView.setEventLabelText(playerName + " rolled a double and is out of jail.","");
-                } else {
-                    if (currentPlayer.getTurnsInJail() == 3) {
-                        currentPlayer.removefromBalance(50); //Get out of Jail fee for not rolling a double after 3 turns.
-                        currentPlayer.setInJail(false);
-                        currentPlayer.setTurnsInJail(0);
-                        boardView.setEventLabel3Text(playerName + " Payed "+currency+"50 to get out of jail.");
-                    }
-                    else if((currentPlayer.getTurnsInJail() != 0)){
-                        boardView.setEventLabel3Text(playerName + " did Not roll a double");
-                    }
-                    currentPlayer.setTurnsInJail(currentPlayer.getTurnsInJail() + 1); //add 1 to time in jail for player.
-                    passPlayerTurn();
-                }
-            }
+            playRollCommand(randomSource);
         }
         else if (command.equals(Commands.purchaseProperty)) {
             purchaseProperty();
         }
         else if (command.equals(Commands.purchaseHouse)) {
-            boardView.setEventLabelText("Type in the property name on which you", "would like to purchase a house/hotel on.");
+            gameEventListener.setEventLabelText("Type in the property name on which you", "would like to purchase a house/hotel on.");
 
         }
         else if (command.equals(Commands.passTurn)) {
-            if (nextRoll == true) {
-                boardView.setEventLabelText(playerName + " needs to roll again before passing turn.","");
-            } else {
-                passPlayerTurn();
-            }
+            playPassTurnCommand();
         }
         else if (command.equals(Commands.help)) {
             System.out.println("All commands are below with brief explanation:");
-            boardView.setEventLabelText("'roll' - Rolls a number die for current player","'purchase property' - Purchases property for current player is on");
-            boardView.setEventLabel3Text("'purchase house' or 'purchase hotel' - Purchase house/hotel, asks player to type name of property to buy house/hotel on");
+            gameEventListener.setEventLabelText("'roll' - Rolls a number die for current player","'purchase property' - Purchases property for current player is on");
+            gameEventListener.setEventLabel3Text("'purchase house' or 'purchase hotel' - Purchase house/hotel, asks player to type name of property to buy house/hotel on");
             System.out.println("'pass turn' - Current player's turn ends, passes turn to next player");
         }
         else {
             System.out.println("No such command exists!");
         }
-        //if next player is bankrupt, pass turn and set event label text to current player has gone bankrupt.
-        if(currentPlayer.getBankruptStatus()){
-            int playerIndex = this.getCurrentPlayerIndex();
-            boardView.getPlayerLists().get(playerIndex)[currentPlayer.getPositon()].setVisible(false);
-            boardView.setEventLabel3Text(currentPlayer.getName()+ " has gone bankrupt!");
-            boardView.updateAllHousesIcons();
-            passPlayerTurn();
-        }
-
-        if (gameHasEnded().equals(true)) {
-            operateCommand(Commands.quit);
-        }
+        //if next player is bankrupt, pass turn. Then quit if the game has ended.
+        endCommand();
 
         //if next player has a color set, make purchase house button visible. Else make the button not visible.
         if(currentPlayer.getHasAColorSet()){
-            boardView.setPurchaseHouseButtonVisibility(true);
+            gameEventListener.setPurchaseHouseButtonVisibility(true);
         }
         else{
-            boardView.setPurchaseHouseButtonVisibility(false);
+            gameEventListener.setPurchaseHouseButtonVisibility(false);
         }
     }
 
     /**
-     * Passes player's turn. Ends the current player's turn and passes it onto the next player.
-     * If next player is bankrupt, passes player's turn again.
-     * If next player is an AI Player, calls playAITurn method from AIPlayer class.
+     * Called by passPlayerTurn() once the turn is passed.
+     * If next player is an AI Player, its turn is played by the turn loop (see playScheduledTurns).
+     * If the turn loop is already running, it plays the AI turn once this method returns,
+     * so passing turns never makes the call stack grow.
      */
-    public void passPlayerTurn(){
-        //Reset number of double rolls of current player
-        currentPlayer.setNumOfDoubleRolls(0);
-        int indexOfCurrentPlayer = players.indexOf(currentPlayer);
-        if (gameHasEnded()) {   // recursive function's base case
-            operateCommand(Commands.quit);
-        }
-        //if current player is last player in list, set next player to first player in players list.
-        //else next player is current player index + 1 Player from list
-        if(indexOfCurrentPlayer == (players.size() - 1)){
-            currentPlayer = players.get(0);
+    @Override
+    protected void turnPassed(){
+        if(currentPlayer.getAi()){
+            //if next player is AI, play its turn in the turn loop
+            playScheduledTurns();
         }
-        else{
-            currentPlayer = players.get(1+indexOfCurrentPlayer);
+        //if next player is in Jail, have event label Text2 to say "roll a double to get out jail", Else set it to ""
+        else if (currentPlayer.getInJail()) {
+            gameEventListener.setEventLabelText("It's Now " + currentPlayer.getName() + " turn to roll.", "Roll a double to get out of Jail");
+        } else {
+            gameEventListener.setEventLabelText("It's Now " + currentPlayer.getName() + " turn to roll.", "");
         }
-        //if after selecting next player and that player is bankrupt, pass player turn again.
-        if(currentPlayer.getBankruptStatus()){
-            passPlayerTurn();
+    }
+
+    /**
+     * Counts the turn passed by passPlayerTurn(), and updates the stalemate detector.
+     */
+    @Override
+    protected void countTurn(){
+        turnCount++;
+        updateStalemateWindow();
+    }
+
+    /**
+     * Ends the game with the quit command.
+     */
+    @Override
+    protected void endGame(){
+        operateCommand(Commands.quit);
+    }
+
+    /**
+     * Turn loop of the game. Plays the turns of AI players one after another until a human player
+     * has to play or the game has ended. Does nothing if the turn loop is already running.
+     */
+    public void playScheduledTurns(){
+        playScheduledTurns(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Turn loop of the game. Plays the turns of AI players one after another until a human player
+     * has to play, the game has ended, or maxTurns turns have been passed.
+     * Does nothing if the turn loop is already running, a journal is being replayed, or the current player is not an AI.
+     * With a turnExecutor, the turns are played on it and this method returns right away.
+     * @param maxTurns maximum number of turns to play before returning
+     */
+    public void playScheduledTurns(int maxTurns){
+        if (turnLoopRunning || replayingJournal || !currentPlayer.getAi()) {
             return;
         }
-        //if next player is in Jail, have event label Text2 to say "roll a double to get out jail", Else set it to ""
+        turnLoopRunning = true;
+        if (turnExecutor == null) {
+            runTurnLoop(maxTurns);
+        }
         else {
-            nextRoll = true;
-            if(currentPlayer.getAi()){
-                currentPlayer.playAITurn();
-            }
-            else {
-                if (currentPlayer.getInJail()) {
-                    boardView.setEventLabelText("It's Now " + currentPlayer.getName() + " turn to roll.", "Roll a double to get out of Jail");
-                } else {
+            turnExecutor.execute(() -> runTurnLoop(maxTurns));
+        }
+    }
 
-                    boardView.setEventLabelText("It's Now " + currentPlayer.getName() + " turn to roll.", "");
-                }
+    /**
+     * Plays the turns of the turn loop, see playScheduledTurns(int).
+     * @param maxTurns maximum number of turns to play before returning
+     */
+    private void runTurnLoop(int maxTurns){
+        int firstTurn = turnCount;
+        try {
+            while (!gameOver && currentPlayer.getAi() && ((turnCount - firstTurn) < maxTurns)) {
+                currentPlayer.playAITurn();
             }
         }
+        finally {
+            gameEventListener.aiStepFinished();
+            turnLoopRunning = false;
+        }
+    }
 
-        //if next player is AI, playAITurn()
+    /**
+     * Returns true while the turn loop is playing AI turns, the GUI ignores the buttons until it is done.
+     */
+    public boolean isTurnLoopRunning(){return turnLoopRunning;}
 
-    }
+    /**
+     * Set the executor the AI turns of the turn loop are played on.
+     * The GUI plays them on a background thread, so the Swing event dispatch thread is never blocked by an AI.
+     * @param executor Executor to play the AI turns on, null to play them on the thread that starts the turn loop
+     */
+    public void setTurnExecutor(Executor executor){this.turnExecutor = executor;}
 
 
     /**
-     * Rolls 2 dices with integer values between 1 and 6.
+     * Rolls 2 dices with integer values between 1 and 6 with the RandomSource of the game, see GameRules.roll().
      * If player is not in jail, the player's position on the board will update according to total roll value.
      * Returns true if both both dices are the same value, otherwise false.
      * @return Boolean true if double, else false.
      */
     public boolean roll(){
-        int totalNumOfSpaces = 40;
-        int numberOfSidesOnDice = 6;
-        int goToJailPosition = 30;
-        int jailPosition = 10;
-        int passingGoAmount = 200;
-        int playerIndex = this.getCurrentPlayerIndex();
-        String playerName = currentPlayer.getName();
-        int playerPosition = currentPlayer.getPositon();
-        Boolean jailStatus = currentPlayer.getInJail();
-        String currency = board.getCurrency();
-
-        //generate 2 random integer numbers between 1 and 6
-        int randomRoll1 = ((int)((Math.random()*totalNumOfSpaces)%numberOfSidesOnDice) + 1);
-        int randomRoll2 = ((int)((Math.random()*totalNumOfSpaces)%numberOfSidesOnDice) + 1);
-        this.diceValue1 = randomRoll1;
-        this.diceValue2 = randomRoll2;
+        return roll(randomSource);
+    }
 
-        int nextPlayerPosition = (randomRoll1 + randomRoll2 + playerPosition);
+    /**
+     * Purchases house or hotel on a property for the current player, see GameRules.purchaseHouseOrHotel().
+     * @param property param that is used to
+     */
+    public void purchaseHouseOrHotel(Property property){
+        purchaseHouseOrHotel(property.getLocation());
+    }
 
-        if(!jailStatus){
-            if(randomRoll1 == randomRoll2){
-                currentPlayer.setNumOfDoubleRolls(currentPlayer.getNumOfDoubleRolls() + 1);
-            }
-            if((nextPlayerPosition == goToJailPosition)||(currentPlayer.getNumOfDoubleRolls() == 3)){
-                //Send player to Jail
-                boardView.getPlayerLists().get(playerIndex)[playerPosition].setVisible(false);
-                currentPlayer.setNumOfDoubleRolls(0);
-                currentPlayer.setTurnsInJail(0);
-                currentPlayer.setInJail(true);
-                jailStatus = true;
-                currentPlayer.setPosition(jailPosition);
-                boardView.getPlayerLists().get(playerIndex)[currentPlayer.getPositon()].setVisible(true);
-                boardView.setEventLabel3Text(playerName+" has been set to Jail, roll a double to get out of Jail next turn.");
-            }
-            else{
-                //Remove current player's icon from previous location
-                boardView.getPlayerLists().get(playerIndex)[currentPlayer.getPositon()].setVisible(false);
-                //For moving player
-                if (nextPlayerPosition >= totalNumOfSpaces) { // if player passes Go
-                    currentPlayer.setPosition(nextPlayerPosition - totalNumOfSpaces);
-                    currentPlayer.addToBalance(passingGoAmount);
-                    boardView.setEventLabel3Text(playerName+" has passed Go, Balance is now "+currency+currentPlayer.getBalance());
-                    playerPosition = (nextPlayerPosition - totalNumOfSpaces);
-                } else {
-                    currentPlayer.setPosition(nextPlayerPosition);
-                    playerPosition = nextPlayerPosition;
-                }
-                //Make current player's icon visible at new location
-                boardView.getPlayerLists().get(playerIndex)[currentPlayer.getPositon()].setVisible(true);
-            }
+    /**
+     * Purchases house or hotel on a square for the current player, the purchase is recorded in the journal.
+     * @param square location of the property
+     * @return true if a house or hotel was purchased
+     */
+    @Override
+    public boolean purchaseHouseOrHotel(int square){
+        if ((journal != null) && !replayingJournal) {
+            journal.recordHousePurchase(getCurrentPlayerIndex(), square);
         }
+        return super.purchaseHouseOrHotel(square);
+    }
 
-        String propertyName = board.getProperty(playerPosition).getName();
-        //if double roll, return true. Else return false
-        if(randomRoll1 == randomRoll2){
-            if(!jailStatus) {
-                boardView.setEventLabelText(playerName + " rolled a " + (randomRoll1 + randomRoll2) + ", landed on " + propertyName, "You rolled a double, you can roll again. ");
+    /**
+     * Even build rule of GameRules, answered with the rent levels ColorSets keeps for the properties of the board.
+     */
+    @Override
+    protected boolean isEvenBuild(int square, int level){
+        return board.getColorSets().isEvenBuild(square, level);
+    }
+
+    @Override
+    protected void rolled(int player, int roll1, int roll2){
+        this.diceValue1 = roll1;
+        this.diceValue2 = roll2;
+        if ((journal != null) && !replayingJournal && (commandDepth.get() > 0)) {
+            journal.recordDice(roll1, roll2);
+        }
+        String playerName = getRulesPlayer(player).getName();
+        String propertyName = board.getProperty(getPosition(player)).getName();
+        //if double roll, the player can roll again unless it is in jail
+        if(roll1 == roll2){
+            if(!isInJail(player)) {
+                gameEventListener.setEventLabelText(playerName + " rolled a " + (roll1 + roll2) + ", landed on " + propertyName, "You rolled a double, you can roll again. ");
             }
-            return true;
         }
         else {
-            boardView.setEventLabelText(playerName + " rolled a " + (randomRoll1 + randomRoll2), "Landed on " + propertyName);
-            return false;
+            gameEventListener.setEventLabelText(playerName + " rolled a " + (roll1 + roll2), "Landed on " + propertyName);
+        }
+    }
+
+    @Override
+    protected void sentToJail(int player){
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName()+" has been set to Jail, roll a double to get out of Jail next turn.");
+    }
+
+    @Override
+    protected void passedGo(int player){
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName()+" has passed Go, Balance is now "+board.getCurrency()+getBalance(player));
+    }
+
+    @Override
+    protected void cannotRollAgain(int player){
+        gameEventListener.setEventLabelText(getRulesPlayer(player).getName()+" can NOT roll again. Pass your turn or buy property.","");
+    }
+
+    @Override
+    protected void mustRollAgain(int player){
+        gameEventListener.setEventLabelText(getRulesPlayer(player).getName() + " needs to roll again before passing turn.","");
+    }
+
+    @Override
+    protected void rentPaid(int player, int square, int rent){
+        Property propertyOn = board.getProperty(square);
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName() + " pays "+board.getCurrency() + rent + " to " + propertyOn.getOwner().getName() + " on " + propertyOn.getName());
+    }
+
+    @Override
+    protected void releasedFromJail(int player){
+        gameEventListener.setEventLabelText(getRulesPlayer(player).getName() + " rolled a double and is out of jail.","");
+    }
+
+    @Override
+    protected void paidJailFee(int player, int fee){
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName() + " Payed "+board.getCurrency()+fee+" to get out of jail.");
+    }
+
+    @Override
+    protected void stayedInJail(int player){
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName() + " did Not roll a double");
+    }
+
+    @Override
+    protected void wentBankrupt(int player){
+        gameEventListener.setPlayerIconVisibility(getCurrentPlayerIndex(), getPosition(player), false);
+        gameEventListener.setEventLabel3Text(getRulesPlayer(player).getName()+ " has gone bankrupt!");
+        gameEventListener.updateAllHousesIcons();
+    }
+
+    @Override
+    protected void purchaseRefused(PurchaseRefusal refusal, int square){
+        Property property = board.getProperty(square);
+        String propertyName = property.getName();
+        String playerName = currentPlayer.getName();
+        switch (refusal) {
+            case notPurchasable:
+                gameEventListener.setEventLabelText("This property can not be purchased", "Property Name: "+propertyName);
+                break;
+            case ownedByPlayer:
+                gameEventListener.setEventLabelText("This property belongs to you already","Property Name: "+propertyName);
+                break;
+            case ownedByOther:
+                gameEventListener.setEventLabelText("This property belongs to someone else", "Property Name: "+propertyName);
+                break;
+            case notEnoughMoney:
+                gameEventListener.setEventLabelText(playerName+" does Not have enough money to purchase this property", "Property Name: "+propertyName);
+                break;
+            case noHouses:
+                gameEventListener.setEventLabelText("Can Not buy a house on this property","");
+                break;
+            case notOwned:
+                gameEventListener.setEventLabelText(playerName+" does NOT own this property", "Porperty Name: "+propertyName);
+                break;
+            case noColorSet:
+                String missingProperty = "";
+                for (Property colorProperty : board.getColorPropertyArrayList().get(property.getColor())) {
+                    if(!colorProperty.equals(property)){
+                        missingProperty += "- "+colorProperty.getName()+" ";
+                    }
+                }
+                gameEventListener.setEventLabelText(playerName+" does NOT own the color set of this property", "Missing Property: ");
+                gameEventListener.setEventLabel3Text(missingProperty);
+                break;
+            case unevenHouses:
+                gameEventListener.setEventLabelText(playerName+" does NOT own enough of houses for the color set", "Property Name: "+propertyName);
+                break;
+            case hasHotel:
+                gameEventListener.setEventLabelText("This property already has a hotel", "property Name: "+propertyName);
+                break;
         }
     }
 
+    @Override
+    protected void propertyPurchased(int square){
+        gameEventListener.setEventLabelText(currentPlayer.getName() + " purchased "+board.getProperty(square).getName(), "Remaining Balance: "+board.getCurrency()+currentPlayer.getBalance());
+    }
+
+    @Override
+    protected void housePurchased(int square){
+        Property property = board.getProperty(square);
+        String building = (property.getNumHotels() == 1) ? "Hotel" : "House";
+        gameEventListener.setEventLabelText(currentPlayer.getName() + " purchased " + building + " on: "+property.getName(), "Remaining Balance: "+board.getCurrency()+currentPlayer.getBalance());
+        //Update to display new changes to houses on property.
+        gameEventListener.updateHousesIcons(square);
+    }
+
     /**
-     * Purchases property for currentPlayer based on player's position.
-     * Purchases property currentPlayer has landed on.
-     * After each purchase, decrements numPropertiesLeft.
+     * Returns the Player of an index of the GameRules, the current player for players.size().
+     * @param player index of the player in the GameRules
      */
-    public void purchaseProperty(){
-        int playerPosition = currentPlayer.getPositon();
-        Property landedOnProperty = board.getProperty(playerPosition);
-        String propertyName = landedOnProperty.getName();
-        String playerName = currentPlayer.getName();
-        int[] nonPurchasablePropertyLocations = {0,2,4,7,10,17,20,22,30,33,36,38};
-        Color railroadPropertyColor = new Color(102,98,95);
-        String currency = board.getCurrency();
-
-        //Check property is not a non-Purchasable property location
-        for (int i = 0; i < nonPurchasablePropertyLocations.length; i++) {
-            if(landedOnProperty.getLocation() == nonPurchasablePropertyLocations[i]){
-                boardView.setEventLabelText("This property can not be purchased", "Property Name: "+propertyName);
-                return;
-            }
+    private Player getRulesPlayer(int player){
+        return (player == players.size()) ? currentPlayer : players.get(player);
+    }
+
+    /**
+     * Returns the index of a player in the GameRules: its index in players, players.size() for a current player
+     * that is not in players (a game still being setup), BANK for the bank.
+     * @param player Player to get the index of
+     */
+    private int getRulesIndex(Player player){
+        int playerIndex = players.indexOf(player);
+        if((playerIndex < 0) && (player != null) && (player == currentPlayer)){
+            return players.size();
         }
+        return playerIndex;
+    }
+
+    /**
+     * Player and Property state of the GameRules, every change updates the state hash.
+     */
+    @Override
+    public int getNumPlayers(){return players.size();}
+
+    @Override
+    protected int getPlayerToPlay(){return getRulesIndex(currentPlayer);}
+
+    @Override
+    protected void setCurrentPlayerIndex(int player){setCurrentPlayer(getRulesPlayer(player));}
+
+    @Override
+    protected int getBalance(int player){return getRulesPlayer(player).getBalance();}
+
+    @Override
+    protected void addToBalance(int player, int amount){
+        Player p = getRulesPlayer(player);
+        long playerKey = getPlayerKey(p);
+        p.addToBalance(amount);
+        updatePlayerHash(p, playerKey);
+    }
+
+    @Override
+    protected void removeFromBalance(int player, int amount){
+        Player p = getRulesPlayer(player);
+        long playerKey = getPlayerKey(p);
+        p.removefromBalance(amount);
+        updatePlayerHash(p, playerKey);
+    }
+
+    @Override
+    protected int getPosition(int player){return getRulesPlayer(player).getPositon();}
+
+    @Override
+    protected void setPosition(int player, int position){
+        Player p = getRulesPlayer(player);
+        long playerKey = getPlayerKey(p);
+        //Move current player's icon from previous location to new location
+        gameEventListener.setPlayerIconVisibility(players.indexOf(p), p.getPositon(), false);
+        p.setPosition(position);
+        gameEventListener.setPlayerIconVisibility(players.indexOf(p), position, true);
+        updatePlayerHash(p, playerKey);
+    }
+
+    @Override
+    protected boolean isInJail(int player){return getRulesPlayer(player).getInJail();}
+
+    @Override
+    protected void setInJail(int player, boolean inJail){
+        Player p = getRulesPlayer(player);
+        long playerKey = getPlayerKey(p);
+        p.setInJail(inJail);
+        updatePlayerHash(p, playerKey);
+    }
+
+    @Override
+    protected int getTurnsInJail(int player){return getRulesPlayer(player).getTurnsInJail();}
+
+    @Override
+    protected void setTurnsInJail(int player, int turnsInJail){
+        Player p = getRulesPlayer(player);
+        long playerKey = getPlayerKey(p);
+        p.setTurnsInJail(turnsInJail);
+        updatePlayerHash(p, playerKey);
+    }
+
+    @Override
+    protected int getNumOfDoubleRolls(int player){return getRulesPlayer(player).getNumOfDoubleRolls();}
+
+    @Override
+    protected void setNumOfDoubleRolls(int player, int numOfDoubleRolls){getRulesPlayer(player).setNumOfDoubleRolls(numOfDoubleRolls);}
+
+    @Override
+    protected int getOwnsXtrains(int player){return getRulesPlayer(player).getOwnsXtrains();}
+
+    @Override
+    protected void setOwnsXtrains(int player, int ownsXtrains){getRulesPlayer(player).setOwnsXtrains(ownsXtrains);}
+
+    @Override
+    protected boolean isBankrupt(int player){return getRulesPlayer(player).getBankruptStatus();}
+
+    @Override
+    protected long getOwnedSquares(int player){return getRulesPlayer(player).getOwnedSquares();}
 
-        //if property owner is currentPlayer, elseif property owner is Not bank, else if currentPlayer balance below purchase price
-        if(landedOnProperty.getOwner().equals(currentPlayer)){
-            boardView.setEventLabelText("This property belongs to you already","Property Name: "+propertyName);
+    @Override
+    protected int getOwner(int square){return getRulesIndex(board.getProperty(square).getOwner());}
+
+    @Override
+    protected void setOwner(int square, int player){
+        Property property = board.getProperty(square);
+        long squareKey = getSquareKey(property);
+        int oldOwner = players.indexOf(property.getOwner());
+        property.setOwner((player == BANK) ? Player.BANK : getRulesPlayer(player));
+        updateSquareHash(property, oldOwner, squareKey);
+    }
+
+    @Override
+    protected int getHouses(int square){
+        Property property = board.getProperty(square);
+        return property.getNumHouses() + (property.getNumHotels() * HOTEL);
+    }
+
+    @Override
+    protected void setHouses(int square, int houses){
+        Property property = board.getProperty(square);
+        long squareKey = getSquareKey(property);
+        if(houses == HOTEL) {
+            property.setNumHotels(1);
+            property.setNumHouses(0);
         }
-        else{ if(!landedOnProperty.getOwner().getName().equals("bank")){
-            boardView.setEventLabelText("This property belongs to someone else", "Property Name: "+propertyName);
+        else{
+            property.setNumHouses(houses);
         }
-        else{ if(currentPlayer.getBalance() < landedOnProperty.getPrice()){
-            boardView.setEventLabelText(playerName+" does Not have enough money to purchase this property", "Property Name: "+propertyName);
+        updateSquareHash(property, players.indexOf(property.getOwner()), squareKey);
+    }
+
+    @Override
+    protected int getRentLevel(int square){return board.getProperty(square).getRentLevel();}
+
+    /**
+     * Returns the key of the state of a player in the state hash, 0 for the bank.
+     * @param player Player to get the key of
+     */
+    private long getPlayerKey(Player player){
+        int playerIndex = players.indexOf(player);
+        if(playerIndex < 0){
+            return 0;
         }
-        else { // Purchase the property for the current player
-            currentPlayer.removefromBalance(landedOnProperty.getPrice());
-            landedOnProperty.setOwner(currentPlayer);
-            numPropertiesLeft--;
-            currentPlayer.gainProperty(landedOnProperty);
-            boardView.setEventLabelText(playerName + " purchased "+propertyName, "Remaining Balance: "+currency+currentPlayer.getBalance());
+        return StateHash.playerKey(playerIndex, player.getPositon(), player.getBalance(), player.getInJail(),
+                player.getTurnsInJail(), player.getBankruptStatus());
+    }
 
-            //If after buying this property and it completes a colorSet, set hasAColorSet to true for the current player if not railroad color.
-            Color colorOfProperty = landedOnProperty.getColor();
-            Boolean ownsColorSet = true;
-            for(int i =0; i<board.getColorPropertyArrayList().get(colorOfProperty).size(); i++){
-                if(!board.getColorPropertyArrayList().get(colorOfProperty).get(i).getOwner().equals(currentPlayer)){
-                    ownsColorSet = false;
-                }
-            }
-            if( ownsColorSet && (!colorOfProperty.equals(railroadPropertyColor)) ){
-                currentPlayer.setHasAColorSet(true);
-            }
-            //If purchased property is railroad, update owndXtrains for current player.
-            if(colorOfProperty.equals(railroadPropertyColor)){
-                currentPlayer.setOwnsXtrains( (currentPlayer.getOwnsXtrains()+1) );
-            }
-        }}}
+    /**
+     * Returns the key of the owner and houses of a square in the state hash.
+     * @param property Property of the square
+     */
+    private long getSquareKey(Property property){
+        int level = property.getNumHouses() + (property.getNumHotels() * 5);
+        return StateHash.squareKey(property.getLocation(), players.indexOf(property.getOwner()), level);
     }
 
     /**
-     * Returns void. Purchases house or hotel, depends on what the player chooses to purchase.
-     * @param property param that is used to
+     * Replaces the old key of a player by its current key in the state hash.
+     * If the player went bankrupt, the keys of the squares it owned are removed with ownedSquaresHashes,
+     * its squares now belong to the bank with no houses.
+     * @param player Player that changed
+     * @param oldKey key of the player before it changed
      */
-    public void purchaseHouseOrHotel(Property property){
-        Boolean owningColorSet = true;
-        Boolean owningEqualHouses = true;
-        int numOfHouseCurrent = property.getNumHouses();
-        Color colorOfProperty = property.getColor();
-        String propertyName = property.getName();
-        String playerName = currentPlayer.getName();
-        String currency = board.getCurrency();
-        int sizeOfColorSet = board.getColorPropertyArrayList().get(colorOfProperty).size();
-        //Check if player owns the color set and houses numbers are correct
-        for(int i = 0; i < sizeOfColorSet; i++){
-            Property propertySameColor = board.getColorPropertyArrayList().get(colorOfProperty).get(i);
-            if(!propertySameColor.getOwner().equals(currentPlayer)){
-                owningColorSet = false;
-            }
-            if(!((propertySameColor.getNumHouses() >= numOfHouseCurrent)||(propertySameColor.getNumHotels() == 1))){
-                owningEqualHouses = false;
-            }
-        }
-        //Check if property is Not a nonHousesProperty
-        int[] listOfNonHousesProperty= {5,12,15,25,28,35};
-        for(int i = 0; i<listOfNonHousesProperty.length;i++){
-            if(property.getLocation() == listOfNonHousesProperty[i]){
-                boardView.setEventLabelText("Can Not buy a house on this property","");
-                return;
-            }
+    private void updatePlayerHash(Player player, long oldKey){
+        int playerIndex = players.indexOf(player);
+        if(playerIndex < 0){
+            return;
         }
-        //if owner is Not current player
-        if(!property.getOwner().equals(currentPlayer)){
-            boardView.setEventLabelText(playerName+" does NOT own this property", "Porperty Name: "+propertyName);
+        stateHash ^= oldKey ^ getPlayerKey(player);
+        if(player.getBankruptStatus()){
+            stateHash ^= ownedSquaresHashes[playerIndex];
+            ownedSquaresHashes[playerIndex] = 0;
         }
-        // else if does not have color set of property
-        else if(!owningColorSet){
-            String missingProperty = "";
-            for(int i =0; i<sizeOfColorSet;i++){
-                if(!board.getColorPropertyArrayList().get(colorOfProperty).get(i).equals(property)){
-                    missingProperty += "- "+board.getColorPropertyArrayList().get(colorOfProperty).get(i).getName()+" ";
-                }
-            }
-            boardView.setEventLabelText(playerName+" does NOT own the color set of this property", "Missing Property: ");
-            boardView.setEventLabel3Text(missingProperty);
+    }
+
+    /**
+     * Replaces the old key of a square by its current key in the state hash and in ownedSquaresHashes.
+     * @param property Property of the square that changed
+     * @param oldOwner index of the owner of the square before it changed, -1 for the bank
+     * @param oldKey key of the square before it changed
+     */
+    private void updateSquareHash(Property property, int oldOwner, long oldKey){
+        long newKey = getSquareKey(property);
+        int newOwner = players.indexOf(property.getOwner());
+        stateHash ^= oldKey ^ newKey;
+        if(oldOwner >= 0){
+            ownedSquaresHashes[oldOwner] ^= oldKey;
         }
-        //else if not correct number of houses bought, else if not enough balance, else if hotel on property already
-        else if(!owningEqualHouses){
-            boardView.setEventLabelText(playerName+" does NOT own enough of houses for the color set", "Property Name: "+propertyName);
+        if(newOwner >= 0){
+            ownedSquaresHashes[newOwner] ^= newKey;
         }
-        else if(currentPlayer.getBalance() < property.getHousePrice()){
-            boardView.setEventLabelText(playerName+" does Not have enough money to purchase this property", "Property Name: "+propertyName);
+    }
+
+    /**
+     * Returns the Zobrist hash of the state of the game (see StateHash): positions, bucketed balances, jail state and
+     * bankrupt status of the players, owners and houses of the squares, and the current player.
+     * It is updated in O(1) by every change the game makes (roll, purchaseProperty, purchaseHouseOrHotel,
+     * bankruptcy, passPlayerTurn), so equal positions can be recognized without comparing the whole game.
+     */
+    public long getStateHash(){return stateHash;}
+
+    /**
+     * Computes the hash of the state of the game from scratch, equal to getStateHash() unless the players or
+     * the properties were changed without the methods of the BoardModel.
+     * @return long hash of the state of the game
+     */
+    public long computeStateHash(){
+        long hash = StateHash.currentPlayerKey(getCurrentPlayerIndex());
+        for (Player player : players) {
+            hash ^= getPlayerKey(player);
         }
-        else if(property.getNumHotels() == 1){
-            boardView.setEventLabelText("This property already has a hotel", "property Name: "+propertyName);
+        for (Property property : board.getPropertyArrayList()) {
+            hash ^= getSquareKey(property);
         }
-        else{ // else buy house or hotel for current player on property
-            currentPlayer.removefromBalance(property.getHousePrice());
-            if(numOfHouseCurrent == 4) {
-                property.setNumHotels(1);
-                property.setNumHouses(0);
-                boardView.setEventLabelText(playerName + " purchased Hotel on: "+propertyName, "Remaining Balance: "+currency+currentPlayer.getBalance());
-            }
-            else{
-                property.setNumHouses((1+numOfHouseCurrent));
-                boardView.setEventLabelText(playerName + " purchased House on: "+propertyName, "Remaining Balance: "+currency+currentPlayer.getBalance());
+        return hash;
+    }
+
+    /**
+     * Recomputes the state hash from scratch, after the players or the properties were changed directly
+     * (loading a game, GameState.applyTo()).
+     */
+    public void resetStateHash(){
+        ownedSquaresHashes = new long[StateHash.MAX_PLAYERS];
+        for (Property property : board.getPropertyArrayList()) {
+            int owner = players.indexOf(property.getOwner());
+            if(owner >= 0){
+                ownedSquaresHashes[owner] ^= getSquareKey(property);
             }
-            //Update to display new changes to houses on property.
-            boardView.updateHousesIcons(property.getLocation());
         }
+        stateHash = computeStateHash();
     }
 
     /**
@@ -478,14 +757,19 @@ public class BoardModel {
      * Appends player object to Player Arraylist.
      * @param player param that is appended to arraylist
      */
-    public void addPlayer(Player player){players.add(player);}
+    public void addPlayer(Player player){
+        players.add(player);
+        stateHash ^= getPlayerKey(player);
+    }
 
     /**
      * Sets the player param to the current player variable
      * @param player param that is set as currentPlayer
      */
     public void setCurrentPlayer(Player player){
+        stateHash ^= StateHash.currentPlayerKey(getCurrentPlayerIndex());
         currentPlayer = player;
+        stateHash ^= StateHash.currentPlayerKey(getCurrentPlayerIndex());
     }
 
     /**
@@ -495,26 +779,185 @@ public class BoardModel {
     public BoardView getBoardView(){return boardView;}
 
     /**
-     * Returns true if the game has ended. Updates winnersList.
+     * The last active player (not bankrupt) wins, updates winnersList and losersList.
      */
-    public Boolean gameHasEnded() {
-        //The game ends if the last active player (not bankrupt)
-        if (!checkNumOfActivePlayers()) {
-            boardView.setEventLabel3Text("Game has ended.");
-            updateWinnersList();
+    @Override
+    protected void lastPlayerStanding(int player){
+        gameEventListener.setEventLabel3Text("Game has ended.");
+        updateWinnersList();
+    }
+
+    /**
+     * With no properties left to purchase, the first player to reach the winning balance wins.
+     */
+    @Override
+    protected void winningBalanceReached(int player){
+        winnersList.clear();
+        winnersList.add(getRulesPlayer(player));
+    }
+
+    /**
+     * A game stopped by the turn cap or a stalemate ends with the players ranked by net worth.
+     */
+    @Override
+    protected boolean endsByNetWorth(){
+        if (((maxTurns > 0) && (turnCount >= maxTurns)) || stalemate) {
+            gameEventListener.setEventLabel3Text("Game has ended.");
+            rankPlayersByNetWorth();
             return true;
         }
-        // if there are no properties left to purchase and the game hasn't already ended, the first player to reach 6000 balance wins
-        if (numPropertiesLeft == 0) {
-            if (currentPlayer.getBalance() >= 3000) {
-                winnersList.clear();
-                winnersList.add(currentPlayer);
-                return true;
+        return false;
+    }
+
+    /**
+     * Ends the game with a net worth ranking: the players with the highest net worth are the winners,
+     * every other player is a loser, from the highest net worth to the lowest.
+     */
+    private void rankPlayersByNetWorth(){
+        ArrayList<Player> ranking = new ArrayList<>(players);
+        ranking.sort((player1, player2) -> Integer.compare(getNetWorth(player2), getNetWorth(player1)));
+        winnersList.clear();
+        losersList.clear();
+        int highestNetWorth = getNetWorth(ranking.get(0));
+        for (Player player : ranking) {
+            if (!player.getBankruptStatus() && (getNetWorth(player) == highestNetWorth)) {
+                winnersList.add(player);
+            }
+            else {
+                losersList.add(player);
             }
         }
-        return false;
+        endedByNetWorth = true;
+    }
+
+    /**
+     * Returns the net worth of a player: balance plus the price of its properties and houses (a hotel is 5 houses).
+     * @param player Player to get the net worth of
+     * @return int net worth of the player
+     */
+    public int getNetWorth(Player player){
+        int netWorth = player.getBalance();
+        for (Property property : player.getControlledProperty()) {
+            netWorth += property.getPrice() + ((property.getNumHouses() + (property.getNumHotels() * 5)) * property.getHousePrice());
+        }
+        return netWorth;
+    }
+
+    /**
+     * Stalemate detector, called once per turn. The window starts again whenever a property changes owner or houses
+     * (the XOR of ownedSquaresHashes changes) or a player goes bankrupt. Once the window lasts stalemateRounds rounds,
+     * the game is a stalemate if the share of every player in the total balance of the players moved by less than
+     * stalemateBalanceDrift. Passing GO makes every balance grow, the shares only move when a player is catching up.
+     * Otherwise the window starts again.
+     */
+    private void updateStalemateWindow(){
+        if (stalemateRounds <= 0) {
+            return;
+        }
+        long squaresHash = 0;
+        int numActivePlayers = 0;
+        for (int i = 0; i < players.size(); i++) {
+            squaresHash ^= ownedSquaresHashes[i];
+            if (!players.get(i).getBankruptStatus()) {
+                numActivePlayers++;
+            }
+        }
+        double[] balances = getBalanceShares();
+        if ((stalemateBalances == null) || (squaresHash != stalemateSquaresHash)
+                || (numActivePlayers != stalemateActivePlayers) || (balances.length != stalemateBalances.length)) {
+            startStalemateWindow(squaresHash, numActivePlayers, balances);
+            return;
+        }
+        if ((turnCount - stalemateWindowStart) < (stalemateRounds * players.size())) {
+            return;
+        }
+        for (int i = 0; i < balances.length; i++) {
+            if (!players.get(i).getBankruptStatus() && (Math.abs(balances[i] - stalemateBalances[i]) >= stalemateBalanceDrift)) {
+                startStalemateWindow(squaresHash, numActivePlayers, balances);
+                return;
+            }
+        }
+        stalemate = true;
+    }
+
+    /**
+     * Starts a new window of the stalemate detector at the current turn.
+     */
+    private void startStalemateWindow(long squaresHash, int numActivePlayers, double[] balances){
+        stalemateWindowStart = turnCount;
+        stalemateSquaresHash = squaresHash;
+        stalemateActivePlayers = numActivePlayers;
+        stalemateBalances = balances;
+    }
+
+    /**
+     * Returns the share of every player in the total balance of the players.
+     */
+    private double[] getBalanceShares(){
+        double[] balances = new double[players.size()];
+        double total = 0;
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = players.get(i).getBalance();
+            total += balances[i];
+        }
+        for (int i = 0; (i < balances.length) && (total > 0); i++) {
+            balances[i] /= total;
+        }
+        return balances;
     }
 
+    /**
+     * Set the turn cap of the game, once maxTurns turns are passed the game ends with a net worth ranking.
+     * @param maxTurns maximum number of turns of the game, 0 for no cap
+     */
+    public void setMaxTurns(int maxTurns){this.maxTurns = maxTurns;}
+
+    /**
+     * Getter method for the turn cap of the game, 0 if there is none
+     */
+    public int getMaxTurns(){return maxTurns;}
+
+    /**
+     * Turns on the stalemate detector: the game ends with a net worth ranking when no property changes owner
+     * or houses and the share of each player in the total balance moves by less than balanceDrift for rounds rounds.
+     * @param rounds number of rounds without progress, 0 to turn the detector off
+     * @param balanceDrift largest move of the share of a player in the total balance that is no progress, 0.02 is 2%
+     */
+    public void setStalemateDetection(int rounds, double balanceDrift){
+        this.stalemateRounds = rounds;
+        this.stalemateBalanceDrift = balanceDrift;
+        this.stalemateBalances = null;
+        this.stalemate = false;
+    }
+
+    /**
+     * Returns true if the game ended by the turn cap or a stalemate, winnersList and losersList are then
+     * a net worth ranking instead of the players that are left and the bankrupt players.
+     */
+    public boolean hasEndedByNetWorth(){return endedByNetWorth;}
+
+    /**
+     * Returns true once the game has ended (quit command operated).
+     */
+    public boolean isGameOver() {return gameOver;}
+
+    /**
+     * Returns the number of turns passed since the game started.
+     */
+    public int getTurnCount() {return turnCount;}
+
+    /**
+     * Setter method for the number of turns passed, to restore a game (GameState.applyTo()).
+     * @param turnCount number of turns passed since the game started
+     */
+    public void setTurnCount(int turnCount) {this.turnCount = turnCount;}
+
+    /**
+     * Setter method for gameOver, to restore a game (GameState.applyTo()).
+     * @param gameOver true if the game has ended
+     */
+    public void setGameOver(boolean gameOver) {this.gameOver = gameOver;}
+
     /**
      * Returns winnerList.
      */
@@ -545,7 +988,41 @@ public class BoardModel {
      * Set the board view of this Board Model to the parameter
      * @param bd BoardView to set with
      */
-    public void setBoardView(BoardView bd){this.boardView = bd;}
+    public void setBoardView(BoardView bd){
+        this.boardView = bd;
+        setGameEventListener(bd);
+    }
+
+    /**
+     * Set the listener that receives the events of this Board Model.
+     * A null listener makes the game run headless with a NullGameEventListener.
+     * @param listener GameEventListener to publish events to
+     */
+    public void setGameEventListener(GameEventListener listener){
+        if(listener == null){
+            this.gameEventListener = NullGameEventListener.INSTANCE;
+        }
+        else{
+            this.gameEventListener = listener;
+        }
+    }
+
+    /**
+     * Getter method for the listener of this Board Model
+     * @return GameEventListener the events of the game are published to
+     */
+    public GameEventListener getGameEventListener(){return gameEventListener;}
+
+    /**
+     * Getter method for the random source of the game
+     */
+    public RandomSource getRandomSource() { return randomSource; }
+
+    /**
+     * Set the random source the dice are rolled with
+     * @param randomSource RandomSource to set with
+     */
+    public void setRandomSource(RandomSource randomSource) { this.randomSource = randomSource; }
 
     /**
      * Returns diceValue1 which is set to a random int in roll()
@@ -560,7 +1037,24 @@ public class BoardModel {
     /**
      * Getter method for nextRoll
      */
-    public Boolean getNextRoll(){return nextRoll;}
+    public boolean getNextRoll(){return nextRoll;}
+
+    /**
+     * Setter method for nextRoll
+     * @param nextRoll true if the current player has to roll again
+     */
+    public void setNextRoll(boolean nextRoll){this.nextRoll = nextRoll;}
+
+    /**
+     * Getter method for the number of purchasable properties left
+     */
+    public int getNumPropertiesLeft(){return numPropertiesLeft;}
+
+    /**
+     * Setter method for the number of purchasable properties left
+     * @param numPropertiesLeft number of properties left
+     */
+    public void setNumPropertiesLeft(int numPropertiesLeft){this.numPropertiesLeft = numPropertiesLeft;}
 
     /**
      * Getter method for currentPlayerIndex
@@ -577,332 +1071,273 @@ public class BoardModel {
      * @return String in xml format
      */
     public String toXML(){
-        String s = new String();
-        String stringIndent = "    ";
-        s += stringIndent + "<Monopoly>\n";
-        s+= stringIndent + stringIndent + "<CurrentPlayer>" + this.getCurrentPlayer().getName() + "</CurrentPlayer>\n";
-        s+= stringIndent + stringIndent + "<CurrentPlayerIndex>" + this.getCurrentPlayerIndex() + "</CurrentPlayerIndex>\n";
-        s+= stringIndent + stringIndent + "<Currency>" + this.getBoard().getCurrency() + "</Currency>\n";
-
-        //Players
-        for (int i = 0; i < players.size() ; i++) {
-            s+= stringIndent + stringIndent + "<Player>\n";
-
-                s+= stringIndent + stringIndent + stringIndent + "<name>" + players.get(i).getName() + "</name>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<balance>" + players.get(i).getBalance() + "</balance>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<position>" + players.get(i).getPositon() + "</position>\n";
-
-                //Jail
-                s+= stringIndent + stringIndent + stringIndent + "<inJail>" + players.get(i).getInJail() + "</inJail>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<turnsInJail>" + players.get(i).getTurnsInJail() + "</turnsInJail>\n";
-
-
-                //Color as R G B
-                s+= stringIndent + stringIndent + stringIndent + "<r>" + players.get(i).getColor().getRed() + "</r>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<g>" + players.get(i).getColor().getGreen() + "</g>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<b>" + players.get(i).getColor().getBlue()+ "</b>\n";
-
-                //Owns ___
-                s+= stringIndent + stringIndent + stringIndent + "<ownsXtrains>" + players.get(i).getOwnsXtrains() + "</ownsXtrains>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<ownsBothUtil>" + players.get(i).getOwnsBothUtil() + "</ownsBothUtil>\n";
-
+        StringWriter stringWriter = new StringWriter();
+        try {
+            writeXML(stringWriter);
+        }
+        catch (XMLStreamException e){
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
 
-                s+= stringIndent + stringIndent + stringIndent + "<ai>" + players.get(i).getAi() + "</ai>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<numOfDoubleRolls>" + players.get(i).getNumOfDoubleRolls() + "</numOfDoubleRolls>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<hasAColorSet>" + players.get(i).getHasAColorSet() + "</hasAColorSet>\n";
-                s+= stringIndent + stringIndent + stringIndent + "<bankruptStatus>" + players.get(i).getBankruptStatus() + "</bankruptStatus>\n";
+    /**
+     * Writes the current game in xml format to a Writer, element by element with an XMLStreamWriter,
+     * so the document is never built in memory. The text is escaped, the format is the one toXML() returns.
+     * @param writer Writer to write to, flushed but not closed
+     * @throws XMLStreamException if the xml can not be written
+     */
+    public void writeXML(Writer writer) throws XMLStreamException {
+        XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+        xml.writeCharacters(SAVE_INDENT);
+        xml.writeStartElement("Monopoly");
+        xml.writeCharacters("\n");
+        writeXMLElement(xml, 2, "CurrentPlayer", this.getCurrentPlayer().getName());
+        writeXMLElement(xml, 2, "CurrentPlayerIndex", this.getCurrentPlayerIndex());
+        writeXMLElement(xml, 2, "Currency", this.getBoard().getCurrency());
 
-            s+= stringIndent + stringIndent + "</Player>\n";
+        //Players
+        for (Player player : players) {
+            writeXMLStartElement(xml, 2, "Player");
+            writeXMLElement(xml, 3, "name", player.getName());
+            writeXMLElement(xml, 3, "balance", player.getBalance());
+            writeXMLElement(xml, 3, "position", player.getPositon());
+            //Jail
+            writeXMLElement(xml, 3, "inJail", player.getInJail());
+            writeXMLElement(xml, 3, "turnsInJail", player.getTurnsInJail());
+            //Color as R G B
+            writeXMLElement(xml, 3, "r", player.getColor().getRed());
+            writeXMLElement(xml, 3, "g", player.getColor().getGreen());
+            writeXMLElement(xml, 3, "b", player.getColor().getBlue());
+            //Owns ___
+            writeXMLElement(xml, 3, "ownsXtrains", player.getOwnsXtrains());
+            writeXMLElement(xml, 3, "ownsBothUtil", player.getOwnsBothUtil());
+            writeXMLElement(xml, 3, "ai", player.getAi());
+            writeXMLElement(xml, 3, "numOfDoubleRolls", player.getNumOfDoubleRolls());
+            writeXMLElement(xml, 3, "hasAColorSet", player.getHasAColorSet());
+            writeXMLElement(xml, 3, "bankruptStatus", player.getBankruptStatus());
+            //AIStrategy of an AI player, with the parameters of a heuristic one that does not use the default ones
+            if (player instanceof AIPlayer) {
+                AIStrategy strategy = ((AIPlayer) player).getStrategy();
+                writeXMLElement(xml, 3, "strategy", TournamentRunner.getStrategyName(strategy));
+                if ((strategy instanceof HeuristicAIStrategy) && (((HeuristicAIStrategy) strategy).getParameters() != AIParameters.DEFAULT)) {
+                    writeXMLElement(xml, 3, "strategyParameters", SavedGame.formatParameters(((HeuristicAIStrategy) strategy).getParameters()));
+                }
+            }
+            writeXMLEndElement(xml, 2);
         }
 
         //Properties
         int[] railroadsPositions = {5,15,25,35};
         for (int i = 0; i < this.getBoard().getPropertyArrayList().size(); i++) {
+            Property property = this.getBoard().getProperty(i);
             Boolean isRailroad = false;
             //RailRoads
             for (int j = 0; j < railroadsPositions.length; j++) {
                 if(i == railroadsPositions[j]){
                     isRailroad = true;
-                    s+= stringIndent + stringIndent + "<Railroad>\n";
-                    s+= stringIndent + stringIndent + stringIndent + "<owner>" + this.getBoard().getProperty(i).getOwner().getName() + "</owner>\n";
-                    s+= stringIndent + stringIndent + stringIndent + "<index>" + this.getBoard().getProperty(i).getLocation() + "</index>\n";
-                    s+= stringIndent + stringIndent + "</Railroad>\n";
+                    writeXMLStartElement(xml, 2, "Railroad");
+                    writeXMLElement(xml, 3, "owner", property.getOwner().getName());
+                    writeXMLElement(xml, 3, "index", property.getLocation());
+                    writeXMLEndElement(xml, 2);
                 }
             }
             //All other non-railroad properties
             if(!isRailroad) {
-                s += stringIndent + stringIndent + "<Property>\n";
-                s += stringIndent + stringIndent + stringIndent + "<owner>" + this.getBoard().getProperty(i).getOwner().getName() + "</owner>\n";
-                s += stringIndent + stringIndent + stringIndent + "<index>" + this.getBoard().getProperty(i).getLocation() + "</index>\n";
-                s += stringIndent + stringIndent + stringIndent + "<numHouses>" + this.getBoard().getProperty(i).getNumHouses() + "</numHouses>\n";
-                s += stringIndent + stringIndent + stringIndent + "<numHotels>" + this.getBoard().getProperty(i).getNumHotels() + "</numHotels>\n";
-                s += stringIndent + stringIndent + "</Property>\n";
+                writeXMLStartElement(xml, 2, "Property");
+                writeXMLElement(xml, 3, "owner", property.getOwner().getName());
+                writeXMLElement(xml, 3, "index", property.getLocation());
+                writeXMLElement(xml, 3, "numHouses", property.getNumHouses());
+                writeXMLElement(xml, 3, "numHotels", property.getNumHotels());
+                writeXMLEndElement(xml, 2);
             }
         }
-        s+= stringIndent + stringIndent  + "<currentPlayerIndex>" + this.getCurrentPlayerIndex() + "</currentPlayerIndex>\n";
-        s+= stringIndent + stringIndent  + "<nextRoll>" + nextRoll + "</nextRoll>\n";
-        s+= stringIndent + stringIndent  + "<numPropertiesLeft>" + numPropertiesLeft + "</numPropertiesLeft>\n";
+        writeXMLElement(xml, 2, "currentPlayerIndex", this.getCurrentPlayerIndex());
+        writeXMLElement(xml, 2, "nextRoll", nextRoll);
+        writeXMLElement(xml, 2, "numPropertiesLeft", numPropertiesLeft);
+        writeXMLElement(xml, 2, "turnCount", turnCount);
+        //Seed and number of draws of the dice, to continue the game with the exact same rolls
+        if (randomSource instanceof SeededRandomSource) {
+            SeededRandomSource seededRandomSource = (SeededRandomSource) randomSource;
+            writeXMLElement(xml, 2, "seed", seededRandomSource.getSeed());
+            writeXMLElement(xml, 2, "randomDraws", seededRandomSource.getDraws());
+        }
 
-        s += stringIndent + "</Monopoly>\n";
+        writeXMLEndElement(xml, 1);
+        xml.flush();
+    }
+
+    /**
+     * Writes an indented element with a value on its own line.
+     * @param xml XMLStreamWriter to write with
+     * @param depth indentation of the element, in SAVE_INDENT
+     * @param name name of the element
+     * @param value value of the element, written with String.valueOf()
+     */
+    private static void writeXMLElement(XMLStreamWriter xml, int depth, String name, Object value) throws XMLStreamException {
+        writeXMLIndent(xml, depth);
+        xml.writeStartElement(name);
+        xml.writeCharacters(String.valueOf(value));
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
+
+    /**
+     * Writes the indented start tag of an element on its own line.
+     */
+    private static void writeXMLStartElement(XMLStreamWriter xml, int depth, String name) throws XMLStreamException {
+        writeXMLIndent(xml, depth);
+        xml.writeStartElement(name);
+        xml.writeCharacters("\n");
+    }
+
+    /**
+     * Writes the indented end tag of the last element started on its own line.
+     */
+    private static void writeXMLEndElement(XMLStreamWriter xml, int depth) throws XMLStreamException {
+        writeXMLIndent(xml, depth);
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
 
-        return s;
+    /**
+     * Writes depth times SAVE_INDENT.
+     */
+    private static void writeXMLIndent(XMLStreamWriter xml, int depth) throws XMLStreamException {
+        for (int i = 0; i < depth; i++) {
+            xml.writeCharacters(SAVE_INDENT);
+        }
     }
 
     /**
-     * Save game method, Will save game in a file in xml format
+     * Save game method, the format is picked by the extension of the file name.
+     * A name ending in BINARY_SAVE_EXTENSION is saved in the compact binary format of SavedGame,
+     * any other name is saved in xml format, with XML_SAVE_EXTENSION added if the name does not end with it.
+     * The xml is streamed to the file through a buffered UTF-8 writer, it is never built in memory.
      * @param name String file name to save with
      */
     public void save(String name){
-        File file = new File (name + ".xml");
         try {
-            FileWriter writer = new FileWriter(file);
-            writer.write(toXML());
-            writer.close();
-            boardView.setEventLabelText("Game saved succesfully!","");
+            if(name.endsWith(BINARY_SAVE_EXTENSION)){
+                SavedGame.fromModel(this).writeBinary(new File(name));
+            }
+            else{
+                File file = new File(name.endsWith(XML_SAVE_EXTENSION) ? name : name + XML_SAVE_EXTENSION);
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), SAVE_BUFFER_SIZE)) {
+                    writeXML(writer);
+                }
+            }
+            gameEventListener.setEventLabelText("Game saved succesfully!","");
         }
-        catch (IOException e){
+        catch (IOException | XMLStreamException e){
             System.out.println(e.getMessage());
         }
     }
 
     /**
-     * Load a saved xml file game
+     * Load a saved game, the format is picked by the extension of the file name like save().
+     * The file is read in a single pass into a SavedGame, which then replaces the game of this BoardModel.
      * @param fileName Name of file to load
      */
     public void load(String fileName){
-        loadBoard(fileName);
-        //Catch board not initilaized exception, return to not continue load.
-        try{ board.getProperty(0);}
-        catch (Exception e){ return; }
-
-        loadPlayers(fileName);
-        loadBoardModelAttributes(fileName);
-        loadPropertyOwners(fileName);
+        SavedGame savedGame;
+        try {
+            if(fileName.endsWith(BINARY_SAVE_EXTENSION)){
+                savedGame = SavedGame.readBinary(new File(fileName));
+            }
+            else{
+                savedGame = SavedGame.read(new File(fileName));
+            }
+        }
+        catch (IOException | XMLStreamException e){
+            System.out.println(e.getMessage());
+            gameEventListener.setEventLabelText("No load files found","");
+            return;
+        }
+        savedGame.applyTo(this);
 
-        boardView.setEventLabelText("It's "+currentPlayer.getName()+" turn", "");
+        gameEventListener.setEventLabelText("It's "+currentPlayer.getName()+" turn", "");
     }
 
     /**
-     * Load players of the game
-     * @param fileName Name of file to load
+     * Starts journaling the game: every command, house purchase and roll is appended to the journal name.journal,
+     * after a snapshot of the game in name.sav, see CommandJournal. Stops the journal already running, if any.
+     * @param name path of the journal files, without extension
      */
-    public void loadPlayers(String fileName){
-        int maxPlayers = 0;
-        try{
-            File file = new File(fileName);
-            //an instance of factory that gives a document builder
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            //an instance of builder to parse the specified xml file
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document doc = db.parse(file);
-            doc.getDocumentElement().normalize();
-            NodeList loadPlayersList = doc.getElementsByTagName("Player");
-
-            for (int i = 0; i <loadPlayersList.getLength() ; i++) {
-                Node playerNode = loadPlayersList.item(i);
-                if (playerNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element playerElement = (Element) playerNode;
-                    Boolean isAi = Boolean.parseBoolean(playerElement.getElementsByTagName("ai").item(0).getTextContent());
-                    String playerName = playerElement.getElementsByTagName("name").item(0).getTextContent();
-                    Color playerColor = new Color( Integer.parseInt(playerElement.getElementsByTagName("r").item(0).getTextContent()),  //R
-                            Integer.parseInt(playerElement.getElementsByTagName("g").item(0).getTextContent()),  //G
-                            Integer.parseInt(playerElement.getElementsByTagName("b").item(0).getTextContent())); //B
-                    int money = Integer.parseInt(playerElement.getElementsByTagName("balance").item(0).getTextContent());
-                    int playerPosition = Integer.parseInt(playerElement.getElementsByTagName("position").item(0).getTextContent());
-                    Boolean inJail = Boolean.parseBoolean(playerElement.getElementsByTagName("inJail").item(0).getTextContent());
-                    int turnsInJail = Integer.parseInt(playerElement.getElementsByTagName("turnsInJail").item(0).getTextContent());
-                    int ownsXtrains = Integer.parseInt(playerElement.getElementsByTagName("ownsXtrains").item(0).getTextContent());
-                    Boolean ownsBothUtil = Boolean.parseBoolean(playerElement.getElementsByTagName("ownsBothUtil").item(0).getTextContent());
-                    int numDoubleRolls = Integer.parseInt(playerElement.getElementsByTagName("numOfDoubleRolls").item(0).getTextContent());
-                    Boolean bankruptStatus = Boolean.parseBoolean(playerElement.getElementsByTagName("bankruptStatus").item(0).getTextContent());
-                    Boolean hasAColorSet = Boolean.parseBoolean(playerElement.getElementsByTagName("hasAColorSet").item(0).getTextContent());
-
-                    //AiPlayer
-                    if(isAi){
-                        AIPlayer aiPlayer = new AIPlayer(playerName,playerColor,money,maxPlayers,board,this,boardView);
-                        aiPlayer.setPosition(playerPosition);
-                        aiPlayer.setInJail(inJail);
-                        aiPlayer.setTurnsInJail(turnsInJail);
-                        aiPlayer.setOwnsXtrains(ownsXtrains);
-                        aiPlayer.setOwnsBothUtil(ownsBothUtil);
-                        aiPlayer.setNumOfDoubleRolls(numDoubleRolls);
-                        aiPlayer.setBankruptStatus(bankruptStatus);
-                        aiPlayer.setHasAColorSet(hasAColorSet);
-                        players.add(aiPlayer);
-                    }
+    public void startJournal(String name){
+        startJournal(name, CommandJournal.DEFAULT_CHECKPOINT_RECORDS);
+    }
 
-                    //Human player
-                    else{
-                        Player player = new Player(playerName,playerColor,money,false);
-                        player.setPosition(playerPosition);
-                        player.setInJail(inJail);
-                        player.setTurnsInJail(turnsInJail);
-                        player.setOwnsXtrains(ownsXtrains);
-                        player.setOwnsBothUtil(ownsBothUtil);
-                        player.setNumOfDoubleRolls(numDoubleRolls);
-                        player.setBankruptStatus(bankruptStatus);
-                        player.setHasAColorSet(hasAColorSet);
-                        players.add(player);
-                    }
-                    //Make player's icon visible at new location
-                    boardView.getPlayerLists().get(i)[playerPosition].setVisible(true);
-                }
-            }
-            maxPlayers = loadPlayersList.getLength();
-            boardView.updateAllPlayersStatus(maxPlayers);
-            boardView.setPlayerPanelHoldersVisibility(maxPlayers,true);
-            boardView.setControllerInitializing();
-            boardView.setUserInputVisibility(false);
+    /**
+     * Starts journaling the game, with a checkpoint every checkpointRecords records.
+     * @param name path of the journal files, without extension
+     * @param checkpointRecords number of records between checkpoints, 0 to keep every command since the start for an exact replay
+     */
+    public void startJournal(String name, int checkpointRecords){
+        stopJournal();
+        try {
+            journal = CommandJournal.start(name, this, CommandJournal.DEFAULT_BATCH_SIZE, checkpointRecords);
         }
-        catch (FileNotFoundException | ParserConfigurationException f) {
-            f.printStackTrace();
-            //loadBoardFromMapFile("board.xml");
-        }   catch (SAXException e) {
-            e.printStackTrace();
-        }   catch (IOException e) {
-            e.printStackTrace();
+        catch (IOException e){
+            System.out.println(e.getMessage());
         }
     }
 
     /**
-     * load board of game from file name given
-     * @param fileName Name of file to load
+     * Rebuilds the game from the snapshot and journal tail of the journal name, and goes on journaling it.
+     * @param name path of the journal files, without extension
+     * @return true if the game was rebuilt, false if there is no snapshot to rebuild it from
      */
-    public void loadBoard(String fileName){
-        Board loadedBoard = new Board(fileName);
-        BoardConstructor loadBoardConstructor = new BoardConstructor(loadedBoard);
-        loadedBoard = loadBoardConstructor.loadBoardFromMapFile(fileName, false);
-        board = loadedBoard;
-        try{board.getProperty(0);}
-        catch (Exception e){
-            boardView.setEventLabelText("No load files found","");
-            return;
+    public boolean recoverFromJournal(String name){
+        stopJournal();
+        try {
+            journal = CommandJournal.recover(name, this, CommandJournal.DEFAULT_BATCH_SIZE, CommandJournal.DEFAULT_CHECKPOINT_RECORDS);
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+            return false;
         }
-        boardView.setAllPropertys();
+        gameEventListener.setEventLabelText("It's "+currentPlayer.getName()+" turn", "");
+        return true;
     }
 
     /**
-     * Load Owners of each property and set them.
-     * Add owned properties to the respective player's controlled property list as well.
-     * @param fileName
+     * Writes the records left of the journal and stops journaling the game.
      */
-    public void loadPropertyOwners(String fileName){
-        try {
-            File file = new File(fileName);
-            //an instance of factory that gives a document builder
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            //an instance of builder to parse the specified xml file
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document doc = db.parse(file);
-            doc.getDocumentElement().normalize();
-            NodeList loadPropertyList = doc.getElementsByTagName("Property");
-            NodeList railroadsList = doc.getElementsByTagName("railroad");
-            NodeList playerList = doc.getElementsByTagName("Player");
-
-            //For non Railroad properties
-            for (int i = 0; i <loadPropertyList.getLength() ; i++) {
-                Node propertyNode = loadPropertyList.item(i);
-                if (propertyNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element propertyElement = (Element) propertyNode;
-                    String ownerName = propertyElement.getElementsByTagName("owner").item(0).getTextContent();
-                    int numHouses = Integer.parseInt(propertyElement.getElementsByTagName("numHouses").item(0).getTextContent());
-                    int numHotels = Integer.parseInt(propertyElement.getElementsByTagName("numHotels").item(0).getTextContent());
-                    int propertyLocation = Integer.parseInt(propertyElement.getElementsByTagName("index").item(0).getTextContent());
-                    for (int j = 0; j < players.size(); j++) {
-                        if(players.get(j).getName().equals(ownerName)){
-                            //Set property to Owner
-                            board.getProperty(propertyLocation).setOwner(players.get(j));
-                            //add property to Owner's controller properties list
-                            getPlayer(j).gainProperty(board.getProperty(propertyLocation));
-                            //Set num houses and hotels
-                            board.getProperty(propertyLocation).setNumHouses(numHouses);
-                            board.getProperty(propertyLocation).setNumHotels(numHotels);
-                        }
-                    }
-                }
+    public void stopJournal(){
+        if (journal != null) {
+            try {
+                journal.close();
             }
-
-            //For railroads
-            for (int i = 0; i <railroadsList.getLength() ; i++) {
-                Node railroadNode = railroadsList.item(i);
-                if (railroadNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element railroadElement = (Element) railroadNode;
-                    String ownerName = railroadElement.getElementsByTagName("owner").item(0).getTextContent();
-                    int propertyLocation = Integer.parseInt(railroadElement.getElementsByTagName("index").item(0).getTextContent());
-                    for (int j = 0; j < players.size(); j++) {
-                        if(players.get(j).getName().equals(ownerName)){
-                            board.getProperty(propertyLocation).setOwner(players.get(j));
-                            players.get(j).gainProperty(board.getProperty(propertyLocation));
-                        }
-                    }
-                }
+            catch (IOException e){
+                System.out.println(e.getMessage());
             }
-            boardView.updateAllPlayersStatus(playerList.getLength());
-            boardView.updateAllHousesIcons();
-            boardView.loadButtonSetup(false,playerList.getLength());
-        }
-        catch (FileNotFoundException | ParserConfigurationException f) {
-            f.printStackTrace();
-            return;
-            //loadBoardFromMapFile("board.xml");
-        }   catch (SAXException e) {
-            e.printStackTrace();
-        }   catch (IOException e) {
-            e.printStackTrace();
+            journal = null;
         }
-
     }
 
     /**
-     * Load attributes for this class
-     * @param fileName Name of file to load from
+     * Getter method for the journal of the game, null if the game is not journaled
+     */
+    public CommandJournal getJournal(){return journal;}
+
+    /**
+     * Set while a journal is replayed: nothing is journaled and the turn loop does not play the AI turns,
+     * the commands of the AI players are replayed from the journal.
+     * @param replayingJournal true while replaying
+     */
+    void setReplayingJournal(boolean replayingJournal){this.replayingJournal = replayingJournal;}
+
+    /**
+     * Takes a checkpoint of the journal, a journal that can not be written is stopped.
      */
-    public void loadBoardModelAttributes(String fileName){
+    private void checkpointJournal(){
         try {
-            File file = new File(fileName);
-            //an instance of factory that gives a document builder
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            //an instance of builder to parse the specified xml file
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document doc = db.parse(file);
-            doc.getDocumentElement().normalize();
-            NodeList nextRollList = doc.getElementsByTagName("nextRoll");
-            NodeList currentPlayerIndexList = doc.getElementsByTagName("currentPlayerIndex");
-            NodeList numPropertiesLeftList = doc.getElementsByTagName("numPropertiesLeft");
-
-            //Set nextRoll
-            for (int i = 0; i <nextRollList.getLength() ; i++) {
-                Node nextRollNode = nextRollList.item(i);
-                if (nextRollNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element nextRollElement = (Element) nextRollNode;
-                    nextRoll = Boolean.parseBoolean(nextRollElement.getTextContent());
-                }
-            }
-            //Set current Player
-            for (int i = 0; i <currentPlayerIndexList.getLength() ; i++) {
-                Node currentPlayerIndexNode = currentPlayerIndexList.item(i);
-                if (currentPlayerIndexNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element currentPlayerIndexElement = (Element) currentPlayerIndexNode;
-                    currentPlayer = players.get(Integer.parseInt(currentPlayerIndexElement.getTextContent()));
-                }
-            }
-            //Set numPropertiesLeft
-            for (int i = 0; i <numPropertiesLeftList.getLength() ; i++) {
-                Node numPropertiesNode = numPropertiesLeftList.item(i);
-                if (numPropertiesNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element numPropetiesElement = (Element) numPropertiesNode;
-                    numPropertiesLeft = Integer.parseInt(numPropetiesElement.getTextContent());
-                }
-            }
+            journal.checkpoint(SavedGame.fromModel(this));
         }
-        catch (FileNotFoundException | ParserConfigurationException f) {
-            f.printStackTrace();
-            return;
-            //loadBoardFromMapFile("board.xml");
-        }   catch (SAXException e) {
-            e.printStackTrace();
-        }   catch (IOException e) {
-            e.printStackTrace();
+        catch (IOException e){
+            System.out.println("Journal stopped, it can not be written: " + e.getMessage());
+            journal = null;
         }
     }
 
@@ -914,7 +1349,17 @@ public class BoardModel {
         BoardModel boardModel = new BoardModel("board.xml");
         BoardView boardView = new BoardView(boardModel);
         boardModel.setBoardView(boardView);
+        //AI turns are played on a background thread, their events are shown one AI step at a time
+        boardModel.setGameEventListener(new CoalescingGameEventListener(boardView));
+        boardModel.setTurnExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-turn-worker");
+            thread.setDaemon(true);
+            return thread;
+        }));
         boardView.displayGUI();
+        //the autosave of a game that crashed is offered before anything can start a new journal over it,
+        //on the Swing event dispatch thread like every other action of the BoardController
+        SwingUtilities.invokeLater(() -> boardView.getBoardController().offerAutosaveRecovery());
     }
 }
 
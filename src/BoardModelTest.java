@@ -243,8 +243,7 @@ public class BoardModelTest {
         prop1.setOwner(p1);
         prop2.setOwner(p1);
         prop3.setOwner(p1);
-
-        p1.setHasAColorSet(true);
+        assertEquals(3, p1.getControlledProperty().size());
 
         prop1.setNumHouses(1);
         assertEquals(1, prop1.getNumHouses());
@@ -263,8 +262,7 @@ public class BoardModelTest {
         prop1.setOwner(p1);
         prop2.setOwner(p1);
         prop3.setOwner(p1);
-
-        p1.setHasAColorSet(true);
+        assertEquals(3, p1.getControlledProperty().size());
 
         prop1.setNumHotels(1);
 
@@ -286,6 +284,37 @@ public class BoardModelTest {
         assertEquals(5, boardModel.players.size());
     }
 
+    // Roll with scripted dice 3 and 4: player moves from GO to position 7 and roll() returns false (not a double)
+    @Test
+    public void testRollScriptedDice(){
+        boardModel = new BoardModel("board.xml", ScriptedRandomSource.ofDice(3, 4));
+        p1 = new Player("P1", new Color(10,10,10),1500, false);
+        boardModel.addPlayer(p1);
+        boardModel.setCurrentPlayer(p1);
+        assertFalse(boardModel.roll());
+        assertEquals(7, p1.getPositon());
+    }
+
+    // Two games with the same seed roll the same dice
+    @Test
+    public void testSeededRollsAreReproducible(){
+        BoardModel boardModel1 = new BoardModel("board.xml", new SeededRandomSource(42));
+        BoardModel boardModel2 = new BoardModel("board.xml", new SeededRandomSource(42));
+        Player player1 = new Player("P1", new Color(10,10,10),1500, false);
+        Player player2 = new Player("P1", new Color(10,10,10),1500, false);
+        boardModel1.addPlayer(player1);
+        boardModel1.setCurrentPlayer(player1);
+        boardModel2.addPlayer(player2);
+        boardModel2.setCurrentPlayer(player2);
+        for (int i = 0; i < 20; i++) {
+            boardModel1.roll();
+            boardModel2.roll();
+            assertEquals(boardModel1.getDiceValue1(), boardModel2.getDiceValue1());
+            assertEquals(boardModel1.getDiceValue2(), boardModel2.getDiceValue2());
+        }
+        assertEquals(player1.getPositon(), player2.getPositon());
+    }
+
     @Test
     public void testLanguage(){
         boardModel = new BoardModel("board.xml");
@@ -300,5 +329,148 @@ public class BoardModelTest {
 
     }
 
+    // A player that goes bankrupt gives all its property back to the bank
+    @Test
+    public void testBankruptcyReturnsPropertyToBank(){
+        boardModel = new BoardModel("board.xml");
+        p1 = new Player("P1", new Color(10,10,10),1500, false);
+        boardModel.setCurrentPlayer(p1);
+        p1.setPosition(1);
+        boardModel.purchaseProperty();
+        assertTrue(p1.ownsSquare(1));
+        p1.removefromBalance(100000);
+        assertSame(Player.BANK, boardModel.getBoard().getProperty(1).getOwner());
+        assertEquals(0, p1.getOwnedSquares());
+    }
+
+    // The complete color sets of a player are updated on every purchase and on bankruptcy
+    @Test
+    public void testCompleteColorSetsIndex(){
+        boardModel = new BoardModel("board.xml");
+        p1 = new Player("P1", new Color(10,10,10),1500, false);
+        boardModel.setCurrentPlayer(p1);
+        p1.setPosition(1);
+        boardModel.purchaseProperty();
+        assertEquals(0, p1.getCompleteColorSets());
+        p1.setPosition(3);
+        boardModel.purchaseProperty();
+        assertEquals((1L << 1) | (1L << 3), p1.getCompleteColorSets());
+        assertTrue(p1.getHasAColorSet());
+        p1.setPosition(5);
+        boardModel.purchaseProperty();
+        assertEquals((1L << 1) | (1L << 3), p1.getCompleteColorSets());
+        p1.removefromBalance(100000);
+        assertEquals(0, p1.getCompleteColorSets());
+    }
+
+    // The state hash kept up to date turn after turn is the hash computed from scratch, and the hash of its GameState
+    @Test
+    public void testStateHash(){
+        boardModel = new BoardModel("board.xml", new SeededRandomSource(7));
+        boardModel.addPlayer(new AIPlayer("AI Player1", new Color(100,0,0), 1500, 2, boardModel.getBoard(), boardModel, null));
+        boardModel.addPlayer(new AIPlayer("AI Player2", new Color(0,100,0), 1500, 2, boardModel.getBoard(), boardModel, null));
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        long newGameHash = boardModel.getStateHash();
+        assertEquals(boardModel.computeStateHash(), newGameHash);
+        for (int turn = 0; (turn < 500) && !boardModel.isGameOver(); turn++) {
+            boardModel.playScheduledTurns(1);
+            assertEquals(boardModel.computeStateHash(), boardModel.getStateHash());
+            assertEquals(GameState.fromModel(boardModel).computeStateHash(), boardModel.getStateHash());
+        }
+        assertNotEquals(newGameHash, boardModel.getStateHash());
+    }
+
+    // Starts a game of two players that roll the same dice
+    private void newGameOfEqualPlayers(){
+        boardModel = new BoardModel("board.xml", ScriptedRandomSource.ofDice(1, 2));
+        p1 = new Player("P1", new Color(10,10,10),1500, false);
+        Player p2 = new Player("P2", new Color(20,20,20),1500, false);
+        boardModel.addPlayer(p1);
+        boardModel.addPlayer(p2);
+        boardModel.setCurrentPlayer(p1);
+    }
+
+    // Rolls and passes turns without buying anything, until the game ends or maxTurns turns are played
+    private void playWithoutPurchases(int maxTurns){
+        for (int i = 0; (i < maxTurns) && !boardModel.isGameOver(); i++) {
+            boardModel.operateCommand(BoardModel.Commands.roll);
+            boardModel.operateCommand(BoardModel.Commands.passTurn);
+        }
+    }
+
+    // Once the turn cap is reached, the game ends with a net worth ranking
+    @Test
+    public void testTurnCap(){
+        newGameOfEqualPlayers();
+        boardModel.setMaxTurns(10);
+        playWithoutPurchases(100);
+        assertTrue(boardModel.isGameOver());
+        assertTrue(boardModel.hasEndedByNetWorth());
+        assertEquals(10, boardModel.getTurnCount());
+        assertEquals(2, boardModel.getWinnersList().size() + boardModel.getLosersList().size());
+    }
+
+    // Two players with the same balances and no property changes are a stalemate after DEFAULT_STALEMATE_ROUNDS rounds
+    @Test
+    public void testStalemate(){
+        newGameOfEqualPlayers();
+        boardModel.setStalemateDetection(BoardModel.DEFAULT_STALEMATE_ROUNDS, BoardModel.DEFAULT_STALEMATE_BALANCE_DRIFT);
+        playWithoutPurchases(1000);
+        assertTrue(boardModel.isGameOver());
+        assertTrue(boardModel.hasEndedByNetWorth());
+        assertTrue(boardModel.getTurnCount() >= BoardModel.DEFAULT_STALEMATE_ROUNDS * 2);
+        assertTrue(boardModel.getTurnCount() < 1000);
+        // equal net worth, both players share the first place
+        assertEquals(2, boardModel.getWinnersList().size());
+        assertTrue(boardModel.getLosersList().isEmpty());
+
+        // without the stalemate detector the game goes on
+        newGameOfEqualPlayers();
+        playWithoutPurchases(1000);
+        assertFalse(boardModel.isGameOver());
+    }
+
+
+    // The streamed xml of a game is well formed even with a player name that has markup characters
+    @Test
+    public void testToXMLEscapesText() throws Exception {
+        boardModel = new BoardModel("board.xml");
+        p1 = new Player("P1 <&> \"Tom's\"", new Color(10,10,10),1500, false);
+        boardModel.addPlayer(p1);
+        boardModel.setCurrentPlayer(p1);
+        String xml = boardModel.toXML();
+        org.w3c.dom.Document document = javax.xml.parsers.DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new org.xml.sax.InputSource(new java.io.StringReader(xml)));
+        assertEquals(p1.getName(), document.getElementsByTagName("name").item(0).getTextContent());
+        assertEquals(p1.getName(), document.getElementsByTagName("CurrentPlayer").item(0).getTextContent());
+        assertTrue(xml.startsWith("    <Monopoly>\n"));
+    }
+
+    // A saved game loads back into the same game, railroad owners included
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        boardModel = new BoardModel("board-fr.xml", new SeededRandomSource(42));
+        for (int i = 0; i < 3; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(10*i,10,10), 1500, 3, boardModel.getBoard(), boardModel, null));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(300);
+        java.io.File saveFile = java.io.File.createTempFile("BoardModelTest", ".xml");
+        String saveName = saveFile.getPath().substring(0, saveFile.getPath().length() - ".xml".length());
+        boardModel.save(saveName);
+
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        loadedBoardModel.load(saveFile.getPath());
+        saveFile.delete();
+        assertEquals(boardModel.toXML(), loadedBoardModel.toXML());
+        assertEquals(boardModel.computeStateHash(), loadedBoardModel.getStateHash());
+        assertEquals("CAD ", loadedBoardModel.getBoard().getCurrency());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(boardModel.getBoard().getProperty(i).getOwner().getName(), loadedBoardModel.getBoard().getProperty(i).getOwner().getName());
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(boardModel.getPlayer(i).getOwnedSquares(), loadedBoardModel.getPlayer(i).getOwnedSquares());
+        }
+    }
 
 }
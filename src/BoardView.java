@@ -2,6 +2,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * class BoardView implements the graphical user interface's view for the Monopoly game.
@@ -13,11 +14,13 @@ import java.util.ArrayList;
  * userInputBox to store user input on gui in the JTextField
  * scrollPanes and PropertyTextArea to hold the controlled Property in a list for each player.
  * JRadio buttons to select the language version of board to play with.
+ * winProbabilityPanel shows the chance of winning of each player, estimated in the background by winProbabilityEstimator
+ * after every change of the players status.
  *
  * @author Mahtab Ameli, Imran Latif, Muhammad Furqan
  * @version 1.0
  */
-public class BoardView {
+public class BoardView implements GameEventListener {
     private final JFrame frame;
     private BoardModel boardModel;
 
@@ -30,6 +33,9 @@ public class BoardView {
     private JLabel[] player1Labels,player2Labels,player3Labels,player4Labels;
     private JLabel[] housing1Labels,housing2Labels,housing3Labels,housing4Labels,housing5Labels;
     private JLabel eventLabel,eventLabel2,eventLabel3;
+    private JPanel winProbabilityPanel;
+    private JLabel[] winProbabilityLabels;
+    private WinProbabilityEstimator winProbabilityEstimator;
 
     private ArrayList<JButton> buttonList;
     private JButton startButton,rollButton,purchaseButton,helpButton,newGameButton,quitButton,purchaseHouseHotel,passButton,submitButton,saveButton, loadButton;
@@ -66,6 +72,8 @@ public class BoardView {
         playerLists.add(player3Labels);
         playerLists.add(player4Labels);
         addBasePanels();
+        this.winProbabilityEstimator = new WinProbabilityEstimator(WinProbabilityEstimator.DEFAULT_NUM_ROLLOUTS,
+                probabilities -> SwingUtilities.invokeLater(() -> setWinProbabilities(probabilities)));
     }
 
     /**
@@ -378,6 +386,18 @@ public class BoardView {
         userPanel.add(languageOptionsPanel);
         userPanel.add(languageOptionsPanel);
         userPanel.add(submitButton);
+
+        //win probability of each player, hidden until the first estimate
+        this.winProbabilityPanel = new JPanel();
+        winProbabilityPanel.setLayout(new BoxLayout(winProbabilityPanel, BoxLayout.Y_AXIS));
+        winProbabilityPanel.add(new JLabel("Chance of winning:"));
+        this.winProbabilityLabels = new JLabel[4];
+        for (int i = 0; i < winProbabilityLabels.length; i++) {
+            winProbabilityLabels[i] = new JLabel(" ");
+            winProbabilityPanel.add(winProbabilityLabels[i]);
+        }
+        winProbabilityPanel.setVisible(false);
+        userPanel.add(winProbabilityPanel);
         panelHolder[1][1].add(userPanel);
 
     }
@@ -433,6 +453,7 @@ public class BoardView {
     /**
      * Update All Players Status
      */
+    @Override
     public void updateAllPlayersStatus(int numOfPlayers){
             String gameCurrency = boardModel.getBoard().getCurrency();
             for(int i =0; i < numOfPlayers; i++){
@@ -449,6 +470,35 @@ public class BoardView {
                 }
                 PropertyTextAreas[i].setText(controledProperty);
             }
+            estimateWinProbabilities();
+    }
+
+    /**
+     * Starts a new background estimate of the chance of winning of each player, from a snapshot of the game.
+     * The snapshot is taken on the event dispatch thread while the game does not change, the rollouts run on the
+     * workers of the winProbabilityEstimator, and the estimate still running is cancelled.
+     */
+    private void estimateWinProbabilities(){
+        if((boardModel.getCurrentPlayer() == null) || (boardModel.players.size() < 2) || boardModel.isGameOver()){
+            return;
+        }
+        winProbabilityEstimator.estimate(GameState.fromModel(boardModel));
+    }
+
+    /**
+     * Shows the chance of winning of each player
+     * @param probabilities win probability of each player, in the order of the players list of the BoardModel
+     */
+    public void setWinProbabilities(double[] probabilities){
+        for (int i = 0; i < winProbabilityLabels.length; i++) {
+            if(i < probabilities.length){
+                winProbabilityLabels[i].setText(boardModel.getPlayer(i).getName() + ": " + Math.round(probabilities[i] * 100) + "%");
+            }
+            else{
+                winProbabilityLabels[i].setText(" ");
+            }
+        }
+        winProbabilityPanel.setVisible(true);
     }
 
 
@@ -456,6 +506,7 @@ public class BoardView {
      * Update Houses icon for a specific property
      * @param propertyLocation
      */
+    @Override
     public void updateHousesIcons(Integer propertyLocation){
         Property property = boardModel.getBoard().getProperty(propertyLocation);
         int propertyNumHouses = property.getNumHouses();
@@ -503,6 +554,7 @@ public class BoardView {
     /**
      * Updates all Property Houses Icons
      */
+    @Override
     public void updateAllHousesIcons(){
         ArrayList<Property> allProperty = boardModel.getBoard().getPropertyArrayList();
         for (int i = 0; i < allProperty.size(); i++) {
@@ -525,6 +577,7 @@ public class BoardView {
      * @param eventText text to set eventLabel with
      * @param eventText2 text to set eventLabel2 with
      */
+    @Override
     public void setEventLabelText(String eventText, String eventText2) {
         eventLabel.setText(eventText);
         eventLabel2.setText(eventText2);
@@ -534,6 +587,7 @@ public class BoardView {
      * Set the text of eventLabel3 JLabel to the paramters given
      * @param eventText text to set eventLabel3 with
      */
+    @Override
     public void setEventLabel3Text(String eventText) {
         eventLabel3.setText(eventText);
     }
@@ -558,6 +612,7 @@ public class BoardView {
      * Set purchaseHouseHotel button visibility with parameter
      * @param visible true for visible, false for not visible
      */
+    @Override
     public void setPurchaseHouseButtonVisibility(Boolean visible){purchaseHouseHotel.setVisible(visible);}
 
     /**
@@ -613,6 +668,7 @@ public class BoardView {
     /**
      * Set all properties in the game to the latest board, boardModel is set with
      */
+    @Override
     public void setAllPropertys(){
         for (int i = 0; i < 40; i++) {
             Color propertyColor = boardModel.getBoard().getProperty(i).getColor();
@@ -626,6 +682,31 @@ public class BoardView {
         }
     }
 
+    /**
+     * Set the visibility of a player's icon on a square of the board
+     * @param playerIndex index of the player
+     * @param position location of the square
+     * @param visible true for visible, false for not visible
+     */
+    @Override
+    public void setPlayerIconVisibility(int playerIndex, int position, Boolean visible){
+        playerLists.get(playerIndex)[position].setVisible(visible);
+    }
+
+    /**
+     * Setup the GUI to continue a game that has just been loaded
+     * @param numOfPlayers number of players in the loaded game
+     */
+    @Override
+    public void gameLoaded(int numOfPlayers){
+        updateAllPlayersStatus(numOfPlayers);
+        setPlayerPanelHoldersVisibility(numOfPlayers,true);
+        setControllerInitializing();
+        setUserInputVisibility(false);
+        updateAllHousesIcons();
+        loadButtonSetup(false,numOfPlayers);
+    }
+
     /**
      * Method to change visibility of load button and start button and set max number of players in Board Controller
      * @param visible visibility to set with, true for visible
@@ -636,10 +717,55 @@ public class BoardView {
         loadButton.setVisible(visible);
         bc.setMax_players(number);
     }
+    /**
+     * Asks the user whether to continue the unfinished game of the autosave.
+     * @return true if the user wants to continue it
+     */
+    public boolean askRecoverAutosave(){
+        return JOptionPane.showConfirmDialog(frame, "The last game was not finished. Do you want to continue it?",
+                "Recover Game", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+    }
+
+    /**
+     * Getter method for the BoardController of the view
+     */
+    public BoardController getBoardController(){return bc;}
+
+    /**
+     * Prompts the user for the name of the save slot to save the game in, an existing slot can be typed to replace it.
+     * @param slots existing save slots, listed in the prompt
+     * @return name of the slot, null if the user cancelled
+     */
+    public String askSaveSlotName(List<SaveSlot> slots){
+        StringBuilder message = new StringBuilder("Name of the save slot (letters, digits, spaces, - and _):");
+        for (SaveSlot slot : slots) {
+            message.append("\n").append(slot);
+        }
+        return JOptionPane.showInputDialog(frame, message.toString(), "Save Game", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Prompts the user to choose the save slot to load.
+     * @param slots existing save slots, at least one
+     * @return slot chosen, null if the user cancelled
+     */
+    public SaveSlot chooseSaveSlot(List<SaveSlot> slots){
+        SaveSlot[] options = slots.toArray(new SaveSlot[0]);
+        return (SaveSlot) JOptionPane.showInputDialog(frame, "Choose the game to load:", "Load Game",
+                JOptionPane.PLAIN_MESSAGE, null, options, options[options.length - 1]);
+    }
+
+    /**
+     * Every event is shown as soon as it is received, nothing to do after an AI step
+     */
+    @Override
+    public void aiStepFinished(){}
+
     /**
      * Creates a popup window to announce the result of the game after the game ends.
      * The result can be a single winner, multiple winners in a tie, or no winners.
      */
+    @Override
     public void resultsMessageWindow() {
         String finalMessage = "";
         String winnersNames = "";
@@ -655,7 +781,18 @@ public class BoardView {
                 losersNames = losersNames + losers.get(i).getName() + "\n";
             }
         }
-        if (numWinners == 1){ // if a single winner
+        // if the game was stopped by the turn cap or a stalemate, winners and losers are ranked by net worth
+        if (boardModel.hasEndedByNetWorth()) {
+            String currency = boardModel.getBoard().getCurrency();
+            finalMessage = "The game was stopped after " + boardModel.getTurnCount() + " turns, players ranked by net worth:\n";
+            for (Player winner : winners) {
+                finalMessage += "1. " + winner.getName() + " (" + currency + boardModel.getNetWorth(winner) + ")\n";
+            }
+            for (int i = 0; i < numLosers; i++) {
+                finalMessage += (numWinners + i + 1) + ". " + losers.get(i).getName() + " (" + currency + boardModel.getNetWorth(losers.get(i)) + ")\n";
+            }
+        }
+        else if (numWinners == 1){ // if a single winner
             finalMessage += winners.get(0).getName()
                     + " wins!\n"
                     + "\nBankrupt Players:\n";
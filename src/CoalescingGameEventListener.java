@@ -0,0 +1,273 @@
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Class CoalescingGameEventListener, gives the events of a BoardModel to a view (the BoardView) on the Swing event
+ * dispatch thread, when the AI turns are played on a background thread (see BoardModel.setTurnExecutor()).
+ * Events received on the event dispatch thread (human turns, buttons) are given to the view right away.
+ * Events received on another thread are kept in pending, where a later event replaces an earlier one of the same
+ * kind (only the last event log text, the last visibility of each player icon, each property's houses once...),
+ * and are given to the view all at once, in one SwingUtilities.invokeLater() call, when the AI step is finished.
+ * The view reads the BoardModel while it updates, so the AI thread waits for the update of a step to be shown
+ * before it plays on. The event dispatch thread only does the short view updates and stays responsive.
+ */
+public class CoalescingGameEventListener implements GameEventListener {
+    private static final int MAX_PLAYERS = 4;
+    private static final int NUM_SQUARES = 40;
+
+    private final GameEventListener view;
+    private PendingEvents pending;
+
+    /**
+     * CoalescingGameEventListener Constructor
+     * @param view GameEventListener to give the events to on the event dispatch thread, usually the BoardView
+     */
+    public CoalescingGameEventListener(GameEventListener view){
+        this.view = view;
+        this.pending = new PendingEvents();
+    }
+
+    @Override
+    public void setEventLabelText(String eventText, String eventText2) {
+        if(onEventDispatchThread()){
+            view.setEventLabelText(eventText, eventText2);
+            return;
+        }
+        synchronized (this){
+            pending.eventText = eventText;
+            pending.eventText2 = eventText2;
+            pending.hasEventText = true;
+        }
+    }
+
+    @Override
+    public void setEventLabel3Text(String eventText) {
+        if(onEventDispatchThread()){
+            view.setEventLabel3Text(eventText);
+            return;
+        }
+        synchronized (this){
+            pending.eventText3 = eventText;
+            pending.hasEventText3 = true;
+        }
+    }
+
+    @Override
+    public void setPlayerIconVisibility(int playerIndex, int position, Boolean visible) {
+        if(onEventDispatchThread()){
+            view.setPlayerIconVisibility(playerIndex, position, visible);
+            return;
+        }
+        synchronized (this){
+            pending.playerIconVisibility[playerIndex][position] = visible;
+            pending.hasPlayerIcons = true;
+        }
+    }
+
+    @Override
+    public void updateHousesIcons(Integer propertyLocation) {
+        if(onEventDispatchThread()){
+            view.updateHousesIcons(propertyLocation);
+            return;
+        }
+        synchronized (this){
+            pending.housesIcons |= (1L << propertyLocation);
+        }
+    }
+
+    @Override
+    public void updateAllHousesIcons() {
+        if(onEventDispatchThread()){
+            view.updateAllHousesIcons();
+            return;
+        }
+        synchronized (this){
+            pending.allHousesIcons = true;
+        }
+    }
+
+    @Override
+    public void updateAllPlayersStatus(int numOfPlayers) {
+        if(onEventDispatchThread()){
+            view.updateAllPlayersStatus(numOfPlayers);
+            return;
+        }
+        synchronized (this){
+            pending.playersStatus = numOfPlayers;
+        }
+    }
+
+    @Override
+    public void setPurchaseHouseButtonVisibility(Boolean visible) {
+        if(onEventDispatchThread()){
+            view.setPurchaseHouseButtonVisibility(visible);
+            return;
+        }
+        synchronized (this){
+            pending.purchaseHouseButtonVisibility = visible;
+        }
+    }
+
+    @Override
+    public void setAllPropertys() {
+        if(onEventDispatchThread()){
+            view.setAllPropertys();
+            return;
+        }
+        synchronized (this){
+            pending.allPropertys = true;
+        }
+    }
+
+    @Override
+    public void gameLoaded(int numOfPlayers) {
+        if(onEventDispatchThread()){
+            view.gameLoaded(numOfPlayers);
+            return;
+        }
+        synchronized (this){
+            pending.gameLoaded = numOfPlayers;
+        }
+    }
+
+    @Override
+    public void resultsMessageWindow() {
+        if(onEventDispatchThread()){
+            view.resultsMessageWindow();
+            return;
+        }
+        synchronized (this){
+            pending.resultsMessageWindow = true;
+        }
+    }
+
+    /**
+     * Gives the pending events to the view in one update on the event dispatch thread,
+     * and waits until they are shown.
+     */
+    @Override
+    public void aiStepFinished() {
+        if(onEventDispatchThread()){
+            return;
+        }
+        PendingEvents events = takePending();
+        if(events == null){
+            return;
+        }
+        CountDownLatch shown = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                events.applyTo(view);
+            }
+            finally {
+                shown.countDown();
+            }
+        });
+        try {
+            shown.await();
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if the current thread is the event dispatch thread, after giving the view the pending events
+     * so they are shown before the new one.
+     */
+    private boolean onEventDispatchThread(){
+        if(!SwingUtilities.isEventDispatchThread()){
+            return false;
+        }
+        PendingEvents events = takePending();
+        if(events != null){
+            events.applyTo(view);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the pending events and starts a new empty set, null if there are no pending events.
+     */
+    private synchronized PendingEvents takePending(){
+        if(pending.isEmpty()){
+            return null;
+        }
+        PendingEvents events = pending;
+        pending = new PendingEvents();
+        return events;
+    }
+
+    /**
+     * Class PendingEvents, the events of an AI step not given to the view yet, the last one of each kind.
+     * playerIconVisibility[player][position] is null if the icon did not change.
+     * housesIcons is the mask of the locations of the properties whose houses changed.
+     * playersStatus and gameLoaded are the number of players of the last event, -1 if there was none.
+     */
+    private static class PendingEvents {
+        private String eventText, eventText2, eventText3;
+        private boolean hasEventText, hasEventText3, hasPlayerIcons;
+        private final Boolean[][] playerIconVisibility = new Boolean[MAX_PLAYERS][NUM_SQUARES];
+        private long housesIcons;
+        private boolean allHousesIcons;
+        private int playersStatus = -1;
+        private Boolean purchaseHouseButtonVisibility;
+        private boolean allPropertys;
+        private int gameLoaded = -1;
+        private boolean resultsMessageWindow;
+
+        /**
+         * Returns true if there is no event to give to the view.
+         */
+        private boolean isEmpty(){
+            return !hasEventText && !hasEventText3 && !hasPlayerIcons && (housesIcons == 0) && !allHousesIcons
+                    && (playersStatus < 0) && (purchaseHouseButtonVisibility == null) && !allPropertys
+                    && (gameLoaded < 0) && !resultsMessageWindow;
+        }
+
+        /**
+         * Gives the events to the view, the results of the game last.
+         * @param view GameEventListener to give the events to
+         */
+        private void applyTo(GameEventListener view){
+            if(allPropertys){
+                view.setAllPropertys();
+            }
+            if(gameLoaded >= 0){
+                view.gameLoaded(gameLoaded);
+            }
+            if(hasPlayerIcons){
+                for (int player = 0; player < MAX_PLAYERS; player++) {
+                    for (int position = 0; position < NUM_SQUARES; position++) {
+                        if(playerIconVisibility[player][position] != null){
+                            view.setPlayerIconVisibility(player, position, playerIconVisibility[player][position]);
+                        }
+                    }
+                }
+            }
+            if(allHousesIcons){
+                view.updateAllHousesIcons();
+            }
+            else{
+                for (long locations = housesIcons; locations != 0; locations &= locations - 1) {
+                    view.updateHousesIcons(Long.numberOfTrailingZeros(locations));
+                }
+            }
+            if(hasEventText){
+                view.setEventLabelText(eventText, eventText2);
+            }
+            if(hasEventText3){
+                view.setEventLabel3Text(eventText3);
+            }
+            if(playersStatus >= 0){
+                view.updateAllPlayersStatus(playersStatus);
+            }
+            if(purchaseHouseButtonVisibility != null){
+                view.setPurchaseHouseButtonVisibility(purchaseHouseButtonVisibility);
+            }
+            if(resultsMessageWindow){
+                view.resultsMessageWindow();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+
+public class CoalescingGameEventListenerTest {
+
+    /**
+     * GameEventListener that records the events it receives, and if they were received on the event dispatch thread.
+     */
+    private static class RecordingListener implements GameEventListener {
+        private final ArrayList<String> events = new ArrayList<>();
+        private boolean allOnEventDispatchThread = true;
+
+        private synchronized void record(String event){
+            events.add(event);
+            allOnEventDispatchThread &= SwingUtilities.isEventDispatchThread();
+        }
+        public void setEventLabelText(String eventText, String eventText2) {record("label " + eventText);}
+        public void setEventLabel3Text(String eventText) {record("label3 " + eventText);}
+        public void setPlayerIconVisibility(int playerIndex, int position, Boolean visible) {record("icon " + playerIndex + " " + position + " " + visible);}
+        public void updateHousesIcons(Integer propertyLocation) {record("houses " + propertyLocation);}
+        public void updateAllHousesIcons() {record("allHouses");}
+        public void updateAllPlayersStatus(int numOfPlayers) {record("status " + numOfPlayers);}
+        public void setPurchaseHouseButtonVisibility(Boolean visible) {record("button " + visible);}
+        public void setAllPropertys() {record("propertys");}
+        public void gameLoaded(int numOfPlayers) {record("loaded " + numOfPlayers);}
+        public void resultsMessageWindow() {record("results");}
+        public void aiStepFinished() {record("step");}
+    }
+
+    // Events of a background thread reach the view once per step, on the event dispatch thread, the last of each kind
+    @Test
+    public void testEventsCoalescedPerStep() throws Exception {
+        RecordingListener view = new RecordingListener();
+        CoalescingGameEventListener listener = new CoalescingGameEventListener(view);
+        Thread aiThread = new Thread(() -> {
+            listener.setEventLabelText("first", "");
+            listener.setPlayerIconVisibility(0, 0, false);
+            listener.setPlayerIconVisibility(0, 5, true);
+            listener.setPlayerIconVisibility(0, 5, false);
+            listener.setPlayerIconVisibility(0, 9, true);
+            listener.updateHousesIcons(3);
+            listener.updateHousesIcons(3);
+            listener.updateAllPlayersStatus(2);
+            listener.setEventLabelText("last", "");
+            assertTrue(view.events.isEmpty());
+            listener.aiStepFinished();
+        });
+        aiThread.start();
+        aiThread.join();
+        assertTrue(view.allOnEventDispatchThread);
+        assertEquals(6, view.events.size());
+        assertTrue(view.events.contains("icon 0 0 false"));
+        assertTrue(view.events.contains("icon 0 5 false"));
+        assertTrue(view.events.contains("icon 0 9 true"));
+        assertTrue(view.events.contains("houses 3"));
+        assertTrue(view.events.contains("label last"));
+        assertTrue(view.events.contains("status 2"));
+    }
+
+    // AI turns played on a turn executor leave the view updated once the turn loop is done
+    @Test
+    public void testTurnLoopOnExecutor() throws Exception {
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(1));
+        RecordingListener view = new RecordingListener();
+        boardModel.setGameEventListener(new CoalescingGameEventListener(view));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        boardModel.setTurnExecutor(executor);
+        boardModel.addPlayer(new AIPlayer("AI Player1", new Color(100,0,0), 1500, 2, boardModel.getBoard(), boardModel, null));
+        boardModel.addPlayer(new AIPlayer("AI Player2", new Color(0,100,0), 1500, 2, boardModel.getBoard(), boardModel, null));
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(10);
+        while(boardModel.isTurnLoopRunning()){
+            Thread.sleep(1);
+        }
+        executor.shutdown();
+        assertEquals(10, boardModel.getTurnCount());
+        assertTrue(view.allOnEventDispatchThread);
+        assertTrue(view.events.contains("status 2"));
+    }
+}
@@ -0,0 +1,131 @@
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * Class ColorSets, the color sets of a Board as 64 bit masks of square locations (bit i is location i),
+ * built once when the board is loaded.
+ * colorSetMaskBySquare stores the mask of the color set of every square.
+ * colorSetMasks stores the mask of every color set a player can complete (every color but the railroads),
+ * completableMaskBySquare the mask of the color set of every square that is in one of them (0 for the railroads).
+ * squaresAtLevel[l] is the mask of the squares with a rent level of at least l (houses, 5 with a hotel),
+ * kept up to date by Property.setNumHouses() and Property.setNumHotels().
+ * With the mask of the squares a player owns (Player.getOwnedSquares()), owning a color set,
+ * finding the complete color sets and the even build rule are a few bitwise operations.
+ */
+public class ColorSets {
+    private static final Color RAILROAD_COLOR = new Color(102,98,95);
+
+    private final long[] colorSetMaskBySquare;
+    private final long[] colorSetMasks;
+    private final long[] completableMaskBySquare;
+    private final long[] squaresAtLevel;
+
+    /**
+     * ColorSets Constructor, computes the masks of the color sets of the board and gives each Property the ColorSets.
+     * @param board Board to compute the color sets of
+     */
+    public ColorSets(Board board){
+        int numSquares = board.getPropertyArrayList().size();
+        this.colorSetMaskBySquare = new long[numSquares];
+        this.completableMaskBySquare = new long[numSquares];
+        this.squaresAtLevel = new long[RentTable.NUM_LEVELS];
+        ArrayList<Long> completableMasks = new ArrayList<>();
+        for (Color color : board.getAllColorsList()) {
+            long mask = 0;
+            for (Property property : board.getColorPropertyArrayList().get(color)) {
+                mask |= (1L << property.getLocation());
+            }
+            for (Property property : board.getColorPropertyArrayList().get(color)) {
+                colorSetMaskBySquare[property.getLocation()] = mask;
+            }
+            if((mask != 0) && !color.equals(RAILROAD_COLOR)){
+                completableMasks.add(mask);
+                for (Property property : board.getColorPropertyArrayList().get(color)) {
+                    completableMaskBySquare[property.getLocation()] = mask;
+                }
+            }
+        }
+        this.colorSetMasks = new long[completableMasks.size()];
+        for (int i = 0; i < colorSetMasks.length; i++) {
+            colorSetMasks[i] = completableMasks.get(i);
+        }
+        for (int square = 0; square < numSquares; square++) {
+            Property property = board.getProperty(square);
+            property.setColorSets(this);
+            setRentLevel(square, property.getNumHouses() + (property.getNumHotels() * 5));
+        }
+    }
+
+    /**
+     * Returns the mask of the color set of a square.
+     * @param square location of the square
+     */
+    public long getColorSetMask(int square){return colorSetMaskBySquare[square];}
+
+    /**
+     * Returns true if ownedSquares contains the whole color set of a square.
+     * @param ownedSquares mask of the squares a player owns
+     * @param square location of a square of the color set
+     */
+    public boolean ownsColorSet(long ownedSquares, int square){
+        return (colorSetMaskBySquare[square] & ~ownedSquares) == 0;
+    }
+
+    /**
+     * Returns the mask of the squares of all the complete color sets in ownedSquares (railroads are not a color set).
+     * @param ownedSquares mask of the squares a player owns
+     */
+    public long getCompleteColorSets(long ownedSquares){
+        long complete = 0;
+        for (int i = 0; i < colorSetMasks.length; i++) {
+            if((colorSetMasks[i] & ~ownedSquares) == 0){
+                complete |= colorSetMasks[i];
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Returns the mask of the color set of a square if ownedSquares contains all of it,
+     * 0 if it does not or if the square is a railroad.
+     * @param ownedSquares mask of the squares a player owns
+     * @param square location of a square of the color set
+     */
+    public long getCompletedColorSet(long ownedSquares, int square){
+        long mask = completableMaskBySquare[square];
+        return ((mask & ~ownedSquares) == 0) ? mask : 0;
+    }
+
+    /**
+     * Returns true if ownedSquares contains at least one complete color set.
+     * @param ownedSquares mask of the squares a player owns
+     */
+    public boolean hasAColorSet(long ownedSquares){return getCompleteColorSets(ownedSquares) != 0;}
+
+    /**
+     * Returns true if every square of the color set of a square has a rent level of at least level,
+     * so a house can be built on a square of that level without breaking the even build rule.
+     * @param square location of the square to build on
+     * @param level rent level of the square to build on
+     */
+    public boolean isEvenBuild(int square, int level){
+        return (colorSetMaskBySquare[square] & ~squaresAtLevel[level]) == 0;
+    }
+
+    /**
+     * Updates the rent level of a square in squaresAtLevel.
+     * @param square location of the square
+     * @param level new rent level, number of houses or 5 with a hotel
+     */
+    public void setRentLevel(int square, int level){
+        long bit = 1L << square;
+        for (int l = 0; l < squaresAtLevel.length; l++) {
+            if(l <= level){
+                squaresAtLevel[l] |= bit;
+            }
+            else{
+                squaresAtLevel[l] &= ~bit;
+            }
+        }
+    }
+}
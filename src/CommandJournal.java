@@ -0,0 +1,410 @@
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Class CommandJournal, an append-only journal of the commands of a game, so the game can be rebuilt after a crash
+ * and replayed exactly. A journal named name is two files: the snapshot name.sav, a binary save of the game
+ * (see SavedGame), and the journal name.journal of every command executed since that snapshot.
+ * The BoardModel records each executed Commands value, each house or hotel purchase and the dice of each roll, as
+ * 4 byte records (type, player or first die, square or second die, check byte) buffered and written batchSize records
+ * at a time, always just before a new command so a written batch never ends in the middle of a command.
+ * Every checkpointRecords records, the BoardModel takes a checkpoint: a new snapshot replaces the old one and the
+ * journal starts over empty. Both files are written to a temporary file first and renamed over the old one, and the
+ * journal header holds the CRC32 of its snapshot, so a journal left over from an older snapshot is never replayed.
+ * Recovering loads the snapshot and replays the journal tail with the AI turn loop held back (the AI commands are
+ * in the journal) and the dice of the journal instead of random ones; a torn or corrupted tail is ignored.
+ * hasUnfinishedGame() tells whether a journal holds a game worth recovering, the GUI checks its autosave with it
+ * at startup, before a new game or a load starts a new journal over it.
+ */
+public class CommandJournal implements Closeable {
+    public static final String JOURNAL_EXTENSION = ".journal";
+    public static final int DEFAULT_BATCH_SIZE = 16;
+    public static final int DEFAULT_CHECKPOINT_RECORDS = 4096;
+    private static final int MAGIC = 0x4D4A524E; // "MJRN"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 4;
+    private static final int HOUSE_RECORD = 0x40;
+    private static final int DICE_RECORD = 0x41;
+    private static final int NO_SQUARE = 0xFF;
+    private static final int CHECK_MASK = 0xA5;
+
+    private final File snapshotFile;
+    private final File journalFile;
+    private final int batchSize;
+    private final int checkpointRecords;
+    private final ByteBuffer batch;
+    private FileChannel channel;
+    private int recordsSinceCheckpoint;
+
+    /**
+     * CommandJournal Constructor, the journal is not open until the first checkpoint.
+     * @param name path of the journal files, without extension
+     * @param batchSize number of records written at a time
+     * @param checkpointRecords number of records between checkpoints, 0 to never take one
+     */
+    private CommandJournal(String name, int batchSize, int checkpointRecords){
+        this.snapshotFile = new File(name + BoardModel.BINARY_SAVE_EXTENSION);
+        this.journalFile = new File(name + JOURNAL_EXTENSION);
+        this.batchSize = Math.max(1, batchSize);
+        this.checkpointRecords = checkpointRecords;
+        // a command can be followed by up to 2 rolls before the next command flushes the batch
+        this.batch = ByteBuffer.allocate((this.batchSize + 3) * RECORD_SIZE);
+        this.recordsSinceCheckpoint = 0;
+    }
+
+    /**
+     * Starts the journal of a game: takes a snapshot of the game and opens an empty journal after it.
+     * @param name path of the journal files, without extension
+     * @param boardModel BoardModel of the game
+     * @param batchSize number of records written at a time
+     * @param checkpointRecords number of records between checkpoints, 0 to never take one
+     * @return CommandJournal to record the commands of the game in
+     * @throws IOException if the files can not be written
+     */
+    public static CommandJournal start(String name, BoardModel boardModel, int batchSize, int checkpointRecords) throws IOException {
+        CommandJournal journal = new CommandJournal(name, batchSize, checkpointRecords);
+        journal.checkpoint(SavedGame.fromModel(boardModel));
+        return journal;
+    }
+
+    /**
+     * Rebuilds a game from the snapshot and journal tail of a journal, with replay(), and goes on journaling it
+     * from a checkpoint of the rebuilt game.
+     * @param name path of the journal files, without extension
+     * @param boardModel BoardModel to rebuild the game in
+     * @param batchSize number of records written at a time
+     * @param checkpointRecords number of records between checkpoints, 0 to never take one
+     * @return CommandJournal to record the next commands of the game in
+     * @throws IOException if there is no snapshot or it can not be read, the game is then left as it was
+     */
+    public static CommandJournal recover(String name, BoardModel boardModel, int batchSize, int checkpointRecords) throws IOException {
+        replay(name, boardModel, Integer.MAX_VALUE);
+        return start(name, boardModel, batchSize, checkpointRecords);
+    }
+
+    /**
+     * Returns true if a journal holds a game that can be rebuilt and is not over, checked by replaying it on a
+     * headless BoardModel, so a game that ended normally is not offered for recovery.
+     * @param name path of the journal files, without extension
+     */
+    public static boolean hasUnfinishedGame(String name){
+        if(!new File(name + BoardModel.BINARY_SAVE_EXTENSION).exists()){
+            return false;
+        }
+        BoardModel boardModel = new BoardModel("board.xml");
+        try {
+            replay(name, boardModel, Integer.MAX_VALUE);
+        }
+        catch (IOException e){
+            System.out.println(e.getMessage());
+            return false;
+        }
+        return !boardModel.players.isEmpty() && !boardModel.isGameOver();
+    }
+
+    /**
+     * Loads the snapshot of a journal and replays at most maxCommands commands of its journal tail.
+     * The replay stops early at a command of another player than the current one, which can only come from a
+     * journal that does not belong to the snapshot. After the replay, a seeded random source goes on from the dice
+     * replayed, so the rebuilt game rolls the same dice as the game journaled would have.
+     * @param name path of the journal files, without extension
+     * @param boardModel BoardModel to load the snapshot in
+     * @param maxCommands maximum number of commands and house purchases to replay
+     * @return number of commands and house purchases replayed
+     * @throws IOException if there is no snapshot or it can not be read, the game is then left as it was
+     */
+    public static int replay(String name, BoardModel boardModel, int maxCommands) throws IOException {
+        File snapshotFile = new File(name + BoardModel.BINARY_SAVE_EXTENSION);
+        SavedGame snapshot = SavedGame.readBinary(snapshotFile);
+        int[] records = readRecords(new File(name + JOURNAL_EXTENSION), checksumOf(snapshotFile));
+        snapshot.applyTo(boardModel);
+
+        RandomSource snapshotRandomSource = boardModel.getRandomSource();
+        JournalDice dice = new JournalDice(records);
+        boardModel.setRandomSource(dice);
+        boardModel.setReplayingJournal(true);
+        int commandsReplayed = 0;
+        try {
+            for (int i = 0; (i < records.length) && (commandsReplayed < maxCommands); i++) {
+                int type = records[i] >>> 16;
+                int player = (records[i] >>> 8) & 0xFF;
+                int square = records[i] & 0xFF;
+                if(type == DICE_RECORD){
+                    continue;
+                }
+                if(boardModel.isGameOver()){
+                    break;
+                }
+                if(player != boardModel.getCurrentPlayerIndex()){
+                    System.out.println("Journal does not match its snapshot, replay stopped after " + commandsReplayed + " commands");
+                    break;
+                }
+                if(type == HOUSE_RECORD){
+                    boardModel.purchaseHouseOrHotel(boardModel.getBoard().getProperty(square));
+                }
+                else{
+                    boardModel.operateCommand(BoardModel.Commands.values()[type]);
+                }
+                commandsReplayed++;
+            }
+        }
+        finally {
+            boardModel.setReplayingJournal(false);
+            if(snapshotRandomSource instanceof SeededRandomSource){
+                SeededRandomSource seededRandomSource = (SeededRandomSource) snapshotRandomSource;
+                boardModel.setRandomSource(new SeededRandomSource(seededRandomSource.getSeed(), seededRandomSource.getDraws() + dice.getDraws()));
+            }
+            else{
+                boardModel.setRandomSource(snapshotRandomSource);
+            }
+        }
+        boardModel.resetStateHash();
+        return commandsReplayed;
+    }
+
+    /**
+     * Records a command executed by a player, writing the batch first if it is full.
+     * @param player index of the current player
+     * @param command command executed
+     */
+    public synchronized void recordCommand(int player, BoardModel.Commands command){
+        flushIfFull();
+        putRecord(command.ordinal(), player, NO_SQUARE);
+    }
+
+    /**
+     * Records the purchase of a house or hotel, writing the batch first if it is full.
+     * @param player index of the current player
+     * @param square location of the property
+     */
+    public synchronized void recordHousePurchase(int player, int square){
+        flushIfFull();
+        putRecord(HOUSE_RECORD, player, square);
+    }
+
+    /**
+     * Records the dice of a roll of the command being executed.
+     * @param dice1 value of the first die
+     * @param dice2 value of the second die
+     */
+    public synchronized void recordDice(int dice1, int dice2){
+        putRecord(DICE_RECORD, dice1, dice2);
+    }
+
+    /**
+     * Returns true if checkpointRecords records have been recorded since the last checkpoint.
+     */
+    public synchronized boolean needsCheckpoint(){
+        return (checkpointRecords > 0) && (recordsSinceCheckpoint >= checkpointRecords);
+    }
+
+    /**
+     * Replaces the snapshot with a new one and starts the journal over empty after it.
+     * @param snapshot SavedGame of the game, at the point between two commands the journal is at
+     * @throws IOException if the files can not be written, the journal is then closed
+     */
+    public synchronized void checkpoint(SavedGame snapshot) throws IOException {
+        try {
+            flush();
+            closeChannel();
+            snapshot.writeBinaryAtomically(snapshotFile);
+            long snapshotChecksum = checksumOf(snapshotFile);
+
+            File temporaryJournalFile = new File(journalFile.getPath() + SavedGame.TEMPORARY_EXTENSION);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.putShort((short) RECORD_SIZE);
+            header.putLong(snapshotChecksum);
+            header.flip();
+            try (FileChannel headerChannel = FileChannel.open(temporaryJournalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while(header.hasRemaining()){
+                    headerChannel.write(header);
+                }
+            }
+            SavedGame.moveAtomically(temporaryJournalFile, journalFile);
+            channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            recordsSinceCheckpoint = 0;
+        }
+        catch (IOException e){
+            batch.clear();
+            closeChannel();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the records of the batch to the journal file.
+     * @throws IOException if the journal can not be written
+     */
+    public synchronized void flush() throws IOException {
+        if((channel == null) || (batch.position() == 0)){
+            batch.clear();
+            return;
+        }
+        batch.flip();
+        while(batch.hasRemaining()){
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    /**
+     * Writes the records of the batch and closes the journal file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        }
+        finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Returns true while the journal file is open.
+     */
+    public synchronized boolean isOpen(){return channel != null;}
+
+    /**
+     * Writes the batch if it holds batchSize records or more, a failed write closes the journal.
+     */
+    private void flushIfFull(){
+        if(batch.position() >= batchSize * RECORD_SIZE){
+            try {
+                flush();
+            }
+            catch (IOException e){
+                System.out.println("Journal closed, it can not be written: " + e.getMessage());
+                batch.clear();
+                closeChannel();
+            }
+        }
+    }
+
+    /**
+     * Adds a record to the batch, nothing is recorded once the journal is closed.
+     */
+    private void putRecord(int type, int value1, int value2){
+        if(channel == null){
+            return;
+        }
+        batch.put((byte) type);
+        batch.put((byte) value1);
+        batch.put((byte) value2);
+        batch.put((byte) (type ^ value1 ^ value2 ^ CHECK_MASK));
+        recordsSinceCheckpoint++;
+    }
+
+    /**
+     * Closes the journal file, ignoring errors.
+     */
+    private void closeChannel(){
+        if(channel != null){
+            try {
+                channel.close();
+            }
+            catch (IOException e){
+                System.out.println(e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Reads the records of a journal file as (type << 16) | (value1 << 8) | value2.
+     * Returns no records if the file is missing, not a journal, or the journal of another snapshot.
+     * The records are read up to the first torn or corrupted one, and a roll at the end with no dice after it is dropped.
+     */
+    private static int[] readRecords(File file, long snapshotChecksum) throws IOException {
+        if(!file.exists()){
+            return new int[0];
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if((buffer.remaining() < HEADER_SIZE) || (buffer.getInt() != MAGIC) || (buffer.getShort() != VERSION)
+                || (buffer.getShort() != RECORD_SIZE) || (buffer.getLong() != snapshotChecksum)){
+            return new int[0];
+        }
+        List<Integer> records = new ArrayList<>();
+        int lastCommand = -1;
+        while(buffer.remaining() >= RECORD_SIZE){
+            int type = buffer.get() & 0xFF;
+            int value1 = buffer.get() & 0xFF;
+            int value2 = buffer.get() & 0xFF;
+            int check = buffer.get() & 0xFF;
+            if((check != ((type ^ value1 ^ value2 ^ CHECK_MASK) & 0xFF)) || !isValidType(type)){
+                break;
+            }
+            if(type != DICE_RECORD){
+                lastCommand = records.size();
+            }
+            records.add((type << 16) | (value1 << 8) | value2);
+        }
+        if((lastCommand == records.size() - 1) && (lastCommand >= 0) && ((records.get(lastCommand) >>> 16) == BoardModel.Commands.roll.ordinal())){
+            records.remove(lastCommand);
+        }
+        int[] recordArray = new int[records.size()];
+        for (int i = 0; i < recordArray.length; i++) {
+            recordArray[i] = records.get(i);
+        }
+        return recordArray;
+    }
+
+    /**
+     * Returns true if a record type is a command, a house purchase or dice.
+     */
+    private static boolean isValidType(int type){
+        return (type < BoardModel.Commands.values().length) || (type == HOUSE_RECORD) || (type == DICE_RECORD);
+    }
+
+    /**
+     * Returns the CRC32 of the content of a file.
+     */
+    private static long checksumOf(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file.toPath()));
+        return crc.getValue();
+    }
+
+    /**
+     * Class JournalDice, the RandomSource of a replay, rolls the dice of the dice records of the journal in order.
+     */
+    private static class JournalDice implements RandomSource {
+        private final int[] values;
+        private int numValues;
+        private int draws;
+
+        private JournalDice(int[] records){
+            this.values = new int[records.length * 2];
+            for (int record : records) {
+                if((record >>> 16) == DICE_RECORD){
+                    values[numValues++] = (record >>> 8) & 0xFF;
+                    values[numValues++] = record & 0xFF;
+                }
+            }
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            if(draws >= numValues){
+                throw new IllegalStateException("Journal has no dice left to replay");
+            }
+            return values[draws++] - 1;
+        }
+
+        /**
+         * Getter method for the number of dice replayed
+         */
+        private int getDraws(){return draws;}
+    }
+}
@@ -0,0 +1,156 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+
+
+public class CommandJournalTest {
+
+    private BoardModel newGame(){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(7));
+        for (int i = 0; i < 4; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(50*i,10,10), 1500, 4, boardModel.getBoard(), boardModel, null));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        return boardModel;
+    }
+
+    private String newJournalName() throws IOException {
+        File directory = Files.createTempDirectory("CommandJournalTest").toFile();
+        directory.deleteOnExit();
+        String name = new File(directory, "Autosave").getPath();
+        new File(name + BoardModel.BINARY_SAVE_EXTENSION).deleteOnExit();
+        new File(name + CommandJournal.JOURNAL_EXTENSION).deleteOnExit();
+        return name;
+    }
+
+    // A game rebuilt from its journal is the game journaled, and goes on with the same dice
+    @Test
+    public void testRecover() throws IOException {
+        for (int checkpointRecords : new int[]{0, 64}) {
+            String name = newJournalName();
+            BoardModel boardModel = newGame();
+            boardModel.playScheduledTurns(20);
+            boardModel.startJournal(name, checkpointRecords);
+            boardModel.playScheduledTurns(200);
+            boardModel.stopJournal();
+            if(checkpointRecords > 0){
+                assertTrue(new File(name + CommandJournal.JOURNAL_EXTENSION).length() < 16 + (checkpointRecords + 32) * 4);
+            }
+
+            BoardModel recoveredBoardModel = new BoardModel("board.xml");
+            assertTrue(recoveredBoardModel.recoverFromJournal(name));
+            assertEquals(boardModel.toXML(), recoveredBoardModel.toXML());
+            assertEquals(recoveredBoardModel.computeStateHash(), recoveredBoardModel.getStateHash());
+
+            boardModel.playScheduledTurns(50);
+            recoveredBoardModel.playScheduledTurns(50);
+            assertEquals(boardModel.toXML(), recoveredBoardModel.toXML());
+            recoveredBoardModel.stopJournal();
+        }
+    }
+
+    // Human commands and house purchases are journaled as well
+    @Test
+    public void testRecoverHumanCommands() throws IOException {
+        String name = newJournalName();
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(11));
+        boardModel.addPlayer(new Player("P1", new Color(10,10,10), 1500, false));
+        boardModel.addPlayer(new Player("P2", new Color(20,20,20), 1500, false));
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.startJournal(name);
+        for (int i = 0; i < 300; i++) {
+            boardModel.operateCommand(BoardModel.Commands.roll);
+            boardModel.operateCommand(BoardModel.Commands.purchaseProperty);
+            for (Property property : boardModel.getCurrentPlayer().getControlledProperty()) {
+                boardModel.purchaseHouseOrHotel(property);
+            }
+            boardModel.operateCommand(BoardModel.Commands.passTurn);
+        }
+        boardModel.stopJournal();
+
+        BoardModel recoveredBoardModel = new BoardModel("board.xml");
+        assertTrue(recoveredBoardModel.recoverFromJournal(name));
+        assertEquals(boardModel.toXML(), recoveredBoardModel.toXML());
+        recoveredBoardModel.stopJournal();
+    }
+
+    // A torn record at the end of the journal is ignored, the game is rebuilt up to the record before it
+    @Test
+    public void testTornJournal() throws IOException {
+        String name = newJournalName();
+        BoardModel boardModel = newGame();
+        boardModel.startJournal(name, 0);
+        boardModel.playScheduledTurns(100);
+        boardModel.stopJournal();
+        File journalFile = new File(name + CommandJournal.JOURNAL_EXTENSION);
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        BoardModel recoveredBoardModel = new BoardModel("board.xml");
+        int commandsReplayed = CommandJournal.replay(name, recoveredBoardModel, Integer.MAX_VALUE);
+        assertTrue(commandsReplayed > 0);
+        assertEquals(recoveredBoardModel.computeStateHash(), recoveredBoardModel.getStateHash());
+        recoveredBoardModel.playScheduledTurns(10);
+    }
+
+    // A journal left from an older snapshot is not replayed
+    @Test
+    public void testStaleJournal() throws IOException {
+        String name = newJournalName();
+        BoardModel boardModel = newGame();
+        boardModel.startJournal(name, 0);
+        boardModel.playScheduledTurns(50);
+        boardModel.stopJournal();
+        byte[] journal = Files.readAllBytes(new File(name + CommandJournal.JOURNAL_EXTENSION).toPath());
+        boardModel.startJournal(name, 0);
+        boardModel.stopJournal();
+        Files.write(new File(name + CommandJournal.JOURNAL_EXTENSION).toPath(), journal);
+
+        BoardModel recoveredBoardModel = new BoardModel("board.xml");
+        assertEquals(0, CommandJournal.replay(name, recoveredBoardModel, Integer.MAX_VALUE));
+        assertEquals(boardModel.toXML(), recoveredBoardModel.toXML());
+    }
+
+    // A replay can stop after any number of commands
+    @Test
+    public void testReplaySteps() throws IOException {
+        String name = newJournalName();
+        BoardModel boardModel = newGame();
+        String startXML = boardModel.toXML();
+        boardModel.startJournal(name, 0);
+        boardModel.playScheduledTurns(30);
+        boardModel.stopJournal();
+
+        BoardModel replayedBoardModel = new BoardModel("board.xml");
+        assertEquals(0, CommandJournal.replay(name, replayedBoardModel, 0));
+        assertEquals(startXML, replayedBoardModel.toXML());
+        assertEquals(10, CommandJournal.replay(name, replayedBoardModel, 10));
+        assertNotEquals(startXML, replayedBoardModel.toXML());
+    }
+
+    // Only a journal of a game that is not over is offered for recovery
+    @Test
+    public void testHasUnfinishedGame() throws IOException {
+        String name = newJournalName();
+        assertFalse(CommandJournal.hasUnfinishedGame(name));
+        BoardModel boardModel = newGame();
+        boardModel.startJournal(name, 0);
+        boardModel.playScheduledTurns(30);
+        boardModel.stopJournal();
+        assertTrue(CommandJournal.hasUnfinishedGame(name));
+
+        boardModel.startJournal(name, 0);
+        boardModel.setMaxTurns(boardModel.getTurnCount() + 10);
+        boardModel.playScheduledTurns(20);
+        boardModel.stopJournal();
+        assertTrue(boardModel.isGameOver());
+        assertFalse(CommandJournal.hasUnfinishedGame(name));
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class ExpectedRentTable, the rent a square is expected to earn per turn of an opponent at every rent level:
+ * the number of times a player lands on it per turn (LandingProbabilities) times its rent (RentTable).
+ * incomes stores the income of square s at level l at index s * RentTable.NUM_LEVELS + l, and buildReturns the
+ * extra income per turn of one more house (or the hotel) on square s at level l for each unit of money spent,
+ * so the decisions of the ExpectedValueAIStrategy are table lookups.
+ * Tables are computed once per board definition and cached, see forBoard(Board).
+ */
+public class ExpectedRentTable {
+    private static final ConcurrentHashMap<String, ExpectedRentTable> cache = new ConcurrentHashMap<>();
+
+    private final double[] landingsPerTurn;
+    private final double[] incomes;
+    private final double[] buildReturns;
+
+    /**
+     * Returns the expected rents of a Board, computed the first time they are asked for a board file
+     * and shared after that.
+     * @param board Board to get the expected rents of
+     * @return ExpectedRentTable of the board
+     */
+    public static ExpectedRentTable forBoard(Board board){
+        return cache.computeIfAbsent(board.getUserInputSource(), key -> new ExpectedRentTable(board));
+    }
+
+    /**
+     * ExpectedRentTable Constructor, computes the expected rent of every square at every rent level.
+     * @param board Board to compute the expected rents of
+     */
+    ExpectedRentTable(Board board){
+        LandingProbabilities landingProbabilities = LandingProbabilities.forBoard(board);
+        RentTable rentTable = board.getRentTable();
+        int numSquares = board.getPropertyArrayList().size();
+        this.landingsPerTurn = new double[numSquares];
+        this.incomes = new double[numSquares * RentTable.NUM_LEVELS];
+        this.buildReturns = new double[numSquares * RentTable.NUM_LEVELS];
+        for (int square = 0; square < numSquares; square++) {
+            landingsPerTurn[square] = landingProbabilities.getLandingsPerTurn(square);
+            for (int level = 0; level < RentTable.NUM_LEVELS; level++) {
+                incomes[square * RentTable.NUM_LEVELS + level] = landingsPerTurn[square] * rentTable.getRent(square, level);
+            }
+            int housePrice = board.getProperty(square).getHousePrice();
+            for (int level = 0; level < RentTable.NUM_LEVELS - 1; level++) {
+                if(housePrice > 0){
+                    double extraIncome = incomes[square * RentTable.NUM_LEVELS + level + 1] - incomes[square * RentTable.NUM_LEVELS + level];
+                    buildReturns[square * RentTable.NUM_LEVELS + level] = extraIncome / housePrice;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the expected number of times a player lands on a square during one of its turns.
+     * @param square location of the square
+     */
+    public double getLandingsPerTurn(int square){return landingsPerTurn[square];}
+
+    /**
+     * Returns the rent a square is expected to earn per turn of an opponent.
+     * @param square location of the square
+     * @param level rent level, between 0 and RentTable.NUM_LEVELS - 1
+     */
+    public double getIncome(int square, int level){return incomes[square * RentTable.NUM_LEVELS + level];}
+
+    /**
+     * Returns the extra expected income per turn of an opponent of building on a square at a rent level,
+     * per unit of money spent, 0 at the last level.
+     * @param square location of the square
+     * @param level rent level before building, between 0 and RentTable.NUM_LEVELS - 1
+     */
+    public double getBuildReturn(int square, int level){return buildReturns[square * RentTable.NUM_LEVELS + level];}
+}
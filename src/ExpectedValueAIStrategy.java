@@ -0,0 +1,126 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class ExpectedValueAIStrategy, an AIStrategy that ranks purchases and houses by the rent they are expected to earn,
+ * from the ExpectedRentTable of the board (landing frequency times rent at every rent level).
+ * The player keeps a cash reserve against the rent it is expected to owe: MIN_RESERVE plus RESERVE_TURNS turns
+ * of the expected rent of the properties of its opponents, and never less than their highest rent.
+ * Only the properties counted by BoardModel.getNumPropertiesLeft() are bought (not the white squares).
+ * A property is bought if the reserve is left after paying for it. A property that completes a color set,
+ * or that an opponent needs to complete one, is bought as long as MIN_RESERVE is left.
+ * Houses are bought one at a time, each time on the square of a complete color set with the best extra income
+ * per unit of money spent that the even build rule allows, while the reserve is left.
+ * The strategy keeps the houses it chooses in housesToBuild and the rent levels it simulates in levels,
+ * reused by every decision, so each AIPlayer has its own ExpectedValueAIStrategy.
+ */
+public class ExpectedValueAIStrategy implements AIStrategy {
+    private static final int MIN_RESERVE = 300;
+    private static final int RESERVE_TURNS = 8;
+    private static final int HOTEL = RentTable.NUM_LEVELS - 1;
+    private static final Color NON_PURCHASABLE_COLOR = new Color(255, 255, 255);
+
+    private final ArrayList<Property> housesToBuild = new ArrayList<>();
+    private final int[] levels = new int[64];
+
+    @Override
+    public boolean buyProperty(AIPlayer player, Property property) {
+        int square = property.getLocation();
+        // white squares are not counted in the properties left to buy, buying one would stop the game from ending
+        if(!GameState.isPurchasable(square) || property.getColor().equals(NON_PURCHASABLE_COLOR)
+                || (property.getOwner() != Player.BANK)){
+            return false;
+        }
+        int balanceAfter = player.getBalance() - property.getPrice();
+        if(balanceAfter < MIN_RESERVE){
+            return false;
+        }
+        ColorSets colorSets = player.getBoard().getColorSets();
+        long bit = 1L << square;
+        boolean completesColorSet = colorSets.getCompletedColorSet(player.getOwnedSquares() | bit, square) != 0;
+        boolean blocksColorSet = false;
+        for (Player opponent : player.getBoardModel().players) {
+            if((opponent != player) && !opponent.getBankruptStatus()
+                    && (colorSets.getCompletedColorSet(opponent.getOwnedSquares() | bit, square) != 0)){
+                blocksColorSet = true;
+            }
+        }
+        return completesColorSet || blocksColorSet || (balanceAfter >= getReserve(player));
+    }
+
+    @Override
+    public List<Property> chooseHousesToBuild(AIPlayer player) {
+        housesToBuild.clear();
+        long completeColorSets = player.getCompleteColorSets();
+        if(completeColorSets == 0){
+            return housesToBuild;
+        }
+        Board board = player.getBoard();
+        ColorSets colorSets = board.getColorSets();
+        ExpectedRentTable expectedRents = ExpectedRentTable.forBoard(board);
+        for (long squares = completeColorSets; squares != 0; squares &= squares - 1) {
+            int square = Long.numberOfTrailingZeros(squares);
+            levels[square] = board.getProperty(square).getRentLevel();
+        }
+        int moneyToSpend = player.getBalance() - getReserve(player);
+        while(true){
+            int bestSquare = -1;
+            double bestReturn = 0;
+            for (long squares = completeColorSets; squares != 0; squares &= squares - 1) {
+                int square = Long.numberOfTrailingZeros(squares);
+                Property property = board.getProperty(square);
+                if((levels[square] == HOTEL) || (property.getHousePrice() > moneyToSpend)
+                        || !isEvenBuild(colorSets.getColorSetMask(square), levels[square])){
+                    continue;
+                }
+                double buildReturn = expectedRents.getBuildReturn(square, levels[square]);
+                if(buildReturn > bestReturn){
+                    bestReturn = buildReturn;
+                    bestSquare = square;
+                }
+            }
+            if(bestSquare < 0){
+                return housesToBuild;
+            }
+            Property property = board.getProperty(bestSquare);
+            housesToBuild.add(property);
+            levels[bestSquare]++;
+            moneyToSpend -= property.getHousePrice();
+        }
+    }
+
+    /**
+     * Returns true if every square of a color set has at least the rent level of the square to build on,
+     * in the rent levels simulated by the current decision.
+     */
+    private boolean isEvenBuild(long colorSetMask, int level){
+        for (long squares = colorSetMask; squares != 0; squares &= squares - 1) {
+            if(levels[Long.numberOfTrailingZeros(squares)] < level){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cash the player keeps against the rent it is expected to owe to its opponents.
+     */
+    private int getReserve(AIPlayer player){
+        ExpectedRentTable expectedRents = ExpectedRentTable.forBoard(player.getBoard());
+        double rentPerTurn = 0;
+        int highestRent = 0;
+        for (Player opponent : player.getBoardModel().players) {
+            if((opponent == player) || opponent.getBankruptStatus()){
+                continue;
+            }
+            for (long squares = opponent.getOwnedSquares(); squares != 0; squares &= squares - 1) {
+                int square = Long.numberOfTrailingZeros(squares);
+                int rent = player.getBoard().getProperty(square).getRent();
+                rentPerTurn += expectedRents.getLandingsPerTurn(square) * rent;
+                highestRent = Math.max(highestRent, rent);
+            }
+        }
+        return Math.max(MIN_RESERVE + (int)(RESERVE_TURNS * rentPerTurn), highestRent);
+    }
+}
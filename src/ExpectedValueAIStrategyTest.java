@@ -0,0 +1,31 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+
+public class ExpectedValueAIStrategyTest {
+
+    // The expected income of a square is its landings per turn times its rent, at every rent level
+    @Test
+    public void testExpectedRentTable(){
+        Board board = new BoardModel("board.xml").getBoard();
+        ExpectedRentTable expectedRents = ExpectedRentTable.forBoard(board);
+        LandingProbabilities landingProbabilities = LandingProbabilities.forBoard(board);
+        for (int level = 0; level < RentTable.NUM_LEVELS; level++) {
+            assertEquals(landingProbabilities.getLandingsPerTurn(24) * board.getRentTable().getRent(24, level), expectedRents.getIncome(24, level), 1e-9);
+        }
+        double extraIncome = expectedRents.getIncome(24, 1) - expectedRents.getIncome(24, 0);
+        assertEquals(extraIncome / board.getProperty(24).getHousePrice(), expectedRents.getBuildReturn(24, 0), 1e-12);
+        assertEquals(0.0, expectedRents.getBuildReturn(24, RentTable.NUM_LEVELS - 1), 0.0);
+        assertSame(expectedRents, ExpectedRentTable.forBoard(new BoardModel("board.xml").getBoard()));
+    }
+
+    // The expected value AI wins most games against the heuristic AI, in both seats
+    @Test
+    public void testBeatsHeuristic() throws InterruptedException {
+        TournamentResults results = new TournamentRunner("board.xml", 2, 400, 2, 42, new String[]{"expected", "heuristic"}).run();
+        TournamentResults swappedResults = new TournamentRunner("board.xml", 2, 400, 2, 42, new String[]{"heuristic", "expected"}).run();
+        assertTrue(results.getWins(0) > results.getWins(1));
+        assertTrue(swappedResults.getWins(1) > swappedResults.getWins(0));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Interface GameEventListener, the events BoardModel publishes while the game is played.
+ * BoardView is the graphical implementation of this interface, NullGameEventListener is the
+ * implementation used when the game runs without a GUI (for example AI only simulations).
+ * CoalescingGameEventListener gives the events of AI turns played on a background thread to the BoardView,
+ * one update per AI step.
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when the first two lines of the event log should change
+     * @param eventText text for the first line
+     * @param eventText2 text for the second line
+     */
+    void setEventLabelText(String eventText, String eventText2);
+
+    /**
+     * Called when the third line of the event log should change
+     * @param eventText text for the third line
+     */
+    void setEventLabel3Text(String eventText);
+
+    /**
+     * Called when a player's icon is shown or hidden on a square of the board
+     * @param playerIndex index of the player in the players list of the BoardModel
+     * @param position location of the square on the board
+     * @param visible true to show the icon, false to hide it
+     */
+    void setPlayerIconVisibility(int playerIndex, int position, Boolean visible);
+
+    /**
+     * Called when the number of houses or hotels on a property changed
+     * @param propertyLocation location of the property on the board
+     */
+    void updateHousesIcons(Integer propertyLocation);
+
+    /**
+     * Called when the houses and hotels of many properties may have changed
+     */
+    void updateAllHousesIcons();
+
+    /**
+     * Called when the status of the players (balance, location, properties...) should be refreshed
+     * @param numOfPlayers number of players in the game
+     */
+    void updateAllPlayersStatus(int numOfPlayers);
+
+    /**
+     * Called when the current player gains or loses the ability to buy houses and hotels
+     * @param visible true if the current player owns a color set
+     */
+    void setPurchaseHouseButtonVisibility(Boolean visible);
+
+    /**
+     * Called when the properties of the board changed, for example after a new board is loaded
+     */
+    void setAllPropertys();
+
+    /**
+     * Called once a saved game has been loaded into the BoardModel
+     * @param numOfPlayers number of players in the loaded game
+     */
+    void gameLoaded(int numOfPlayers);
+
+    /**
+     * Called when the game is over and the results should be announced
+     */
+    void resultsMessageWindow();
+
+    /**
+     * Called after each step of an AI player (a roll and its decisions, or the end of its turn),
+     * a listener may show all the events of the step at once
+     */
+    void aiStepFinished();
+}
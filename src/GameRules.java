@@ -0,0 +1,573 @@
+import java.awt.*;
+
+/**
+ * Class GameRules, the rules of the game, written once for the two representations of a game:
+ * BoardModel (Player and Property objects, with events, GUI and journal) and GameState (primitive arrays, for simulations).
+ * The rules read and change the state through the abstract methods below, with players given by their index
+ * in the players list (getNumPlayers() for a current player that is not in the list yet) and squares by their location.
+ * BANK is the owner of a square no player owns, the rent level of a square (getHouses) is its number of houses,
+ * or HOTEL with a hotel.
+ * The protected methods that do nothing by default are called when something happens in the game,
+ * BoardModel overrides them to publish its events.
+ */
+public abstract class GameRules {
+    public static final byte BANK = -1;
+    public static final byte HOTEL = 5;
+    protected static final int NUM_SQUARES = 40;
+    private static final int NUMBER_OF_SIDES_ON_DICE = 6;
+    private static final int GO_TO_JAIL_POSITION = 30;
+    private static final int JAIL_POSITION = 10;
+    private static final int PASSING_GO_AMOUNT = 200;
+    private static final int JAIL_FEE = 50;
+    private static final int MAX_TURNS_IN_JAIL = 3;
+    private static final int WINNING_BALANCE = 3000;
+    private static final int TAX_LOCATION_1 = 4;
+    private static final int TAX_LOCATION_2 = 38;
+    private static final int[] NON_PURCHASABLE_LOCATIONS = {0,2,4,7,10,17,20,22,30,33,36,38};
+    private static final int[] NON_HOUSES_LOCATIONS = {5,12,15,25,28,35};
+    private static final Color RAILROAD_COLOR = new Color(102,98,95);
+
+    /**
+     * Reasons a purchase of a property or of a house is refused, see purchaseRefused().
+     */
+    public enum PurchaseRefusal {notPurchasable, ownedByPlayer, ownedByOther, notOwned, notEnoughMoney,
+        noHouses, noColorSet, unevenHouses, hasHotel}
+
+    /**
+     * The roll command without the checks done after every command (see endCommand()): rolls for the current player,
+     * pays rent, handles Jail and passes the turn when the player stays in Jail.
+     * @param random source of the dice
+     */
+    protected void playRollCommand(RandomSource random){
+        int player = getPlayerToPlay();
+        if(getNextRoll() && !isInJail(player)){
+            setNextRoll(roll(random));
+            int square = getPosition(player);
+            //if current player lands on a property it does not own, pay rent (which will pay if owner is not bank or is a tax property)
+            if(getOwner(square) != player){
+                payRent(player, square);
+            }
+        }
+        else{
+            cannotRollAgain(player);
+        }
+        if(isInJail(player)){
+            boolean isDouble = roll(random);
+            if(isDouble && (getTurnsInJail(player) != 0)){
+                setInJail(player, false);
+                setTurnsInJail(player, 0);
+                releasedFromJail(player);
+            }
+            else{
+                if(getTurnsInJail(player) == MAX_TURNS_IN_JAIL){
+                    removeFromBalance(player, JAIL_FEE); //Get out of Jail fee for not rolling a double after 3 turns.
+                    setInJail(player, false);
+                    setTurnsInJail(player, 0);
+                    paidJailFee(player, JAIL_FEE);
+                }
+                else if(getTurnsInJail(player) != 0){
+                    stayedInJail(player);
+                }
+                setTurnsInJail(player, getTurnsInJail(player) + 1); //add 1 to time in jail for player.
+                passPlayerTurn();
+            }
+        }
+    }
+
+    /**
+     * The pass turn command without the checks done after every command (see endCommand()):
+     * passes the turn if the current player does not have to roll again.
+     */
+    protected void playPassTurnCommand(){
+        if(getNextRoll()){
+            mustRollAgain(getPlayerToPlay());
+        }
+        else{
+            passPlayerTurn();
+        }
+    }
+
+    /**
+     * Checks done after every command: a bankrupt current player passes its turn, then the game ends if it has a winner.
+     */
+    protected void endCommand(){
+        int player = getPlayerToPlay();
+        if(isBankrupt(player)){
+            wentBankrupt(player);
+            passPlayerTurn();
+        }
+        if(!isGameOver() && gameHasEnded()){
+            endGame();
+        }
+    }
+
+    /**
+     * Rolls 2 dices with integer values between 1 and 6.
+     * If the current player is not in jail, its position on the board is updated according to total roll value:
+     * passing GO pays PASSING_GO_AMOUNT, landing on Go To Jail or a third double in a row sends it to Jail.
+     * @param random source of the dice
+     * @return true if both dices are the same value, otherwise false.
+     */
+    protected boolean roll(RandomSource random){
+        int player = getPlayerToPlay();
+        int roll1 = random.nextInt(NUMBER_OF_SIDES_ON_DICE) + 1;
+        int roll2 = random.nextInt(NUMBER_OF_SIDES_ON_DICE) + 1;
+        if(!isInJail(player)){
+            if(roll1 == roll2){
+                setNumOfDoubleRolls(player, getNumOfDoubleRolls(player) + 1);
+            }
+            int nextPosition = getPosition(player) + roll1 + roll2;
+            if((nextPosition == GO_TO_JAIL_POSITION) || (getNumOfDoubleRolls(player) == 3)){
+                //Send player to Jail
+                setNumOfDoubleRolls(player, 0);
+                setTurnsInJail(player, 0);
+                setInJail(player, true);
+                setPosition(player, JAIL_POSITION);
+                sentToJail(player);
+            }
+            else if(nextPosition >= NUM_SQUARES){ // if player passes Go
+                setPosition(player, nextPosition - NUM_SQUARES);
+                addToBalance(player, PASSING_GO_AMOUNT);
+                passedGo(player);
+            }
+            else{
+                setPosition(player, nextPosition);
+            }
+        }
+        rolled(player, roll1, roll2);
+        return roll1 == roll2;
+    }
+
+    /**
+     * The player pays the rent of a square to its owner, or the tax to the bank. Other squares of the bank are free.
+     * @param player index of the paying player
+     * @param square location of the square landed on
+     */
+    protected void payRent(int player, int square){
+        int owner = getOwner(square);
+        if((owner != BANK) || (square == TAX_LOCATION_1) || (square == TAX_LOCATION_2)){
+            int rent = getRent(square);
+            removeFromBalance(player, rent);
+            if(owner != BANK){
+                addToBalance(owner, rent);
+            }
+            rentPaid(player, square, rent);
+        }
+    }
+
+    /**
+     * Returns the rent of a square with its current owner and houses, looked up in the RentTable of the board.
+     * @param square location of the square
+     */
+    public int getRent(int square){
+        return getBoard().getRentTable().getRent(square, getRentLevel(square));
+    }
+
+    /**
+     * Returns true if the square is a property that can be purchased (not GO, Jail, a tax, a card square...).
+     * @param square location of the square
+     */
+    public static boolean isPurchasable(int square){
+        for (int i = 0; i < NON_PURCHASABLE_LOCATIONS.length; i++) {
+            if(square == NON_PURCHASABLE_LOCATIONS[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Purchases the property the current player is on, if the bank owns it and the player can pay its price.
+     * After each purchase, decrements numPropertiesLeft.
+     * @return true if the property was purchased
+     */
+    public boolean purchaseProperty(){
+        int player = getPlayerToPlay();
+        int square = getPosition(player);
+        Property property = getBoard().getProperty(square);
+        //Check property is not a non-Purchasable property location
+        if(!isPurchasable(square)){
+            purchaseRefused(PurchaseRefusal.notPurchasable, square);
+            return false;
+        }
+        if(getOwner(square) == player){
+            purchaseRefused(PurchaseRefusal.ownedByPlayer, square);
+            return false;
+        }
+        if(getOwner(square) != BANK){
+            purchaseRefused(PurchaseRefusal.ownedByOther, square);
+            return false;
+        }
+        if(getBalance(player) < property.getPrice()){
+            purchaseRefused(PurchaseRefusal.notEnoughMoney, square);
+            return false;
+        }
+        removeFromBalance(player, property.getPrice());
+        setOwner(square, player);
+        setNumPropertiesLeft(getNumPropertiesLeft() - 1);
+        //If purchased property is railroad, update ownsXtrains for current player.
+        if(property.getColor().equals(RAILROAD_COLOR)){
+            setOwnsXtrains(player, getOwnsXtrains(player) + 1);
+        }
+        propertyPurchased(square);
+        return true;
+    }
+
+    /**
+     * The current player buys a house on a square, or a hotel after 4 houses. The player must own the color set
+     * of the square, and every property of the set must have at least as many houses (or a hotel).
+     * @param square location of the property
+     * @return true if a house or hotel was purchased
+     */
+    public boolean purchaseHouseOrHotel(int square){
+        int player = getPlayerToPlay();
+        Property property = getBoard().getProperty(square);
+        //Check if property is Not a nonHousesProperty
+        for (int i = 0; i < NON_HOUSES_LOCATIONS.length; i++) {
+            if(square == NON_HOUSES_LOCATIONS[i]){
+                purchaseRefused(PurchaseRefusal.noHouses, square);
+                return false;
+            }
+        }
+        int level = getHouses(square);
+        PurchaseRefusal refusal = null;
+        if(getOwner(square) != player){
+            refusal = PurchaseRefusal.notOwned;
+        }
+        else if(!getBoard().getColorSets().ownsColorSet(getOwnedSquares(player), square)){
+            refusal = PurchaseRefusal.noColorSet;
+        }
+        else if(!isEvenBuild(square, (level == HOTEL) ? 0 : level)){
+            refusal = PurchaseRefusal.unevenHouses;
+        }
+        else if(getBalance(player) < property.getHousePrice()){
+            refusal = PurchaseRefusal.notEnoughMoney;
+        }
+        else if(level == HOTEL){
+            refusal = PurchaseRefusal.hasHotel;
+        }
+        if(refusal != null){
+            purchaseRefused(refusal, square);
+            return false;
+        }
+        removeFromBalance(player, property.getHousePrice());
+        setHouses(square, level + 1); // 4 houses + 1 is a HOTEL
+        housePurchased(square);
+        return true;
+    }
+
+    /**
+     * Returns true if every square of the color set of a square has a rent level of at least level,
+     * so a house can be built on the square without breaking the even build rule.
+     * @param square location of the square to build on
+     * @param level number of houses on the square
+     */
+    protected boolean isEvenBuild(int square, int level){
+        for (long squares = getBoard().getColorSets().getColorSetMask(square); squares != 0; squares &= squares - 1) {
+            // the rent level of a hotel (HOTEL) is above any number of houses
+            if(getHouses(Long.numberOfTrailingZeros(squares)) < level){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Passes player's turn. Ends the current player's turn and passes it onto the next player.
+     * Bankrupt players are skipped. The game ends instead if it has a winner.
+     */
+    public void passPlayerTurn(){
+        if(isGameOver()){
+            return;
+        }
+        //Reset number of double rolls of current player
+        int player = getPlayerToPlay();
+        setNumOfDoubleRolls(player, 0);
+        if(gameHasEnded()){
+            endGame();
+            return;
+        }
+        countTurn();
+        //select the next player, skipping bankrupt players.
+        //if current player is last player in list, next player is first player in players list.
+        int numPlayers = getNumPlayers();
+        int playersChecked = 0;
+        do {
+            player = (player < (numPlayers - 1)) ? (player + 1) : 0;
+            playersChecked++;
+        } while (isBankrupt(player) && (playersChecked < numPlayers));
+        setCurrentPlayerIndex(player);
+        setNextRoll(true);
+        turnPassed();
+    }
+
+    /**
+     * Returns true if the game has ended: a single player is left (a game still being setup with a single player
+     * has not ended), or every property is sold and the current player reached the winning balance,
+     * or the game is stopped by endsByNetWorth().
+     */
+    public boolean gameHasEnded(){
+        int numPlayers = getNumPlayers();
+        int numActivePlayers = 0;
+        int lastActivePlayer = BANK;
+        for (int i = 0; i < numPlayers; i++) {
+            if(!isBankrupt(i)){
+                numActivePlayers++;
+                lastActivePlayer = i;
+            }
+        }
+        if((numPlayers > 1) && (numActivePlayers == 1)){
+            lastPlayerStanding(lastActivePlayer);
+            return true;
+        }
+        // if there are no properties left to purchase, the first player to reach the winning balance wins
+        int player = getPlayerToPlay();
+        if((getNumPropertiesLeft() == 0) && (getBalance(player) >= WINNING_BALANCE)){
+            winningBalanceReached(player);
+            return true;
+        }
+        return endsByNetWorth();
+    }
+
+    /**
+     * Returns true if the game is stopped before it has a winner, the players are then ranked by net worth.
+     * Games are never stopped by default.
+     */
+    protected boolean endsByNetWorth(){return false;}
+
+    /**
+     * Called when the roll command is played by a player that can not roll again (or is in Jail)
+     */
+    protected void cannotRollAgain(int player){}
+
+    /**
+     * Called when the pass turn command is played by a player that has to roll again
+     */
+    protected void mustRollAgain(int player){}
+
+    /**
+     * Called at the end of every roll, after the player moved
+     */
+    protected void rolled(int player, int roll1, int roll2){}
+
+    /**
+     * Called when a player is sent to Jail by a roll
+     */
+    protected void sentToJail(int player){}
+
+    /**
+     * Called when a player passed GO and was paid PASSING_GO_AMOUNT
+     */
+    protected void passedGo(int player){}
+
+    /**
+     * Called when a player paid the rent of a square, or a tax
+     */
+    protected void rentPaid(int player, int square, int rent){}
+
+    /**
+     * Called when a player in Jail rolled a double and is out of Jail
+     */
+    protected void releasedFromJail(int player){}
+
+    /**
+     * Called when a player paid the fee to get out of Jail after 3 turns without a double
+     */
+    protected void paidJailFee(int player, int fee){}
+
+    /**
+     * Called when a player in Jail did not roll a double
+     */
+    protected void stayedInJail(int player){}
+
+    /**
+     * Called when the current player is bankrupt at the end of a command, before its turn is passed
+     */
+    protected void wentBankrupt(int player){}
+
+    /**
+     * Called when the current player can not purchase a property, or a house on a property
+     */
+    protected void purchaseRefused(PurchaseRefusal refusal, int square){}
+
+    /**
+     * Called when the current player purchased the property of a square
+     */
+    protected void propertyPurchased(int square){}
+
+    /**
+     * Called when the current player purchased a house or a hotel on a square
+     */
+    protected void housePurchased(int square){}
+
+    /**
+     * Called once the turn is passed to the next player
+     */
+    protected void turnPassed(){}
+
+    /**
+     * Called when the game has ended because a single player is left
+     */
+    protected abstract void lastPlayerStanding(int player);
+
+    /**
+     * Called when the game has ended because the current player reached the winning balance
+     */
+    protected abstract void winningBalanceReached(int player);
+
+    /**
+     * Ends the game, no more commands are played after it.
+     */
+    protected abstract void endGame();
+
+    /**
+     * Counts a turn, called when the turn is passed before the next player is selected.
+     */
+    protected abstract void countTurn();
+
+    /**
+     * Getter method for the Board of the game, only used for the fixed data of the squares
+     */
+    public abstract Board getBoard();
+
+    /**
+     * Getter method for the number of players
+     */
+    public abstract int getNumPlayers();
+
+    /**
+     * Getter method for the index of the current player, the player the commands are played for
+     */
+    protected abstract int getPlayerToPlay();
+
+    /**
+     * Setter method for the index of the current player
+     */
+    protected abstract void setCurrentPlayerIndex(int player);
+
+    /**
+     * Getter method for nextRoll, true if the current player has to roll again
+     */
+    public abstract boolean getNextRoll();
+
+    /**
+     * Setter method for nextRoll
+     */
+    public abstract void setNextRoll(boolean nextRoll);
+
+    /**
+     * Getter method for the number of purchasable properties left
+     */
+    public abstract int getNumPropertiesLeft();
+
+    /**
+     * Setter method for the number of purchasable properties left
+     */
+    public abstract void setNumPropertiesLeft(int numPropertiesLeft);
+
+    /**
+     * Returns true once the game has ended
+     */
+    public abstract boolean isGameOver();
+
+    /**
+     * Getter method for the balance of a player
+     */
+    protected abstract int getBalance(int player);
+
+    /**
+     * Adds an amount to the balance of a player
+     */
+    protected abstract void addToBalance(int player, int amount);
+
+    /**
+     * Removes an amount from the balance of a player. If the amount is greater than its balance, the player goes
+     * bankrupt: its balance is 0 and its squares go back to the bank, without houses.
+     */
+    protected abstract void removeFromBalance(int player, int amount);
+
+    /**
+     * Getter method for the position of a player
+     */
+    protected abstract int getPosition(int player);
+
+    /**
+     * Setter method for the position of a player
+     */
+    protected abstract void setPosition(int player, int position);
+
+    /**
+     * Returns true if the player is in Jail
+     */
+    protected abstract boolean isInJail(int player);
+
+    /**
+     * Setter method for the Jail status of a player
+     */
+    protected abstract void setInJail(int player, boolean inJail);
+
+    /**
+     * Getter method for the number of turns a player has been in Jail
+     */
+    protected abstract int getTurnsInJail(int player);
+
+    /**
+     * Setter method for the number of turns a player has been in Jail
+     */
+    protected abstract void setTurnsInJail(int player, int turnsInJail);
+
+    /**
+     * Getter method for the number of doubles a player rolled in a row
+     */
+    protected abstract int getNumOfDoubleRolls(int player);
+
+    /**
+     * Setter method for the number of doubles a player rolled in a row
+     */
+    protected abstract void setNumOfDoubleRolls(int player, int numOfDoubleRolls);
+
+    /**
+     * Getter method for the number of railroads a player owns
+     */
+    protected abstract int getOwnsXtrains(int player);
+
+    /**
+     * Setter method for the number of railroads a player owns
+     */
+    protected abstract void setOwnsXtrains(int player, int ownsXtrains);
+
+    /**
+     * Returns true if the player is bankrupt
+     */
+    protected abstract boolean isBankrupt(int player);
+
+    /**
+     * Getter method for the mask of the squares a player owns (bit i is location i)
+     */
+    protected abstract long getOwnedSquares(int player);
+
+    /**
+     * Getter method for the owner of a square, BANK if no player owns it
+     */
+    protected abstract int getOwner(int square);
+
+    /**
+     * Setter method for the owner of a square
+     */
+    protected abstract void setOwner(int square, int player);
+
+    /**
+     * Getter method for the houses on a square, HOTEL if it has a hotel
+     */
+    protected abstract int getHouses(int square);
+
+    /**
+     * Setter method for the houses on a square, HOTEL for a hotel
+     */
+    protected abstract void setHouses(int square, int houses);
+
+    /**
+     * Getter method for the rent level of a square in the RentTable: its houses, or the railroads its owner owns
+     */
+    protected abstract int getRentLevel(int square);
+}
@@ -0,0 +1,405 @@
+import java.util.ArrayList;
+
+/**
+ * Class GameState, a compact copy of the state of a game, used to simulate games quickly.
+ * The state is stored in primitive arrays (struct of arrays) instead of Player and Property objects:
+ * balances and positions of the players, turnsInJail, numOfDoubleRolls and ownsXtrains of the players,
+ * and the owner and houses of every square. inJailFlags and bankruptFlags store one bit per player.
+ * ownedSquares stores the mask of the squares each player owns (bit i is location i), like Player.getOwnedSquares().
+ * owners[square] is the index of the owning player, or BANK. houses[square] is the number of houses,
+ * or HOTEL when the square has a hotel.
+ * The Board is only used for the fixed data of the squares (prices, rents, colors) and is shared,
+ * so a 4 player GameState is a few hundred bytes.
+ * The rules (roll, purchaseProperty, purchaseHouseOrHotel, passPlayerTurn, gameHasEnded) are the GameRules
+ * BoardModel plays with, without any events or GUI.
+ */
+public class GameState extends GameRules {
+
+    private final Board board;
+    private final int numPlayers;
+    private final int[] balances;
+    private final byte[] positions;
+    private final byte[] turnsInJail;
+    private final byte[] numOfDoubleRolls;
+    private final byte[] ownsXtrains;
+    private final long[] ownedSquares;
+    private int inJailFlags;
+    private int bankruptFlags;
+    private final byte[] owners;
+    private final byte[] houses;
+    private int currentPlayer;
+    private int numPropertiesLeft;
+    private boolean nextRoll;
+    private int turnCount;
+    private boolean gameOver;
+    private int winner;
+
+    /**
+     * Creates the state of a new game: every player on GO with startingMoney, every square owned by the bank.
+     * @param board Board the game is played on
+     * @param numPlayers number of players
+     * @param startingMoney starting balance of every player
+     */
+    public GameState(Board board, int numPlayers, int startingMoney){
+        this.board = board;
+        this.numPlayers = numPlayers;
+        this.balances = new int[numPlayers];
+        this.positions = new byte[numPlayers];
+        this.turnsInJail = new byte[numPlayers];
+        this.numOfDoubleRolls = new byte[numPlayers];
+        this.ownsXtrains = new byte[numPlayers];
+        this.ownedSquares = new long[numPlayers];
+        this.owners = new byte[NUM_SQUARES];
+        this.houses = new byte[NUM_SQUARES];
+        for (int i = 0; i < numPlayers; i++) {
+            balances[i] = startingMoney;
+        }
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            owners[i] = BANK;
+        }
+        this.currentPlayer = 0;
+        this.numPropertiesLeft = 26;
+        this.nextRoll = true;
+        this.winner = -1;
+    }
+
+    /**
+     * Copy constructor, the copy shares the Board but no state with other.
+     * @param other GameState to copy
+     */
+    public GameState(GameState other){
+        this.board = other.board;
+        this.numPlayers = other.numPlayers;
+        this.balances = other.balances.clone();
+        this.positions = other.positions.clone();
+        this.turnsInJail = other.turnsInJail.clone();
+        this.numOfDoubleRolls = other.numOfDoubleRolls.clone();
+        this.ownsXtrains = other.ownsXtrains.clone();
+        this.ownedSquares = other.ownedSquares.clone();
+        this.inJailFlags = other.inJailFlags;
+        this.bankruptFlags = other.bankruptFlags;
+        this.owners = other.owners.clone();
+        this.houses = other.houses.clone();
+        this.currentPlayer = other.currentPlayer;
+        this.numPropertiesLeft = other.numPropertiesLeft;
+        this.nextRoll = other.nextRoll;
+        this.turnCount = other.turnCount;
+        this.gameOver = other.gameOver;
+        this.winner = other.winner;
+    }
+
+    /**
+     * Returns a copy of this state.
+     */
+    public GameState copy(){return new GameState(this);}
+
+    /**
+     * Creates the GameState of a BoardModel.
+     * @param boardModel BoardModel to copy the state of
+     * @return GameState of the boardModel
+     */
+    public static GameState fromModel(BoardModel boardModel){
+        ArrayList<Player> players = boardModel.players;
+        Board board = boardModel.getBoard();
+        GameState state = new GameState(board, players.size(), 0);
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            state.balances[i] = player.getBalance();
+            state.positions[i] = (byte) player.getPositon();
+            state.turnsInJail[i] = (byte) player.getTurnsInJail();
+            state.numOfDoubleRolls[i] = (byte) player.getNumOfDoubleRolls();
+            state.ownsXtrains[i] = (byte) player.getOwnsXtrains();
+            if(player.getInJail()){
+                state.inJailFlags |= (1 << i);
+            }
+            if(player.getBankruptStatus()){
+                state.bankruptFlags |= (1 << i);
+            }
+        }
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            Property property = board.getProperty(i);
+            state.owners[i] = (byte) players.indexOf(property.getOwner());
+            if(state.owners[i] != BANK){
+                state.ownedSquares[state.owners[i]] |= (1L << i);
+            }
+            if(property.getNumHotels() == 1){
+                state.houses[i] = HOTEL;
+            }
+            else{
+                state.houses[i] = (byte) property.getNumHouses();
+            }
+        }
+        state.currentPlayer = Math.max(0, boardModel.getCurrentPlayerIndex());
+        state.numPropertiesLeft = boardModel.getNumPropertiesLeft();
+        state.nextRoll = boardModel.getNextRoll();
+        state.turnCount = boardModel.getTurnCount();
+        state.gameOver = boardModel.isGameOver();
+        return state;
+    }
+
+    /**
+     * Copies this state into the Player and Property objects of a BoardModel that has the same players.
+     * @param boardModel BoardModel to update
+     */
+    public void applyTo(BoardModel boardModel){
+        ArrayList<Player> players = boardModel.players;
+        Board board = boardModel.getBoard();
+        for (int i = 0; i < numPlayers; i++) {
+            Player player = players.get(i);
+            player.setBalance(balances[i]);
+            player.setPosition(positions[i]);
+            player.setTurnsInJail(turnsInJail[i]);
+            player.setNumOfDoubleRolls(numOfDoubleRolls[i]);
+            player.setOwnsXtrains(ownsXtrains[i]);
+            player.setInJail(isInJail(i));
+            player.setBankruptStatus(isBankrupt(i));
+        }
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            Property property = board.getProperty(i);
+            property.setOwner((owners[i] == BANK) ? Player.BANK : players.get(owners[i]));
+            property.setNumHotels(houses[i] == HOTEL ? 1 : 0);
+            property.setNumHouses(houses[i] == HOTEL ? 0 : houses[i]);
+        }
+        boardModel.setCurrentPlayer(players.get(currentPlayer));
+        boardModel.setNumPropertiesLeft(numPropertiesLeft);
+        boardModel.setNextRoll(nextRoll);
+        boardModel.setTurnCount(turnCount);
+        boardModel.setGameOver(gameOver);
+        boardModel.resetStateHash();
+    }
+
+    /**
+     * Same as BoardModel.operateCommand(Commands.roll): rolls for the current player, pays rent,
+     * handles Jail and passes the turn when the player stays in Jail or goes bankrupt.
+     * @param random source of the dice
+     */
+    public void rollCommand(RandomSource random){
+        if(gameOver){
+            return;
+        }
+        playRollCommand(random);
+        endCommand();
+    }
+
+    /**
+     * Same as BoardModel.operateCommand(Commands.purchaseProperty): purchaseProperty(), then the game ends if
+     * every property is sold and the current player reached the winning balance.
+     * @return true if the property was purchased
+     */
+    public boolean purchasePropertyCommand(){
+        if(gameOver){
+            return false;
+        }
+        boolean purchased = purchaseProperty();
+        endCommand();
+        return purchased;
+    }
+
+    /**
+     * Same as BoardModel.operateCommand(Commands.passTurn): passes the turn if the current player does not
+     * have to roll again, then the game ends if the next player wins.
+     */
+    public void passTurnCommand(){
+        if(gameOver){
+            return;
+        }
+        playPassTurnCommand();
+        endCommand();
+    }
+
+    @Override
+    protected void lastPlayerStanding(int player){winner = player;}
+
+    @Override
+    protected void winningBalanceReached(int player){winner = player;}
+
+    @Override
+    protected void endGame(){gameOver = true;}
+
+    @Override
+    protected void countTurn(){turnCount++;}
+
+    @Override
+    protected void addToBalance(int player, int amount){balances[player] += amount;}
+
+    @Override
+    protected void removeFromBalance(int player, int amount){
+        if(balances[player] < amount){
+            balances[player] = 0;
+            bankruptFlags |= (1 << player);
+            for (long squares = ownedSquares[player]; squares != 0; squares &= squares - 1) {
+                int square = Long.numberOfTrailingZeros(squares);
+                owners[square] = BANK;
+                houses[square] = 0;
+            }
+            ownedSquares[player] = 0;
+            ownsXtrains[player] = 0;
+        }
+        else{
+            balances[player] -= amount;
+        }
+    }
+
+    @Override
+    protected void setPosition(int player, int position){positions[player] = (byte) position;}
+
+    @Override
+    protected void setInJail(int player, boolean inJail){
+        if(inJail){
+            inJailFlags |= (1 << player);
+        }
+        else{
+            inJailFlags &= ~(1 << player);
+        }
+    }
+
+    @Override
+    protected void setTurnsInJail(int player, int turns){turnsInJail[player] = (byte) turns;}
+
+    @Override
+    protected int getNumOfDoubleRolls(int player){return numOfDoubleRolls[player];}
+
+    @Override
+    protected void setNumOfDoubleRolls(int player, int doubles){numOfDoubleRolls[player] = (byte) doubles;}
+
+    @Override
+    protected void setOwnsXtrains(int player, int trains){ownsXtrains[player] = (byte) trains;}
+
+    @Override
+    protected void setOwner(int square, int player){
+        if(owners[square] != BANK){
+            ownedSquares[owners[square]] &= ~(1L << square);
+        }
+        owners[square] = (byte) player;
+        if(player != BANK){
+            ownedSquares[player] |= (1L << square);
+        }
+    }
+
+    @Override
+    protected void setHouses(int square, int level){houses[square] = (byte) level;}
+
+    @Override
+    protected int getRentLevel(int square){
+        if(board.getRentTable().isRailroad(square)){
+            return (owners[square] == BANK) ? 0 : ownsXtrains[owners[square]];
+        }
+        // houses[square] is the rent level, a hotel is level 5
+        return houses[square];
+    }
+
+    /**
+     * Returns true if the player owns every property of at least one color set (railroads excluded).
+     * @param player index of the player
+     */
+    public boolean hasAColorSet(int player){
+        return board.getColorSets().hasAColorSet(ownedSquares[player]);
+    }
+
+    /**
+     * Returns the net worth of a player: balance plus the price of its properties and houses.
+     * @param player index of the player
+     */
+    public int getNetWorth(int player){
+        if(isBankrupt(player)){
+            return 0;
+        }
+        int netWorth = balances[player];
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            if(owners[i] == player){
+                Property property = board.getProperty(i);
+                netWorth += property.getPrice() + (houses[i] * property.getHousePrice());
+            }
+        }
+        return netWorth;
+    }
+
+    @Override
+    public Board getBoard(){return board;}
+
+    @Override
+    public int getNumPlayers(){return numPlayers;}
+
+    @Override
+    public int getBalance(int player){return balances[player];}
+
+    @Override
+    public int getPosition(int player){return positions[player];}
+
+    @Override
+    public int getTurnsInJail(int player){return turnsInJail[player];}
+
+    @Override
+    public int getOwnsXtrains(int player){return ownsXtrains[player];}
+
+    @Override
+    public long getOwnedSquares(int player){return ownedSquares[player];}
+
+    @Override
+    public boolean isInJail(int player){return (inJailFlags & (1 << player)) != 0;}
+
+    @Override
+    public boolean isBankrupt(int player){return (bankruptFlags & (1 << player)) != 0;}
+
+    @Override
+    public int getOwner(int square){return owners[square];}
+
+    @Override
+    public int getHouses(int square){return houses[square];}
+
+    /**
+     * Getter method for the index of the current player
+     */
+    public int getCurrentPlayerIndex(){return currentPlayer;}
+
+    @Override
+    protected int getPlayerToPlay(){return currentPlayer;}
+
+    /**
+     * Setter method for the index of the current player, to start a game with the first player drawn at random
+     * @param player index of the player
+     */
+    @Override
+    public void setCurrentPlayerIndex(int player){this.currentPlayer = player;}
+
+    @Override
+    public boolean getNextRoll(){return nextRoll;}
+
+    @Override
+    public void setNextRoll(boolean nextRoll){this.nextRoll = nextRoll;}
+
+    @Override
+    public int getNumPropertiesLeft(){return numPropertiesLeft;}
+
+    @Override
+    public void setNumPropertiesLeft(int numPropertiesLeft){this.numPropertiesLeft = numPropertiesLeft;}
+
+    /**
+     * Getter method for the number of turns passed
+     */
+    public int getTurnCount(){return turnCount;}
+
+    @Override
+    public boolean isGameOver(){return gameOver;}
+
+    /**
+     * Returns the index of the winner once the game has ended, -1 if there is none
+     */
+    public int getWinner(){return winner;}
+
+    /**
+     * Computes the hash of this state with the keys of StateHash, equal to BoardModel.getStateHash()
+     * for the game this state was copied from, so both can key the same cache.
+     * @return long hash of this state
+     */
+    public long computeStateHash(){
+        long hash = StateHash.currentPlayerKey(currentPlayer);
+        for (int i = 0; i < numPlayers; i++) {
+            hash ^= StateHash.playerKey(i, positions[i], balances[i], isInJail(i), turnsInJail[i], isBankrupt(i));
+        }
+        for (int i = 0; i < NUM_SQUARES; i++) {
+            hash ^= StateHash.squareKey(i, owners[i], houses[i]);
+        }
+        return hash;
+    }
+}
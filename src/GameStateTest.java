@@ -0,0 +1,102 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.awt.*;
+
+
+
+public class GameStateTest {
+    BoardModel boardModel;
+
+    private BoardModel newBoardModel(long seed, int numPlayers){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(seed));
+        for (int i = 0; i < numPlayers; i++) {
+            boardModel.addPlayer(new Player("P" + (i+1), new Color(10,10,10), 1500, false));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        return boardModel;
+    }
+
+    // A new state has every player on GO with the starting money and every square owned by the bank
+    @Test
+    public void testNewGameState(){
+        GameState state = new GameState(new BoardModel("board.xml").getBoard(), 4, 1500);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1500, state.getBalance(i));
+            assertEquals(0, state.getPosition(i));
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals(GameState.BANK, state.getOwner(i));
+        }
+        assertEquals(26, state.getNumPropertiesLeft());
+    }
+
+    // The same dice give the same game in the GameState and in the BoardModel
+    @Test
+    public void testRulesMatchBoardModel(){
+        boardModel = newBoardModel(7, 3);
+        GameState state = GameState.fromModel(boardModel);
+        RandomSource random = new SeededRandomSource(7);
+        for (int i = 0; i < 2000 && !boardModel.isGameOver(); i++) {
+            if(boardModel.getNextRoll()){
+                boardModel.operateCommand(BoardModel.Commands.roll);
+                state.rollCommand(random);
+                boardModel.purchaseProperty();
+                state.purchaseProperty();
+                for (Property property : boardModel.getCurrentPlayer().getControlledProperty()) {
+                    boardModel.purchaseHouseOrHotel(property);
+                    state.purchaseHouseOrHotel(property.getLocation());
+                }
+            }
+            else{
+                boardModel.passPlayerTurn();
+                state.passPlayerTurn();
+            }
+            assertEquals(boardModel.getCurrentPlayerIndex(), state.getCurrentPlayerIndex());
+            for (int j = 0; j < 3; j++) {
+                assertEquals(boardModel.getPlayer(j).getBalance(), state.getBalance(j));
+                assertEquals(boardModel.getPlayer(j).getPositon(), state.getPosition(j));
+                assertEquals((boolean) boardModel.getPlayer(j).getBankruptStatus(), state.isBankrupt(j));
+            }
+        }
+        assertEquals(boardModel.isGameOver(), state.isGameOver());
+    }
+
+    // A copy does not change when the original is played
+    @Test
+    public void testCopy(){
+        GameState state = new GameState(new BoardModel("board.xml").getBoard(), 2, 1500);
+        GameState copy = state.copy();
+        state.rollCommand(ScriptedRandomSource.ofDice(3, 4));
+        assertEquals(7, state.getPosition(0));
+        assertEquals(0, copy.getPosition(0));
+    }
+
+    // Applying a state to a BoardModel gives back the same state
+    @Test
+    public void testApplyTo(){
+        boardModel = newBoardModel(3, 2);
+        GameState state = GameState.fromModel(boardModel);
+        state.rollCommand(ScriptedRandomSource.ofDice(1, 2));
+        assertTrue(state.purchaseProperty());
+        state.applyTo(boardModel);
+        assertEquals(3, boardModel.getPlayer(0).getPositon());
+        assertEquals(1500 - boardModel.getBoard().getProperty(3).getPrice(), boardModel.getPlayer(0).getBalance());
+        assertSame(boardModel.getPlayer(0), boardModel.getBoard().getProperty(3).getOwner());
+        assertEquals(1, boardModel.getPlayer(0).getControlledProperty().size());
+        assertEquals(25, boardModel.getNumPropertiesLeft());
+    }
+
+    // The turn count and the end of the game are applied back with the rest of the state
+    @Test
+    public void testApplyToTurnCountAndGameOver(){
+        boardModel = newBoardModel(3, 2);
+        boardModel.passPlayerTurn();
+        boardModel.passPlayerTurn();
+        boardModel.operateCommand(BoardModel.Commands.quit);
+        GameState state = GameState.fromModel(boardModel);
+        BoardModel restoredBoardModel = newBoardModel(3, 2);
+        state.applyTo(restoredBoardModel);
+        assertEquals(2, restoredBoardModel.getTurnCount());
+        assertTrue(restoredBoardModel.isGameOver());
+    }
+}
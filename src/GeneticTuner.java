@@ -0,0 +1,310 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Class GeneticTuner, tunes the AIParameters of the HeuristicAIStrategy with a genetic algorithm, without a GUI.
+ * The fitness of a candidate is its score in gamesPerCandidate two player games against the opponents of the generation:
+ * 1 for a win, 0.5 for a draw or an unfinished game, 0 for a loss. The candidate plays first seat in even games
+ * and second seat in odd games, and each pair of games is played against the next opponent in turn.
+ * The opponents are AIParameters.DEFAULT, the ExpectedValueAIStrategy and the best candidates of the last
+ * HALL_OF_FAME_SIZE generations, so a candidate is not only tuned to beat the original thresholds.
+ * Every candidate of a generation plays the same seeded games, so the candidates are compared on the same dice.
+ * Like the TournamentRunner, the games of all candidates are played in parallel on a fixed pool of worker threads,
+ * each worker taking the next game from a shared counter and keeping its own scores.
+ * Each generation keeps the ELITE best candidates and fills the rest of the population with children of
+ * tournament selected parents (uniform crossover, then gaussian mutation of each parameter).
+ * The best candidate of the last generation is saved in AIParameters.FILE_NAME.
+ */
+public class GeneticTuner {
+    private final String boardFileName;
+    private final int populationSize;
+    private final int gamesPerCandidate;
+    private final int numThreads;
+    private final long masterSeed;
+    private final SplittableRandom random;
+
+    private static final int ELITE = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final int HALL_OF_FAME_SIZE = 3;
+    private static final double MUTATION_PROBABILITY = 0.3;
+
+    /**
+     * Standard deviation of a mutation, as a fraction of the range of the parameter.
+     */
+    private static final double MUTATION_SCALE = 0.1;
+
+    /**
+     * Maximum number of turns of a game, longer games end with a net worth ranking.
+     */
+    private static final int MAX_TURNS_PER_GAME = 5000;
+
+    /**
+     * GeneticTuner Constructor
+     * @param boardFileName name of the board file every game is played on
+     * @param populationSize number of candidates of each generation, at least ELITE + 1
+     * @param gamesPerCandidate number of games played by each candidate of each generation
+     * @param numThreads number of worker threads to play the games with
+     * @param masterSeed seed the games and the genetic operators are made from
+     */
+    public GeneticTuner(String boardFileName, int populationSize, int gamesPerCandidate, int numThreads, long masterSeed){
+        if(populationSize <= ELITE){
+            throw new IllegalArgumentException("Population size must be more than " + ELITE + ".");
+        }
+        this.boardFileName = boardFileName;
+        this.populationSize = populationSize;
+        this.gamesPerCandidate = Math.max(1, gamesPerCandidate);
+        this.numThreads = Math.max(1, numThreads);
+        this.masterSeed = masterSeed;
+        this.random = new SplittableRandom(masterSeed);
+    }
+
+    /**
+     * Evolves the population for a number of generations, starting from AIParameters.DEFAULT and mutations of it.
+     * @param generations number of generations to evolve
+     * @return the best AIParameters of the last generation
+     */
+    public AIParameters run(int generations) throws InterruptedException {
+        List<AIParameters> population = new ArrayList<>();
+        population.add(AIParameters.DEFAULT);
+        while(population.size() < populationSize){
+            population.add(mutate(AIParameters.DEFAULT.toArray()));
+        }
+        AIParameters best = AIParameters.DEFAULT;
+        List<AIParameters> hallOfFame = new ArrayList<>();
+        for (int generation = 0; generation < generations; generation++) {
+            long startTime = System.nanoTime();
+            double[] fitness = evaluate(population, newOpponents(hallOfFame), SeededRandomSource.seedForGame(masterSeed, generation));
+            Integer[] ranking = rank(fitness);
+            best = population.get(ranking[0]);
+            hallOfFame.add(best);
+            if(hallOfFame.size() > HALL_OF_FAME_SIZE){
+                hallOfFame.remove(0);
+            }
+            System.out.printf("Generation %d: best fitness %.3f, mean fitness %.3f, %.1f s%n", generation,
+                    fitness[ranking[0]], Arrays.stream(fitness).average().orElse(0), (System.nanoTime() - startTime) / 1e9);
+            System.out.println("    " + best);
+            if(generation < generations - 1){
+                population = nextGeneration(population, fitness, ranking);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the opponents of a generation: AIParameters.DEFAULT, the ExpectedValueAIStrategy, then the best
+     * candidates of the last generations. Each game gets a new strategy, a strategy belongs to a single player.
+     * @param hallOfFame best candidates of the last generations
+     */
+    private static List<Supplier<AIStrategy>> newOpponents(List<AIParameters> hallOfFame){
+        List<Supplier<AIStrategy>> opponents = new ArrayList<>();
+        opponents.add(() -> new HeuristicAIStrategy(AIParameters.DEFAULT));
+        opponents.add(ExpectedValueAIStrategy::new);
+        for (AIParameters parameters : hallOfFame) {
+            opponents.add(() -> new HeuristicAIStrategy(parameters));
+        }
+        return opponents;
+    }
+
+    /**
+     * Plays the games of every candidate of a generation against the opponents of the generation.
+     * @param population candidates to evaluate
+     * @param opponents opponents of the generation, see newOpponents()
+     * @param generationSeed seed the games of the generation are made from
+     * @return fitness of each candidate, between 0 and 1
+     */
+    private double[] evaluate(List<AIParameters> population, List<Supplier<AIStrategy>> opponents, long generationSeed) throws InterruptedException {
+        int numGames = population.size() * gamesPerCandidate;
+        AtomicInteger nextGame = new AtomicInteger(0);
+        ExecutorService workers = Executors.newFixedThreadPool(numThreads, newWorkerThreadFactory());
+        List<Future<double[]>> futures = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            futures.add(workers.submit(() -> {
+                double[] workerScores = new double[population.size()];
+                int game = nextGame.getAndIncrement();
+                while(game < numGames){
+                    int candidate = game / gamesPerCandidate;
+                    int gameIndex = game % gamesPerCandidate;
+                    Supplier<AIStrategy> opponent = opponents.get((gameIndex / 2) % opponents.size());
+                    workerScores[candidate] += playGame(population.get(candidate), opponent.get(), gameIndex,
+                            SeededRandomSource.seedForGame(generationSeed, gameIndex));
+                    game = nextGame.getAndIncrement();
+                }
+                return workerScores;
+            }));
+        }
+        double[] fitness = new double[population.size()];
+        try {
+            for (Future<double[]> future : futures) {
+                double[] workerScores = future.get();
+                for (int i = 0; i < fitness.length; i++) {
+                    fitness[i] += workerScores[i];
+                }
+            }
+        }
+        catch (ExecutionException e){
+            throw new IllegalStateException("A tuner worker failed", e.getCause());
+        }
+        finally {
+            workers.shutdownNow();
+        }
+        for (int i = 0; i < fitness.length; i++) {
+            fitness[i] /= gamesPerCandidate;
+        }
+        return fitness;
+    }
+
+    /**
+     * Plays one headless game of a candidate against an opponent.
+     * @param candidate AIParameters of the candidate
+     * @param opponentStrategy AIStrategy of the opponent
+     * @param gameIndex number of the game, the candidate plays first seat in even games
+     * @param seed seed of the dice of the game
+     * @return score of the candidate, 1 for a win (or the highest net worth when the game is stopped), 0.5 for a draw, 0 for a loss
+     */
+    private double playGame(AIParameters candidate, AIStrategy opponentStrategy, int gameIndex, long seed){
+        BoardModel boardModel = new BoardModel(boardFileName, new SeededRandomSource(seed));
+        AIPlayer candidatePlayer = new AIPlayer("Candidate", new Color(100,0,0), 1500, 2, boardModel.getBoard(), boardModel, null, new HeuristicAIStrategy(candidate));
+        AIPlayer opponentPlayer = new AIPlayer("Opponent", new Color(0,0,100), 1500, 2, boardModel.getBoard(), boardModel, null, opponentStrategy);
+        if(gameIndex % 2 == 0){
+            boardModel.addPlayer(candidatePlayer);
+            boardModel.addPlayer(opponentPlayer);
+        }
+        else{
+            boardModel.addPlayer(opponentPlayer);
+            boardModel.addPlayer(candidatePlayer);
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(boardModel.determineFirstPlayer()));
+        boardModel.setMaxTurns(MAX_TURNS_PER_GAME);
+        boardModel.setStalemateDetection(BoardModel.DEFAULT_STALEMATE_ROUNDS, BoardModel.DEFAULT_STALEMATE_BALANCE_DRIFT);
+        boardModel.playScheduledTurns(MAX_TURNS_PER_GAME);
+        if(!boardModel.isGameOver() || (boardModel.getWinnersList().size() != 1)){
+            return 0.5;
+        }
+        return (boardModel.getWinnersList().get(0) == candidatePlayer) ? 1.0 : 0.0;
+    }
+
+    /**
+     * Makes the next generation: the ELITE best candidates, then children of tournament selected parents.
+     * @param population candidates of the current generation
+     * @param fitness fitness of each candidate
+     * @param ranking indexes of the candidates from best to worst
+     * @return candidates of the next generation
+     */
+    private List<AIParameters> nextGeneration(List<AIParameters> population, double[] fitness, Integer[] ranking){
+        List<AIParameters> next = new ArrayList<>();
+        for (int i = 0; i < ELITE; i++) {
+            next.add(population.get(ranking[i]));
+        }
+        while(next.size() < populationSize){
+            double[] parent1 = population.get(select(fitness)).toArray();
+            double[] parent2 = population.get(select(fitness)).toArray();
+            double[] child = new double[AIParameters.NUM_PARAMETERS];
+            for (int i = 0; i < child.length; i++) {
+                child[i] = random.nextBoolean() ? parent1[i] : parent2[i];
+            }
+            next.add(mutate(child));
+        }
+        return next;
+    }
+
+    /**
+     * Tournament selection, returns the fittest of TOURNAMENT_SIZE random candidates.
+     */
+    private int select(double[] fitness){
+        int selected = random.nextInt(fitness.length);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int challenger = random.nextInt(fitness.length);
+            if(fitness[challenger] > fitness[selected]){
+                selected = challenger;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Adds gaussian noise to each parameter with probability MUTATION_PROBABILITY.
+     * @param values parameters to mutate, changed by the mutation
+     * @return AIParameters of the mutated values
+     */
+    private AIParameters mutate(double[] values){
+        double[] minValues = AIParameters.getMinValues();
+        double[] maxValues = AIParameters.getMaxValues();
+        for (int i = 0; i < values.length; i++) {
+            if(random.nextDouble() < MUTATION_PROBABILITY){
+                values[i] += nextGaussian() * MUTATION_SCALE * (maxValues[i] - minValues[i]);
+            }
+        }
+        return AIParameters.fromArray(values);
+    }
+
+    /**
+     * Returns a standard normal random number (Box-Muller), SplittableRandom has no nextGaussian().
+     */
+    private double nextGaussian(){
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * Returns the indexes of the candidates sorted from the best to the worst fitness.
+     */
+    private static Integer[] rank(double[] fitness){
+        Integer[] ranking = new Integer[fitness.length];
+        for (int i = 0; i < ranking.length; i++) {
+            ranking[i] = i;
+        }
+        Arrays.sort(ranking, (a, b) -> Double.compare(fitness[b], fitness[a]));
+        return ranking;
+    }
+
+    /**
+     * Creates the factory of the worker threads, daemon threads named after the tuner.
+     * @return ThreadFactory for the worker pool
+     */
+    private static ThreadFactory newWorkerThreadFactory(){
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "tuner-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Main method to tune the AI from the command line, saves the best parameters in AIParameters.FILE_NAME.
+     * Arguments (all optional): number of generations, population size, games per candidate, number of threads,
+     * board file name, master seed.
+     */
+    public static void main(String args[]) throws InterruptedException {
+        int generations = 20;
+        int populationSize = 24;
+        int gamesPerCandidate = 200;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        String boardFileName = "board.xml";
+        long masterSeed = System.nanoTime();
+        if(args.length > 0){ generations = Integer.parseInt(args[0]); }
+        if(args.length > 1){ populationSize = Integer.parseInt(args[1]); }
+        if(args.length > 2){ gamesPerCandidate = Integer.parseInt(args[2]); }
+        if(args.length > 3){ numThreads = Integer.parseInt(args[3]); }
+        if(args.length > 4){ boardFileName = args[4]; }
+        if(args.length > 5){ masterSeed = Long.parseLong(args[5]); }
+
+        System.out.println("Tuning " + generations + " generations of " + populationSize + " candidates, " + gamesPerCandidate
+                + " games each, on " + numThreads + " threads, master seed " + masterSeed + ".");
+        GeneticTuner tuner = new GeneticTuner(boardFileName, populationSize, gamesPerCandidate, numThreads, masterSeed);
+        AIParameters best = tuner.run(generations);
+        best.save(AIParameters.FILE_NAME);
+        System.out.println("Saved " + best + " in " + AIParameters.FILE_NAME + ".");
+    }
+}
@@ -0,0 +1,139 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class HeuristicAIStrategy, the original decisions of the AIPlayer.
+ * A property is bought when its cost benefit ratio (plus a boost if it completes a color set) is above a
+ * cutoff that depends on the balance of the player (below 400, between 400 and 750, above 750).
+ * Houses are built on the complete color set with the best cost benefit ratio, while the balance is
+ * at least a third of the house price.
+ * The thresholds are AIParameters, the original values are AIParameters.DEFAULT.
+ * Decisions only look at the squares the player owns through the masks of Player (owned squares and
+ * complete color sets, kept up to date on every purchase, bankruptcy and load), so they cost time in proportion
+ * to the holdings of the player and allocate nothing: the houses to build are returned in housesToBuild,
+ * which is reused by every decision, so each AIPlayer has its own HeuristicAIStrategy.
+ */
+public class HeuristicAIStrategy implements AIStrategy {
+    private static final Color NON_PURCHASABLE_COLOR = new Color(255, 255, 255);
+    private static final Color JAIL_COLOR = new Color(250, 140, 0);
+    private static final Color BROWN_COLOR = new Color(136, 69, 19);
+    private static final Color DARK_BLUE_COLOR = new Color(0, 0, 128);
+
+    private final AIParameters parameters;
+    private final ArrayList<Property> housesToBuild = new ArrayList<>();
+
+    /**
+     * HeuristicAIStrategy Constructor, with the original parameters AIParameters.DEFAULT.
+     */
+    public HeuristicAIStrategy(){
+        this(AIParameters.DEFAULT);
+    }
+
+    /**
+     * HeuristicAIStrategy Constructor
+     * @param parameters AIParameters with the thresholds of the decisions
+     */
+    public HeuristicAIStrategy(AIParameters parameters){
+        this.parameters = parameters;
+    }
+
+    /**
+     * Getter method for the AIParameters of the strategy
+     */
+    public AIParameters getParameters(){return parameters;}
+
+    @Override
+    public boolean buyProperty(AIPlayer player, Property property) {
+        Color propertyColor = property.getColor();
+
+        //If its not a chance/Go/Tax/non-purchasable space/Jail
+        if ( (!propertyColor.equals(NON_PURCHASABLE_COLOR)) && (!propertyColor.equals(JAIL_COLOR)) ){
+
+            // check if a decision to purchase would complete a color set, counting the owned squares of its color
+            boolean purchaseCompletesColorset = false;
+            long colorSetMask = player.getBoard().getColorSets().getColorSetMask(property.getLocation());
+            int matchingColorCount = Long.bitCount(player.getOwnedSquares() & colorSetMask);
+
+            // if matching color is brown or dark blue
+            if (propertyColor.equals(BROWN_COLOR) || propertyColor.equals(DARK_BLUE_COLOR)) {
+                if (matchingColorCount == 1) {
+                    purchaseCompletesColorset = true;
+                }
+            }
+            else if (matchingColorCount == 2) {
+                purchaseCompletesColorset = true;
+            }
+
+            // give a priority boost to decision to purchase if it will complete colorset
+            double priorityBoost = 0;
+            if(purchaseCompletesColorset) {
+                priorityBoost = parameters.getColorSetBoost();
+            }
+
+            // check costBenifitRatio of buying property with different Balance ranges
+            double costBenifitRatio = property.getCostBenefitRatio(player.getBalance(), property.getHousePrice(), property.getPrice()) + priorityBoost;
+            boolean buyProperty = false;
+            if (player.getBalance() < parameters.getLowBalance()){
+                if (costBenifitRatio>= parameters.getLowBalanceCutoff()){
+                    buyProperty = true;
+                }
+            }
+            else if ((player.getBalance() > parameters.getLowBalance())  && (player.getBalance() < parameters.getHighBalance()) ){
+                if (costBenifitRatio >= parameters.getMidBalanceCutoff()){
+                    buyProperty = true;
+                }
+            }
+            else if (player.getBalance() > parameters.getHighBalance()){
+                if (costBenifitRatio >= parameters.getHighBalanceCutoff()){
+                    buyProperty = true;
+                }
+            }
+            return buyProperty;
+        }
+        return false;
+    }
+
+    @Override
+    public List<Property> chooseHousesToBuild(AIPlayer player) {
+        Board board = player.getBoard();
+        ColorSets colorSets = board.getColorSets();
+        housesToBuild.clear();
+        long completeColorSets = player.getCompleteColorSets();
+        //if AI has colorSet
+        if(completeColorSets == 0){
+            return housesToBuild;
+        }
+        //Check value of each property of the complete color sets, color set by color set, and get the set of top priority
+        double topBenifitRatio = 0.0;
+        long topColorSet = colorSets.getColorSetMask(Long.numberOfTrailingZeros(completeColorSets));
+        for (long colorSetsLeft = completeColorSets; colorSetsLeft != 0; ) {
+            long colorSet = colorSets.getColorSetMask(Long.numberOfTrailingZeros(colorSetsLeft));
+            colorSetsLeft &= ~colorSet;
+            for (long squares = colorSet; squares != 0; squares &= squares - 1) {
+                Property property = board.getProperty(Long.numberOfTrailingZeros(squares));
+                double costBenifitRatio = property.getCostBenefitRatio(player.getBalance(), property.getRent(), property.getHousePrice());
+                if(costBenifitRatio > topBenifitRatio){
+                    topBenifitRatio = costBenifitRatio;
+                    topColorSet = colorSet;
+                }
+            }
+        }
+        //if topPriority Color's Property already have Hotels, change to the next complete color set.
+        if(board.getProperty(Long.numberOfTrailingZeros(topColorSet)).getNumHotels() == 1){
+            long nextColorSets = completeColorSets & ~((Long.highestOneBit(topColorSet) << 1) - 1);
+            if(nextColorSets == 0){
+                nextColorSets = completeColorSets;
+            }
+            topColorSet = colorSets.getColorSetMask(Long.numberOfTrailingZeros(nextColorSets));
+        }
+        for (long squares = topColorSet; squares != 0; squares &= squares - 1) {
+            Property propertySameColor = board.getProperty(Long.numberOfTrailingZeros(squares));
+            //if balance times the multiplier (3 by default) is more than the cost of buying house, buy houses on top priority color set.
+            if((player.getBalance() * parameters.getBuildBalanceMultiplier()) > propertySameColor.getHousePrice()) {
+                housesToBuild.add(propertySameColor);
+            }
+        }
+        return housesToBuild;
+    }
+}
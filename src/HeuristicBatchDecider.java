@@ -0,0 +1,172 @@
+import java.awt.*;
+
+/**
+ * Class HeuristicBatchDecider, the decisions of the HeuristicAIStrategy for many games at once.
+ * The games are GameStates, the decision is for the current player of each game, and the decisions of all
+ * games come back in flat primitive arrays: decideBuys() fills a boolean per game, chooseBuilds() a mask of the
+ * squares to build a house on per game (built from the lowest square up, like the list of the HeuristicAIStrategy).
+ * Everything the decisions need about the squares is computed once per board in flat tables indexed by square
+ * (buyCosts, completingCounts...) or by square * RentTable.NUM_LEVELS + level (buildCosts), so a decision is
+ * a few array reads and arithmetic, with no Player, Property or Color objects and no virtual calls.
+ * decideBuys() first gathers the balance, square and color set count of every game into scratch arrays,
+ * then decides all games in one loop over those arrays.
+ * The decisions are exactly those of a HeuristicAIStrategy with the same AIParameters.
+ * Not thread safe, the scratch arrays are reused by every call.
+ */
+public class HeuristicBatchDecider {
+    private static final Color NON_PURCHASABLE_COLOR = new Color(255, 255, 255);
+    private static final Color JAIL_COLOR = new Color(250, 140, 0);
+    private static final Color BROWN_COLOR = new Color(136, 69, 19);
+    private static final Color DARK_BLUE_COLOR = new Color(0, 0, 128);
+
+    private final ColorSets colorSets;
+    private final int lowBalance;
+    private final int highBalance;
+    private final double lowBalanceCutoff;
+    private final double midBalanceCutoff;
+    private final double highBalanceCutoff;
+    private final double colorSetBoost;
+    private final double buildBalanceMultiplier;
+
+    private final boolean[] buyable;
+    private final long[] colorSetMasks;
+    private final int[] completingCounts;
+    private final double[] buyCosts;
+    private final int[] housePrices;
+    private final double[] buildCosts;
+
+    private int[] balances = new int[0];
+    private int[] squares = new int[0];
+    private int[] colorCounts = new int[0];
+
+    /**
+     * HeuristicBatchDecider Constructor, computes the tables of the squares of the board.
+     * @param board Board the games are played on
+     * @param parameters AIParameters of the decisions
+     */
+    public HeuristicBatchDecider(Board board, AIParameters parameters){
+        this.colorSets = board.getColorSets();
+        this.lowBalance = parameters.getLowBalance();
+        this.highBalance = parameters.getHighBalance();
+        this.lowBalanceCutoff = parameters.getLowBalanceCutoff();
+        this.midBalanceCutoff = parameters.getMidBalanceCutoff();
+        this.highBalanceCutoff = parameters.getHighBalanceCutoff();
+        this.colorSetBoost = parameters.getColorSetBoost();
+        this.buildBalanceMultiplier = parameters.getBuildBalanceMultiplier();
+        RentTable rentTable = board.getRentTable();
+        int numSquares = board.getPropertyArrayList().size();
+        this.buyable = new boolean[numSquares];
+        this.colorSetMasks = new long[numSquares];
+        this.completingCounts = new int[numSquares];
+        this.buyCosts = new double[numSquares];
+        this.housePrices = new int[numSquares];
+        this.buildCosts = new double[numSquares * RentTable.NUM_LEVELS];
+        for (int square = 0; square < numSquares; square++) {
+            Property property = board.getProperty(square);
+            Color color = property.getColor();
+            buyable[square] = !color.equals(NON_PURCHASABLE_COLOR) && !color.equals(JAIL_COLOR);
+            colorSetMasks[square] = colorSets.getColorSetMask(square);
+            // the squares of the color set the player must already own for the purchase to complete it
+            completingCounts[square] = (color.equals(BROWN_COLOR) || color.equals(DARK_BLUE_COLOR)) ? 1 : 2;
+            buyCosts[square] = (property.getHousePrice() * 5.0) + property.getPrice();
+            housePrices[square] = property.getHousePrice();
+            for (int level = 0; level < RentTable.NUM_LEVELS; level++) {
+                buildCosts[square * RentTable.NUM_LEVELS + level] = (rentTable.getRent(square, level) * 5.0) + property.getHousePrice();
+            }
+        }
+    }
+
+    /**
+     * Decides for the current player of every game if it buys the square it is on,
+     * like HeuristicAIStrategy.buyProperty().
+     * @param states games to decide for
+     * @param numStates number of games, the first numStates of states
+     * @param buys set to true for the games where the property is bought
+     */
+    public void decideBuys(GameState[] states, int numStates, boolean[] buys){
+        ensureCapacity(numStates);
+        // gather the inputs of every decision
+        for (int i = 0; i < numStates; i++) {
+            GameState state = states[i];
+            int player = state.getCurrentPlayerIndex();
+            int square = state.getPosition(player);
+            balances[i] = state.getBalance(player);
+            squares[i] = square;
+            colorCounts[i] = Long.bitCount(state.getOwnedSquares(player) & colorSetMasks[square]);
+        }
+        // decide every game with the same arithmetic
+        for (int i = 0; i < numStates; i++) {
+            int square = squares[i];
+            int balance = balances[i];
+            double priorityBoost = (colorCounts[i] == completingCounts[square]) ? colorSetBoost : 0;
+            double costBenefitRatio = (balance / buyCosts[square]) + priorityBoost;
+            double cutoff = (balance < lowBalance) ? lowBalanceCutoff
+                    : ((balance > lowBalance) && (balance < highBalance)) ? midBalanceCutoff
+                    : (balance > highBalance) ? highBalanceCutoff
+                    : Double.POSITIVE_INFINITY;
+            buys[i] = buyable[square] && (costBenefitRatio >= cutoff);
+        }
+    }
+
+    /**
+     * Chooses for the current player of every game the squares to build a house on,
+     * like HeuristicAIStrategy.chooseHousesToBuild().
+     * @param states games to choose for
+     * @param numStates number of games, the first numStates of states
+     * @param buildMasks set to the mask of the squares to build on for every game, 0 for none
+     */
+    public void chooseBuilds(GameState[] states, int numStates, long[] buildMasks){
+        for (int i = 0; i < numStates; i++) {
+            GameState state = states[i];
+            int player = state.getCurrentPlayerIndex();
+            long completeColorSets = colorSets.getCompleteColorSets(state.getOwnedSquares(player));
+            if(completeColorSets == 0){
+                buildMasks[i] = 0;
+                continue;
+            }
+            int balance = state.getBalance(player);
+            // color set with the best cost benefit ratio, color set by color set
+            double topBenefitRatio = 0.0;
+            long topColorSet = colorSetMasks[Long.numberOfTrailingZeros(completeColorSets)];
+            for (long colorSetsLeft = completeColorSets; colorSetsLeft != 0; ) {
+                long colorSet = colorSetMasks[Long.numberOfTrailingZeros(colorSetsLeft)];
+                colorSetsLeft &= ~colorSet;
+                for (long squaresLeft = colorSet; squaresLeft != 0; squaresLeft &= squaresLeft - 1) {
+                    int square = Long.numberOfTrailingZeros(squaresLeft);
+                    double costBenefitRatio = balance / buildCosts[square * RentTable.NUM_LEVELS + state.getHouses(square)];
+                    if(costBenefitRatio > topBenefitRatio){
+                        topBenefitRatio = costBenefitRatio;
+                        topColorSet = colorSet;
+                    }
+                }
+            }
+            // a color set with hotels is replaced by the next complete color set
+            if(state.getHouses(Long.numberOfTrailingZeros(topColorSet)) == GameState.HOTEL){
+                long nextColorSets = completeColorSets & ~((Long.highestOneBit(topColorSet) << 1) - 1);
+                if(nextColorSets == 0){
+                    nextColorSets = completeColorSets;
+                }
+                topColorSet = colorSetMasks[Long.numberOfTrailingZeros(nextColorSets)];
+            }
+            long buildMask = 0;
+            for (long squaresLeft = topColorSet; squaresLeft != 0; squaresLeft &= squaresLeft - 1) {
+                int square = Long.numberOfTrailingZeros(squaresLeft);
+                if((balance * buildBalanceMultiplier) > housePrices[square]){
+                    buildMask |= (1L << square);
+                }
+            }
+            buildMasks[i] = buildMask;
+        }
+    }
+
+    /**
+     * Grows the scratch arrays to hold at least numStates games.
+     */
+    private void ensureCapacity(int numStates){
+        if(balances.length < numStates){
+            balances = new int[numStates];
+            squares = new int[numStates];
+            colorCounts = new int[numStates];
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.awt.*;
+
+
+
+public class HeuristicBatchDeciderTest {
+    private static final int MAX_TURNS = 2000;
+
+    // Plays a game of HeuristicAIStrategy players in a BoardModel, like the TournamentRunner, and records its result
+    private void playBoardModelGame(long seed, int numPlayers, TournamentResults results){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(seed));
+        for (int i = 0; i < numPlayers; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(10,10,10), 1500, numPlayers, boardModel.getBoard(), boardModel, null, new HeuristicAIStrategy(AIParameters.DEFAULT)));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(boardModel.determineFirstPlayer()));
+        boardModel.playScheduledTurns(MAX_TURNS);
+        if(!boardModel.isGameOver()){
+            results.recordUnfinishedGame(boardModel.getTurnCount());
+            return;
+        }
+        int winnerIndex = -1;
+        if(boardModel.getWinnersList().size() == 1){
+            winnerIndex = boardModel.players.indexOf(boardModel.getWinnersList().get(0));
+        }
+        results.recordGame(winnerIndex, boardModel.getTurnCount());
+    }
+
+    // The batch decisions are the decisions of the HeuristicAIStrategy
+    @Test
+    public void testDecisionsMatchHeuristicStrategy(){
+        BoardModel boardModel = new BoardModel("board.xml");
+        Board board = boardModel.getBoard();
+        HeuristicBatchDecider decider = new HeuristicBatchDecider(board, AIParameters.DEFAULT);
+        AIPlayer player = new AIPlayer("AI Player1", new Color(10,10,10), 1500, 2, board, boardModel, null, new HeuristicAIStrategy(AIParameters.DEFAULT));
+        boardModel.addPlayer(player);
+        boardModel.addPlayer(new Player("P2", new Color(20,20,20), 1500, false));
+        boardModel.setCurrentPlayer(player);
+        int[] balances = {100, 399, 400, 401, 749, 750, 751, 1500};
+        GameState[] states = new GameState[40 * balances.length];
+        for (int i = 0; i < balances.length; i++) {
+            for (int square = 0; square < 40; square++) {
+                player.setBalance(balances[i]);
+                player.setPosition(square);
+                states[i * 40 + square] = GameState.fromModel(boardModel);
+            }
+        }
+        boolean[] buys = new boolean[states.length];
+        decider.decideBuys(states, states.length, buys);
+        for (int i = 0; i < states.length; i++) {
+            player.setBalance(states[i].getBalance(0));
+            Property property = board.getProperty(states[i].getPosition(0));
+            assertEquals(player.getStrategy().buyProperty(player, property), buys[i]);
+        }
+    }
+
+    // The games played in lockstep are the games played by AIPlayers in BoardModels with the same seeds
+    @Test
+    public void testLockstepMatchesBoardModelGames(){
+        for (int numPlayers = 2; numPlayers <= 4; numPlayers++) {
+            TournamentResults expected = new TournamentResults(numPlayers);
+            for (int i = 0; i < 100; i++) {
+                playBoardModelGame(SeededRandomSource.seedForGame(11, i), numPlayers, expected);
+            }
+            LockstepSimulator simulator = new LockstepSimulator(new BoardModel("board.xml").getBoard(), numPlayers, AIParameters.DEFAULT);
+            TournamentResults results = simulator.run(100, 11, MAX_TURNS);
+            for (int i = 0; i < numPlayers; i++) {
+                assertEquals(expected.getWins(i), results.getWins(i));
+            }
+            assertEquals(expected.getUnfinishedGames(), results.getUnfinishedGames());
+            assertEquals(expected.getAverageGameLength(), results.getAverageGameLength(), 1e-9);
+        }
+    }
+}
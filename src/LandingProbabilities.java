@@ -0,0 +1,178 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class LandingProbabilities, the probability of landing on each square of a Board in the long run.
+ * The movement rules of BoardModel.roll() are a Markov chain over the state of a player at the start of its turn:
+ * on one of the 40 squares, or in Jail after 1, 2 or 3 turns (JAIL_STATES).
+ * During a turn, the player rolls again after a double, goes to Jail on square 30 or on its third double,
+ * and passes the turn after the Jail roll it makes right after being sent to Jail.
+ * In Jail, a double releases the player, who then plays a normal turn from Jail; after 3 turns the player
+ * pays the fee and passes the turn.
+ * The steady state of the chain gives the probability of starting a turn in each state, and
+ * landingsPerTurn is the expected number of times a player lands on each square during one of its turns.
+ * A player sent to Jail lands on the Jail square. The roll that releases a player from Jail is not a landing.
+ * Results are computed once per board definition and cached, see forBoard(Board).
+ */
+public class LandingProbabilities {
+    private static final int NUM_SQUARES = 40;
+    private static final int JAIL_POSITION = 10;
+    private static final int GO_TO_JAIL_POSITION = 30;
+    private static final int JAIL_STATES = 3;
+    private static final int NUM_STATES = NUM_SQUARES + JAIL_STATES;
+    private static final int MAX_ITERATIONS = 10000;
+    private static final double CONVERGENCE_THRESHOLD = 1e-13;
+
+    private static final ConcurrentHashMap<String, LandingProbabilities> cache = new ConcurrentHashMap<>();
+
+    private final double[] turnStartProbabilities;
+    private final double[] landingsPerTurn;
+    private final double[] landingProbabilities;
+
+    /**
+     * Returns the landing probabilities of a Board, computed the first time they are asked for a board file
+     * and shared after that.
+     * @param board Board to get the landing probabilities of
+     * @return LandingProbabilities of the board
+     */
+    public static LandingProbabilities forBoard(Board board){
+        return cache.computeIfAbsent(board.getUserInputSource(), key -> new LandingProbabilities());
+    }
+
+    /**
+     * LandingProbabilities Constructor, solves the Markov chain.
+     */
+    LandingProbabilities(){
+        double[][] transitions = new double[NUM_STATES][NUM_STATES];
+        double[][] landings = new double[NUM_STATES][NUM_SQUARES];
+        for (int square = 0; square < NUM_SQUARES; square++) {
+            playTurn(square, 1.0, transitions[square], landings[square]);
+        }
+        for (int turns = 1; turns <= JAIL_STATES; turns++) {
+            int state = NUM_SQUARES + turns - 1;
+            // 6 doubles out of 36 rolls release the player, who then plays a normal turn from Jail
+            playTurn(JAIL_POSITION, 1.0/6, transitions[state], landings[state]);
+            if(turns < JAIL_STATES){
+                transitions[state][state + 1] += 5.0/6;
+            }
+            else{
+                transitions[state][JAIL_POSITION] += 5.0/6;
+            }
+        }
+
+        turnStartProbabilities = steadyState(transitions);
+        landingsPerTurn = new double[NUM_SQUARES];
+        double totalLandings = 0;
+        for (int state = 0; state < NUM_STATES; state++) {
+            for (int square = 0; square < NUM_SQUARES; square++) {
+                landingsPerTurn[square] += turnStartProbabilities[state] * landings[state][square];
+            }
+        }
+        for (int square = 0; square < NUM_SQUARES; square++) {
+            totalLandings += landingsPerTurn[square];
+        }
+        landingProbabilities = new double[NUM_SQUARES];
+        for (int square = 0; square < NUM_SQUARES; square++) {
+            landingProbabilities[square] = landingsPerTurn[square] / totalLandings;
+        }
+    }
+
+    /**
+     * Adds the outcomes of a normal turn started on a square to the state after the turn and the landings.
+     * mass[doubles][square] is the probability of having to roll from square after that many doubles.
+     * @param startSquare square the turn starts on
+     * @param weight probability of playing this turn
+     * @param nextStates probabilities of the state the next turn starts in
+     * @param landings expected number of landings on each square
+     */
+    private static void playTurn(int startSquare, double weight, double[] nextStates, double[] landings){
+        double[][] mass = new double[3][NUM_SQUARES];
+        mass[0][startSquare] = weight;
+        for (int doubles = 0; doubles < 3; doubles++) {
+            for (int square = 0; square < NUM_SQUARES; square++) {
+                if(mass[doubles][square] == 0){
+                    continue;
+                }
+                double p = mass[doubles][square] / 36;
+                for (int roll1 = 1; roll1 <= 6; roll1++) {
+                    for (int roll2 = 1; roll2 <= 6; roll2++) {
+                        boolean isDouble = (roll1 == roll2);
+                        int nextDoubles = isDouble ? doubles + 1 : doubles;
+                        int nextPosition = square + roll1 + roll2;
+                        if((nextPosition == GO_TO_JAIL_POSITION) || (nextDoubles == 3)){
+                            // the Jail roll made right away always fails, the next turn starts after 1 turn in Jail
+                            landings[JAIL_POSITION] += p;
+                            nextStates[NUM_SQUARES] += p;
+                            continue;
+                        }
+                        nextPosition %= NUM_SQUARES;
+                        landings[nextPosition] += p;
+                        if(isDouble){
+                            mass[nextDoubles][nextPosition] += p;
+                        }
+                        else{
+                            nextStates[nextPosition] += p;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the steady state of the chain by power iteration, starting from GO.
+     * @param transitions transitions[from][to] probabilities between the states at the start of a turn
+     * @return probability of starting a turn in each state
+     */
+    private static double[] steadyState(double[][] transitions){
+        double[] probabilities = new double[NUM_STATES];
+        probabilities[0] = 1.0;
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double[] next = new double[NUM_STATES];
+            for (int from = 0; from < NUM_STATES; from++) {
+                if(probabilities[from] == 0){
+                    continue;
+                }
+                for (int to = 0; to < NUM_STATES; to++) {
+                    next[to] += probabilities[from] * transitions[from][to];
+                }
+            }
+            double change = 0;
+            for (int state = 0; state < NUM_STATES; state++) {
+                change += Math.abs(next[state] - probabilities[state]);
+            }
+            probabilities = next;
+            if(change < CONVERGENCE_THRESHOLD){
+                break;
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * Returns the probability that a landing is on a square, the probabilities of the 40 squares add up to 1.
+     * @param square location of the square
+     */
+    public double getLandingProbability(int square){return landingProbabilities[square];}
+
+    /**
+     * Returns the expected number of times a player lands on a square during one of its turns.
+     * @param square location of the square
+     */
+    public double getLandingsPerTurn(int square){return landingsPerTurn[square];}
+
+    /**
+     * Returns the probability that a player starts its turn in Jail.
+     */
+    public double getInJailProbability(){
+        double inJail = 0;
+        for (int state = NUM_SQUARES; state < NUM_STATES; state++) {
+            inJail += turnStartProbabilities[state];
+        }
+        return inJail;
+    }
+
+    /**
+     * Returns a copy of the landing probabilities of the 40 squares.
+     */
+    public double[] getLandingProbabilities(){return landingProbabilities.clone();}
+}
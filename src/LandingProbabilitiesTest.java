@@ -0,0 +1,28 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+
+
+public class LandingProbabilitiesTest {
+
+    // The probabilities of all squares add up to 1, nobody stays on Go To Jail and Jail is the most landed on square
+    @Test
+    public void testLandingProbabilities(){
+        LandingProbabilities landingProbabilities = LandingProbabilities.forBoard(new BoardModel("board.xml").getBoard());
+        double total = 0;
+        for (int i = 0; i < 40; i++) {
+            total += landingProbabilities.getLandingProbability(i);
+            assertTrue(landingProbabilities.getLandingProbability(i) <= landingProbabilities.getLandingProbability(10));
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(0.0, landingProbabilities.getLandingProbability(30), 0.0);
+    }
+
+    // The probabilities are computed once per board file
+    @Test
+    public void testCachedPerBoard(){
+        LandingProbabilities landingProbabilities1 = LandingProbabilities.forBoard(new BoardModel("board.xml").getBoard());
+        LandingProbabilities landingProbabilities2 = LandingProbabilities.forBoard(new BoardModel("board.xml").getBoard());
+        assertSame(landingProbabilities1, landingProbabilities2);
+    }
+}
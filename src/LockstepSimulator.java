@@ -0,0 +1,131 @@
+/**
+ * Class LockstepSimulator, plays many headless games of HeuristicAIStrategy players side by side.
+ * Every game is a GameState on one shared Board, and all games move forward one roll at a time in lockstep:
+ * each step rolls every game that is still playing, then makes the buy decisions of all of them in one
+ * HeuristicBatchDecider call, buys, makes the build decisions in a second call, builds, and passes the turns
+ * that are over, like AIPlayer.playAITurn() does for a single game.
+ * Game number i is rolled with a SeededRandomSource seeded from masterSeed and i and starts with a first player
+ * drawn from it, like the games of the TournamentRunner, so both play the same games.
+ * Games that reach maxTurns turns are stopped and counted as unfinished.
+ */
+public class LockstepSimulator {
+    private static final int STARTING_MONEY = 1500;
+
+    private final Board board;
+    private final int numPlayers;
+    private final HeuristicBatchDecider decider;
+
+    /**
+     * LockstepSimulator Constructor
+     * @param board Board every game is played on
+     * @param numPlayers number of AI players in each game
+     * @param parameters AIParameters of the decisions of every player
+     */
+    public LockstepSimulator(Board board, int numPlayers, AIParameters parameters){
+        this.board = board;
+        this.numPlayers = numPlayers;
+        this.decider = new HeuristicBatchDecider(board, parameters);
+    }
+
+    /**
+     * Plays numGames games in lockstep and returns their results.
+     * @param numGames number of games to play
+     * @param masterSeed seed the seeds of all games are made from
+     * @param maxTurns maximum number of turns of a game
+     * @return TournamentResults of all games played
+     */
+    public TournamentResults run(int numGames, long masterSeed, int maxTurns){
+        long startTime = System.nanoTime();
+        TournamentResults results = new TournamentResults(numPlayers);
+        GameState[] games = new GameState[numGames];
+        RandomSource[] dice = new RandomSource[numGames];
+        for (int i = 0; i < numGames; i++) {
+            dice[i] = new SeededRandomSource(SeededRandomSource.seedForGame(masterSeed, i));
+            games[i] = new GameState(board, numPlayers, STARTING_MONEY);
+            games[i].setCurrentPlayerIndex(dice[i].nextInt(numPlayers));
+        }
+        int[] turnPlayers = new int[numGames];
+        GameState[] deciding = new GameState[numGames];
+        boolean[] buys = new boolean[numGames];
+        long[] buildMasks = new long[numGames];
+        int numPlaying = numGames;
+        while(numPlaying > 0){
+            // roll every game, the games where the player is still playing its turn have decisions to make
+            int numDeciding = 0;
+            for (int i = 0; i < numPlaying; i++) {
+                GameState game = games[i];
+                int player = game.getCurrentPlayerIndex();
+                turnPlayers[i] = player;
+                game.rollCommand(dice[i]);
+                if(isPlayingTurn(game, player)){
+                    deciding[numDeciding++] = game;
+                }
+            }
+            decider.decideBuys(deciding, numDeciding, buys);
+            for (int i = 0; i < numDeciding; i++) {
+                if(buys[i]){
+                    deciding[i].purchasePropertyCommand();
+                }
+            }
+            decider.chooseBuilds(deciding, numDeciding, buildMasks);
+            for (int i = 0; i < numDeciding; i++) {
+                for (long squares = buildMasks[i]; squares != 0; squares &= squares - 1) {
+                    deciding[i].purchaseHouseOrHotel(Long.numberOfTrailingZeros(squares));
+                }
+            }
+            // pass the turns that are over and take the finished games out of the games still playing
+            int numStillPlaying = 0;
+            for (int i = 0; i < numPlaying; i++) {
+                GameState game = games[i];
+                if(isPlayingTurn(game, turnPlayers[i]) && !game.getNextRoll()){
+                    game.passTurnCommand();
+                }
+                if(game.isGameOver()){
+                    results.recordGame(game.getWinner(), game.getTurnCount());
+                }
+                else if(game.getTurnCount() >= maxTurns){
+                    results.recordUnfinishedGame(game.getTurnCount());
+                }
+                else{
+                    games[numStillPlaying] = game;
+                    dice[numStillPlaying] = dice[i];
+                    numStillPlaying++;
+                }
+            }
+            numPlaying = numStillPlaying;
+        }
+        results.setElapsedNanos(System.nanoTime() - startTime);
+        return results;
+    }
+
+    /**
+     * Returns true if it is still the turn of player in a game, like AIPlayer.isPlayingTurn().
+     */
+    private static boolean isPlayingTurn(GameState game, int player){
+        return !game.isGameOver() && (game.getCurrentPlayerIndex() == player) && !game.isBankrupt(player);
+    }
+
+    /**
+     * Main method to run a lockstep simulation from the command line.
+     * Arguments (all optional): number of games, number of players, board file name, master seed,
+     * AIParameters file of the players (AIParameters.DEFAULT if none).
+     */
+    public static void main(String args[]){
+        int numGames = 10000;
+        int numPlayers = 4;
+        String boardFileName = "board.xml";
+        long masterSeed = System.nanoTime();
+        if(args.length > 0){ numGames = Integer.parseInt(args[0]); }
+        if(args.length > 1){ numPlayers = Integer.parseInt(args[1]); }
+        if(args.length > 2){ boardFileName = args[2]; }
+        if(args.length > 3){ masterSeed = Long.parseLong(args[3]); }
+        AIParameters parameters = AIParameters.DEFAULT;
+        if(args.length > 4){ parameters = AIParameters.load(args[4]); }
+
+        Board board = new BoardModel(boardFileName).getBoard();
+        LockstepSimulator simulator = new LockstepSimulator(board, numPlayers, parameters);
+        TournamentResults results = simulator.run(numGames, masterSeed, 20000);
+        System.out.println("Played " + numGames + " games of " + numPlayers + " AI players in lockstep, master seed " + masterSeed + ".");
+        System.out.println(results);
+    }
+}
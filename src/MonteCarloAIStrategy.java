@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Class MonteCarloAIStrategy, an AIStrategy that makes its purchase decisions with a MonteCarloTreeSearch
+ * instead of fixed balance thresholds.
+ * Each decision (buy the property the player is on, buy a house) is searched from a GameState copy of the game
+ * within budgetMillis, so AI turns stay responsive in the GUI.
+ * Houses are chosen one at a time, each search starting from the state after the houses already chosen,
+ * until the search chooses to stop or MAX_BUILDS_PER_ROLL houses are chosen.
+ * The dice of each search are seeded from the game, never from the clock: from the seed of its SeededRandomSource
+ * (0 for any other RandomSource) and the state hash of the BoardModel, so a seeded game with a rollout budget
+ * makes the same decisions every time it is played.
+ */
+public class MonteCarloAIStrategy implements AIStrategy {
+    private static final int MAX_BUILDS_PER_ROLL = 3;
+
+    private final MonteCarloTreeSearch search;
+
+    /**
+     * MonteCarloAIStrategy Constructor, each decision is searched for a time budget
+     * @param budgetMillis time budget of each decision in milliseconds
+     */
+    public MonteCarloAIStrategy(long budgetMillis){
+        this.search = new MonteCarloTreeSearch(budgetMillis);
+    }
+
+    /**
+     * MonteCarloAIStrategy Constructor, each decision is searched with a fixed number of rollouts
+     * @param budgetMillis time budget of each decision in milliseconds, ignored if maxRollouts is positive
+     * @param maxRollouts number of rollouts of each decision, 0 to search for the time budget
+     */
+    public MonteCarloAIStrategy(long budgetMillis, int maxRollouts){
+        this.search = new MonteCarloTreeSearch(budgetMillis, maxRollouts);
+    }
+
+    /**
+     * Returns the seed of the dice of a search of the current state of a game.
+     * @param boardModel BoardModel of the game
+     * @param decision number of the decision in the current state
+     */
+    static long searchSeed(BoardModel boardModel, int decision){
+        long gameSeed = 0;
+        if(boardModel.getRandomSource() instanceof SeededRandomSource){
+            gameSeed = ((SeededRandomSource) boardModel.getRandomSource()).getSeed();
+        }
+        return SeededRandomSource.seedForGame(gameSeed ^ boardModel.getStateHash(), decision);
+    }
+
+    @Override
+    public boolean buyProperty(AIPlayer player, Property property) {
+        if(!GameState.isPurchasable(property.getLocation()) || (property.getOwner() != Player.BANK)
+                || (player.getBalance() < property.getPrice())){
+            return false;
+        }
+        List<Consumer<GameState>> options = new ArrayList<>();
+        options.add(state -> {});
+        options.add(state -> state.purchaseProperty());
+        return search.chooseOption(GameState.fromModel(player.getBoardModel()), options, searchSeed(player.getBoardModel(), 0)) == 1;
+    }
+
+    @Override
+    public List<Property> chooseHousesToBuild(AIPlayer player) {
+        Board board = player.getBoard();
+        List<Property> housesToBuild = new ArrayList<>();
+        GameState root = GameState.fromModel(player.getBoardModel());
+        int playerIndex = root.getCurrentPlayerIndex();
+        for (int build = 0; build < MAX_BUILDS_PER_ROLL; build++) {
+            List<Integer> candidates = new ArrayList<>();
+            long completeColorSets = board.getColorSets().getCompleteColorSets(root.getOwnedSquares(playerIndex));
+            for (long squares = completeColorSets; squares != 0; squares &= squares - 1) {
+                int square = Long.numberOfTrailingZeros(squares);
+                if(root.copy().purchaseHouseOrHotel(square)){
+                    candidates.add(square);
+                }
+            }
+            if(candidates.isEmpty()){
+                break;
+            }
+            List<Consumer<GameState>> options = new ArrayList<>();
+            options.add(state -> {});
+            for (int square : candidates) {
+                options.add(state -> state.purchaseHouseOrHotel(square));
+            }
+            int option = search.chooseOption(root, options, searchSeed(player.getBoardModel(), build));
+            if(option == 0){
+                break;
+            }
+            int square = candidates.get(option - 1);
+            root.purchaseHouseOrHotel(square);
+            housesToBuild.add(board.getProperty(square));
+        }
+        return housesToBuild;
+    }
+}
@@ -0,0 +1,37 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.*;
+
+
+
+public class MonteCarloAIStrategyTest {
+
+    private BoardModel playGame(long seed){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(seed));
+        for (int i = 0; i < 2; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(50*i,10,10), 1500, 2, boardModel.getBoard(), boardModel, null, new MonteCarloAIStrategy(0, 40)));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(40);
+        return boardModel;
+    }
+
+    // With a rollout budget, a seeded game makes the same decisions every time it is played
+    @Test
+    public void testReproducibleDecisions(){
+        BoardModel boardModel = playGame(17);
+        assertFalse(boardModel.getPlayer(0).getControlledProperty().isEmpty());
+        assertEquals(boardModel.toXML(), playGame(17).toXML());
+    }
+
+    // The seed of a search depends on the game and the decision
+    @Test
+    public void testSearchSeed(){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(17));
+        long seed = MonteCarloAIStrategy.searchSeed(boardModel, 0);
+        assertEquals(seed, MonteCarloAIStrategy.searchSeed(new BoardModel("board.xml", new SeededRandomSource(17)), 0));
+        assertNotEquals(seed, MonteCarloAIStrategy.searchSeed(boardModel, 1));
+        assertNotEquals(seed, MonteCarloAIStrategy.searchSeed(new BoardModel("board.xml", new SeededRandomSource(18)), 0));
+    }
+}
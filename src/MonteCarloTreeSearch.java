@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Class MonteCarloTreeSearch, chooses between the options of an AI decision by playing random games (rollouts)
+ * from a GameState copy of the game, within a time budget.
+ * The search tree has the options of the decision as children of the root: each rollout picks an option with UCB1,
+ * applies it to a copy of the state, plays the game on for ROLLOUT_TURNS turns with a simple default policy
+ * (buy and build while keeping ROLLOUT_RESERVE in cash), and scores the result for the deciding player:
+ * 1 for a win, 0 for a loss, its share of the net worth of all players if the game is not over.
+ * Rollouts are played on every core, each worker with its own statistics and dice, merged once the budget is spent.
+ * The option with the most rollouts is chosen.
+ * The dice of worker i are seeded with SeededRandomSource.seedForGame(seed, i), seed being given by the caller.
+ * With a time budget the number of rollouts depends on the machine, with a rollout budget (maxRollouts > 0) exactly
+ * maxRollouts rollouts are played on ROLLOUT_STREAMS seeded streams, so a decision only depends on its state and seed.
+ * The workers are shared by all searches, and only read the Board, so searches of different games can run at once.
+ */
+public class MonteCarloTreeSearch {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    private static final int ROLLOUT_TURNS = 200;
+    private static final int ROLLOUT_RESERVE = 200;
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int NUM_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final int ROLLOUT_STREAMS = 8;
+    private static final ExecutorService workers = Executors.newFixedThreadPool(NUM_WORKERS, newWorkerThreadFactory());
+
+    private final long budgetNanos;
+    private final int maxRollouts;
+
+    /**
+     * MonteCarloTreeSearch Constructor, each decision is searched for a time budget
+     * @param budgetMillis time budget of each decision in milliseconds
+     */
+    public MonteCarloTreeSearch(long budgetMillis){
+        this(budgetMillis, 0);
+    }
+
+    /**
+     * MonteCarloTreeSearch Constructor
+     * @param budgetMillis time budget of each decision in milliseconds, ignored if maxRollouts is positive
+     * @param maxRollouts number of rollouts of each decision, 0 to search for the time budget
+     */
+    public MonteCarloTreeSearch(long budgetMillis, int maxRollouts){
+        this.budgetNanos = budgetMillis * 1000000L;
+        this.maxRollouts = maxRollouts;
+    }
+
+    /**
+     * Chooses an option of a decision of the current player of a state.
+     * @param root state of the game when the decision is made, it is not changed
+     * @param options options of the decision, each one changes a copy of the state
+     * @param seed seed of the dice of the rollouts
+     * @return index of the chosen option
+     */
+    public int chooseOption(GameState root, List<Consumer<GameState>> options, long seed){
+        if(options.size() < 2){
+            return 0;
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        int player = root.getCurrentPlayerIndex();
+        int numStreams = (maxRollouts > 0) ? ROLLOUT_STREAMS : NUM_WORKERS;
+        List<Future<int[]>> futures = new ArrayList<>();
+        for (int i = 0; i < numStreams; i++) {
+            RandomSource random = new SeededRandomSource(SeededRandomSource.seedForGame(seed, i));
+            int rollouts = (maxRollouts > 0) ? (maxRollouts + numStreams - 1 - i) / numStreams : 0;
+            futures.add(workers.submit(() -> search(root, options, player, random, deadline, rollouts)));
+        }
+        int[] visits = new int[options.size()];
+        try {
+            for (Future<int[]> future : futures) {
+                int[] workerVisits = future.get();
+                for (int i = 0; i < visits.length; i++) {
+                    visits[i] += workerVisits[i];
+                }
+            }
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e){
+            throw new IllegalStateException("A search worker failed", e.getCause());
+        }
+        int bestOption = 0;
+        for (int i = 1; i < visits.length; i++) {
+            if(visits[i] > visits[bestOption]){
+                bestOption = i;
+            }
+        }
+        return bestOption;
+    }
+
+    /**
+     * Plays rollouts until the deadline, or rollouts rollouts if it is positive, choosing the option of each
+     * rollout with UCB1. Every option is played at least once.
+     * @return number of rollouts of each option
+     */
+    private static int[] search(GameState root, List<Consumer<GameState>> options, int player, RandomSource random,
+                                long deadline, int rollouts){
+        int[] visits = new int[options.size()];
+        double[] rewards = new double[options.size()];
+        int totalVisits = 0;
+        do {
+            int option = selectOption(visits, rewards, totalVisits);
+            GameState state = root.copy();
+            options.get(option).accept(state);
+            rewards[option] += rollout(state, player, random);
+            visits[option]++;
+            totalVisits++;
+        } while (((rollouts > 0) ? (totalVisits < rollouts) : (System.nanoTime() < deadline))
+                || (totalVisits < options.size()));
+        return visits;
+    }
+
+    /**
+     * Returns the option with the best UCB1 score, an option that was never played first.
+     */
+    private static int selectOption(int[] visits, double[] rewards, int totalVisits){
+        int bestOption = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double logTotal = Math.log(Math.max(1, totalVisits));
+        for (int i = 0; i < visits.length; i++) {
+            if(visits[i] == 0){
+                return i;
+            }
+            double score = (rewards[i] / visits[i]) + EXPLORATION * Math.sqrt(logTotal / visits[i]);
+            if(score > bestScore){
+                bestScore = score;
+                bestOption = i;
+            }
+        }
+        return bestOption;
+    }
+
+    /**
+     * Plays the game on with the default policy and scores it for a player.
+     * @param state state to play on, changed by the rollout
+     * @param player index of the player to score the game for
+     * @param random source of the dice
+     * @return score between 0 and 1
+     */
+    private static double rollout(GameState state, int player, RandomSource random){
+        for (int turn = 0; (turn < ROLLOUT_TURNS) && !state.isGameOver(); turn++) {
+            playTurn(state, random);
+        }
+        if(state.isGameOver()){
+            return (state.getWinner() == player) ? 1.0 : 0.0;
+        }
+        double totalNetWorth = 0;
+        for (int i = 0; i < state.getNumPlayers(); i++) {
+            totalNetWorth += state.getNetWorth(i);
+        }
+        if(totalNetWorth == 0){
+            return 0;
+        }
+        return state.getNetWorth(player) / totalNetWorth;
+    }
+
+    /**
+     * Plays the rest of the current player's turn with the default policy, like AIPlayer.playAITurn().
+     * @param state state to play on
+     * @param random source of the dice
+     */
+    public static void playTurn(GameState state, RandomSource random){
+        int player = state.getCurrentPlayerIndex();
+        while(!state.isGameOver() && (state.getCurrentPlayerIndex() == player) && state.getNextRoll()){
+            state.rollCommand(random);
+            if(!state.isGameOver() && (state.getCurrentPlayerIndex() == player) && !state.isBankrupt(player)){
+                defaultPolicy(state, player);
+            }
+        }
+        if(!state.isGameOver() && (state.getCurrentPlayerIndex() == player)){
+            state.passPlayerTurn();
+        }
+    }
+
+    /**
+     * Default policy of the rollouts: buy the square the player is on and one house on each square of its
+     * complete color sets, as long as ROLLOUT_RESERVE is left in cash.
+     */
+    private static void defaultPolicy(GameState state, int player){
+        Board board = state.getBoard();
+        int square = state.getPosition(player);
+        if(GameState.isPurchasable(square) && (state.getOwner(square) == GameState.BANK)
+                && (state.getBalance(player) - board.getProperty(square).getPrice() >= ROLLOUT_RESERVE)){
+            state.purchaseProperty();
+        }
+        long completeColorSets = board.getColorSets().getCompleteColorSets(state.getOwnedSquares(player));
+        for (long squares = completeColorSets; squares != 0; squares &= squares - 1) {
+            int buildSquare = Long.numberOfTrailingZeros(squares);
+            if(state.getBalance(player) - board.getProperty(buildSquare).getHousePrice() >= ROLLOUT_RESERVE){
+                state.purchaseHouseOrHotel(buildSquare);
+            }
+        }
+    }
+
+    /**
+     * Creates the factory of the worker threads, daemon threads so they never keep the game running.
+     */
+    private static ThreadFactory newWorkerThreadFactory(){
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "monte-carlo-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Class NullGameEventListener, a GameEventListener that ignores every event.
+ * Used by BoardModel when the game runs headless (no BoardView), so a turn does no GUI work at all.
+ * The class has no state, so a single shared INSTANCE can be used by any number of games.
+ */
+public final class NullGameEventListener implements GameEventListener {
+
+    public static final NullGameEventListener INSTANCE = new NullGameEventListener();
+
+    private NullGameEventListener(){}
+
+    @Override
+    public void setEventLabelText(String eventText, String eventText2) {}
+
+    @Override
+    public void setEventLabel3Text(String eventText) {}
+
+    @Override
+    public void setPlayerIconVisibility(int playerIndex, int position, Boolean visible) {}
+
+    @Override
+    public void updateHousesIcons(Integer propertyLocation) {}
+
+    @Override
+    public void updateAllHousesIcons() {}
+
+    @Override
+    public void updateAllPlayersStatus(int numOfPlayers) {}
+
+    @Override
+    public void setPurchaseHouseButtonVisibility(Boolean visible) {}
+
+    @Override
+    public void setAllPropertys() {}
+
+    @Override
+    public void gameLoaded(int numOfPlayers) {}
+
+    @Override
+    public void resultsMessageWindow() {}
+
+    @Override
+    public void aiStepFinished() {}
+}
@@ -14,10 +14,20 @@ import java.util.List;
  * inJail, true if Player is in Jail in the game, else false.
  * turnsInJail is Integer of how many turns a Player is in Jail, can go from 1 to 3.
  * bankruptStatus is Status of player if Bankrupt or not. If false then not bankrupt, If true then Bankrupt.
+ * ownedSquares is a mask of the locations of the Property the player owns, bit i is set if the player owns location i.
+ * completeColorSets is the mask of the color sets the player owns completely (railroads are not a color set),
+ * updated with ownedSquares when the player gains or loses a Property, so it is never recomputed from scratch.
+ * controlledProperty and the masks only change through Property.setOwner(), so they always match the owners of the board.
+ * The player has a color set when completeColorSets is not empty.
+ * BANK is the single owner of every Property no player owns, Property owners are compared with it by identity.
  */
 public class Player {
 
+    public static final Player BANK = new Player("bank", Color.white, 1000000, false);
+
     private List<Property> controlledProperty;
+    private long ownedSquares;
+    private long completeColorSets;
     private Boolean ownsBothUtil;
     private int balance;
     private int ownsXtrains;
@@ -29,7 +39,6 @@ public class Player {
     private int numOfDoubleRolls;
     private Boolean ai;
     private Boolean bankruptStatus;
-    private Boolean hasAColorSet;
 
     /**
      *
@@ -50,7 +59,6 @@ public class Player {
         this.turnsInJail = 0;
         this.ai = isAi;
         this.numOfDoubleRolls = 0;
-        this.hasAColorSet = false;
 
     }
 
@@ -140,19 +148,27 @@ public class Player {
     }
 
     /**
-     * Appends property onto controlledProperty ArrayList
+     * Appends property onto controlledProperty ArrayList, called by Property.setOwner()
      * @param property the property param appended onto controlledProperty ArrayList
      */
-    public void gainProperty(Property property) {
+    void gainProperty(Property property) {
         controlledProperty.add(property);
+        ownedSquares |= (1L << property.getLocation());
+        if(property.getColorSets() != null){
+            completeColorSets |= property.getColorSets().getCompletedColorSet(ownedSquares, property.getLocation());
+        }
     }
 
     /**
-     * Removes a given property from the controlledProperty List of the Player
+     * Removes a given property from the controlledProperty List of the Player, called by Property.setOwner()
      * @param property
      */
-    public void removeProperty(Property property) {
+    void removeProperty(Property property) {
         controlledProperty.remove(property);
+        ownedSquares &= ~(1L << property.getLocation());
+        if(property.getColorSets() != null){
+            completeColorSets &= ~property.getColorSets().getColorSetMask(property.getLocation());
+        }
     }
 
     /**
@@ -163,18 +179,40 @@ public class Player {
         return controlledProperty;
     }
 
+    /**
+     * Gets the mask of the locations of the Property the player owns, bit i is set if the player owns location i.
+     * @return long mask of owned locations
+     */
+    public long getOwnedSquares() {
+        return ownedSquares;
+    }
+
+    /**
+     * Gets the mask of the squares of the color sets the player owns completely (railroads are not a color set).
+     * @return long mask of the complete color sets
+     */
+    public long getCompleteColorSets() {
+        return completeColorSets;
+    }
+
+    /**
+     * Returns true if the player owns the Property at a location.
+     * @param location location of the Property
+     */
+    public boolean ownsSquare(int location) {
+        return (ownedSquares & (1L << location)) != 0;
+    }
+
     /**
      * Removes all the Property the Player owns.
      */
     public void removeAllControlledProperty(){
-        for(int i = 0; i < controlledProperty.size(); i++){
-            controlledProperty.get(i).setOwner(newPlayer("bank",new Color(10,10,10),1000000,false));
-            controlledProperty.get(i).setNumHouses(0);
-            controlledProperty.get(i).setNumHotels(0);
+        for(Property property : new ArrayList<>(controlledProperty)){
+            property.setOwner(BANK);
+            property.setNumHouses(0);
+            property.setNumHotels(0);
 
         }
-        controlledProperty = new ArrayList<>();
-        hasAColorSet = false;
         ownsBothUtil = false;
         ownsXtrains = 0;
     }
@@ -201,6 +239,12 @@ public class Player {
      */
     public int getBalance(){return balance;}
 
+    /**
+     * Setter method for the balance of a Player
+     * @param balance Integer balance to set
+     */
+    public void setBalance(int balance){this.balance = balance;}
+
     /**
      * Method to add a given integer amount to Player's balance
      * @param amount the Integer amount to add
@@ -219,7 +263,6 @@ public class Player {
             this.balance = 0;
             this.bankruptStatus = true;
             this.removeAllControlledProperty();
-            System.out.println(this.name+" goes Bankrupt!");
         }
         else{
             balance -= amount;
@@ -249,14 +292,9 @@ public class Player {
     public void setNumOfDoubleRolls(int number){numOfDoubleRolls = number;}
 
     /**
-     * Getter method for hasAColorSet
-     */
-    public Boolean getHasAColorSet(){return hasAColorSet;}
-
-    /**
-     * Setter method for hasAColorSet
+     * Returns true if the player owns a complete color set, derived from completeColorSets
      */
-    public void setHasAColorSet(Boolean status){hasAColorSet = status;}
+    public Boolean getHasAColorSet(){return completeColorSets != 0;}
 
     /**
      * Getter method for AI
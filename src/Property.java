@@ -3,7 +3,8 @@ import java.awt.*;
 /**
  * Class Property. String name for name of property.
  * Integer rent for rent to pay for the property if a non-owner player lands on it.
- * owner variable is a Player who is the owner of the property.
+ * owner variable is a Player who is the owner of the property, changed only through setOwner(), which also moves
+ * the property between the controlled property and masks of the old and new owner.
  * Integer price is the cost to purchase the property.
  * Integer numHouses is number of houses on the property.
  * Integer numHotels is number of hotels on the property.
@@ -20,6 +21,8 @@ public class Property {
     private int housePrice;
     private Color color;
     private int location; //Location on the board
+    private RentTable rentTable; //Rents of the board, set once the board is loaded
+    private ColorSets colorSets; //Color set masks of the board, set once the board is loaded
 
     /**
      * Property Constructor. Outlines property information like name, price, rent,
@@ -31,10 +34,9 @@ public class Property {
      * @param location location of property
      */
     public Property(String name, int price, int rent, Color color, int location){
-        Player bank = new Player("bank",Color.white,1000000, false);
         this.name = name;
         this.rent = rent;
-        this.owner = bank;
+        this.owner = Player.BANK;
         this.price = price;
         numHouses = 0;
         numHotels = 0;
@@ -51,9 +53,8 @@ public class Property {
      * @param location location of property
      */
     public Property(String name, Color color, int location) {
-        Player bank = new Player("bank",Color.white,1000000, false);
         this.name = name;
-        this.owner = bank;
+        this.owner = Player.BANK;
         numHouses = 0;
         numHotels = 0;
         this.color = color;
@@ -69,26 +70,49 @@ public class Property {
     }
 
     /**
-     * gets and returns rent variable
-     * @return rent variable
+     * gets and returns the rent to pay, looked up in the RentTable of the board at the rent level of the property
+     * @return rent to pay
      */
     public int getRent() {
-        return rent * (numHouses + (numHotels * 5) + 1);
+        if(rentTable == null){
+            return RentTable.computeRent(this, getRentLevel());
+        }
+        return rentTable.getRent(location, getRentLevel());
+    }
+
+    /**
+     * gets and returns the rent level of the property: number of houses, or 5 with a hotel
+     * @return rent level, between 0 and RentTable.NUM_LEVELS - 1
+     */
+    public int getRentLevel() {
+        return numHouses + (numHotels * 5);
+    }
+
+    /**
+     * assigns the RentTable of the board the property is on
+     * @param rentTable RentTable of the board
+     */
+    public void setRentTable(RentTable rentTable) {
+        this.rentTable = rentTable;
     }
 
     /**
      * Pays rent for player given payingPlayer parameter of class Player
      * Removes respective money from balance.
      * @param payingPlayer the player paying the rent
+     * @return the rent paid, 0 if no rent is paid
      */
-    public void payRent(Player payingPlayer){
+    public int payRent(Player payingPlayer){
         int taxLocation1 = 4; int taxLocation2 = 38;
-        if(!owner.getName().equals("bank")||(location == taxLocation1)||(location == taxLocation2)){
-            payingPlayer.removefromBalance(this.getRent());
-            if (owner != null) {
-                owner.addToBalance(this.getRent());
+        if((owner != Player.BANK)||(location == taxLocation1)||(location == taxLocation2)){
+            int rentToPay = getRent();
+            payingPlayer.removefromBalance(rentToPay);
+            if (owner != Player.BANK) {
+                owner.addToBalance(rentToPay);
             }
+            return rentToPay;
         }
+        return 0;
     }
 
     /**
@@ -114,11 +138,22 @@ public class Property {
     }
 
     /**
-     * assigns given parameter to the owner variable
+     * assigns given parameter to the owner variable, and moves the property from the old owner to the new one
+     * (Player.removeProperty() and gainProperty()), the bank keeps no list of its property
      * @param owner of class Player
      */
     public void setOwner(Player owner) {
+        if(owner == this.owner){
+            return;
+        }
+        Player oldOwner = this.owner;
         this.owner = owner;
+        if((oldOwner != null) && (oldOwner != Player.BANK)){
+            oldOwner.removeProperty(this);
+        }
+        if((owner != null) && (owner != Player.BANK)){
+            owner.gainProperty(this);
+        }
     }
 
     /**
@@ -157,6 +192,7 @@ public class Property {
      */
     public void setNumHouses(int numHouses) {
         this.numHouses = numHouses;
+        updateRentLevel();
     }
 
     /**
@@ -173,6 +209,29 @@ public class Property {
      */
     public void setNumHotels(int numHotels) {
         this.numHotels = numHotels;
+        updateRentLevel();
+    }
+
+    /**
+     * assigns the ColorSets of the board the property is on
+     * @param colorSets ColorSets of the board
+     */
+    public void setColorSets(ColorSets colorSets) {
+        this.colorSets = colorSets;
+    }
+
+    /**
+     * Getter method for the ColorSets of the board the property is on, null until the board is loaded
+     */
+    public ColorSets getColorSets(){return colorSets;}
+
+    /**
+     * updates the rent level of the property in the ColorSets of the board, after houses or hotels changed
+     */
+    private void updateRentLevel() {
+        if(colorSets != null){
+            colorSets.setRentLevel(location, numHouses + (numHotels * 5));
+        }
     }
 
     /**
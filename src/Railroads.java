@@ -20,20 +20,9 @@ public class Railroads extends Property {
 
     @Override
     /**
-     * get rent of railroad, calculate it using if statements, and return the rent.
+     * get rent level of railroad, the number of railroads its owner has (rent of 1, 1, 2, 4 or 8 times rentVar).
      */
-    public int getRent() {
-        if (this.getOwner().getOwnsXtrains() == 2){
-            return getrentVar()*2; //50
-        }
-        else if (this.getOwner().getOwnsXtrains() == 3){
-            return getrentVar()*4; //100
-        }
-        else if(this.getOwner().getOwnsXtrains() == 4){
-            return getrentVar()*8; //200
-        }
-        else{
-            return getrentVar();
-        }
+    public int getRentLevel() {
+        return this.getOwner().getOwnsXtrains();
     }
 }
@@ -0,0 +1,13 @@
+/**
+ * Interface RandomSource, the source of all random numbers of a BoardModel (dice rolls, first player).
+ * Every BoardModel has its own RandomSource, so games played in parallel never share random state.
+ */
+public interface RandomSource {
+
+    /**
+     * Returns the next random integer between 0 (inclusive) and bound (exclusive).
+     * @param bound upper bound of the random integer, must be positive
+     * @return int between 0 and bound - 1
+     */
+    int nextInt(int bound);
+}
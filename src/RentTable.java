@@ -0,0 +1,61 @@
+/**
+ * Class RentTable, the rent of every square of a Board at every rent level, computed once when the board is loaded.
+ * The rent level of a street is its number of houses, or 5 with a hotel (rent * (level + 1)).
+ * The rent level of a railroad is the number of railroads its owner has (rent * 1, 1, 2, 4, 8),
+ * and the rent level of a utility is 1 when its owner has both utilities.
+ * rents stores the rent of square s at level l at index s * NUM_LEVELS + l, so a rent is a single array lookup.
+ */
+public class RentTable {
+    public static final int NUM_LEVELS = 6;
+    private static final int[] RAILROAD_MULTIPLIERS = {1, 1, 2, 4, 8, 8};
+
+    private final int[] rents;
+    private final boolean[] railroads;
+
+    /**
+     * RentTable Constructor, computes the rents of all Property of the board and gives each Property the table.
+     * @param board Board to compute the rents of
+     */
+    public RentTable(Board board){
+        int numSquares = board.getPropertyArrayList().size();
+        this.rents = new int[numSquares * NUM_LEVELS];
+        this.railroads = new boolean[numSquares];
+        for (int square = 0; square < numSquares; square++) {
+            Property property = board.getProperty(square);
+            railroads[square] = property instanceof Railroads;
+            for (int level = 0; level < NUM_LEVELS; level++) {
+                rents[square * NUM_LEVELS + level] = computeRent(property, level);
+            }
+            property.setRentTable(this);
+        }
+    }
+
+    /**
+     * Computes the rent of a Property at a rent level.
+     * @param property Property to compute the rent of
+     * @param level rent level, between 0 and NUM_LEVELS - 1
+     * @return rent of the property
+     */
+    public static int computeRent(Property property, int level){
+        if(property instanceof Railroads){
+            return property.getrentVar() * RAILROAD_MULTIPLIERS[level];
+        }
+        if(property instanceof Utilities){
+            return (level == 0) ? property.getrentVar() : (int)(property.getrentVar() * 2.5);
+        }
+        return property.getrentVar() * (level + 1);
+    }
+
+    /**
+     * Returns the rent of a square at a rent level.
+     * @param square location of the square
+     * @param level rent level, between 0 and NUM_LEVELS - 1
+     */
+    public int getRent(int square, int level){return rents[square * NUM_LEVELS + level];}
+
+    /**
+     * Returns true if the square is a railroad, whose rent level is the number of railroads of its owner.
+     * @param square location of the square
+     */
+    public boolean isRailroad(int square){return railroads[square];}
+}
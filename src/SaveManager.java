@@ -0,0 +1,264 @@
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Class SaveManager, the named save slots of a directory. Each slot is a binary save (see SavedGame) named after the
+ * slot, and the index file index.xml lists the SaveSlot metadata of every slot (players, turn, time of the save).
+ * save() takes an immutable SavedGame snapshot of the game on the calling thread, which is quick, and writes it on a
+ * background thread, so the game (and the GUI) goes on right away. Saves are written one at a time, in order.
+ * The slot and the index are each written to a temporary file and renamed over the old one, so a crash in the middle
+ * of a save leaves the previous content of the slot. The index is rebuilt from the slot files when it is missing,
+ * can not be read, or does not list a slot written just before a crash.
+ */
+public class SaveManager {
+    public static final String DEFAULT_DIRECTORY = "Saves";
+    public static final String INDEX_FILE_NAME = "index.xml";
+    private static final Pattern SLOT_NAME_PATTERN = Pattern.compile("[A-Za-z0-9 _-]{1,64}");
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final File directory;
+    private final File indexFile;
+    private final Map<String, SaveSlot> slots;
+    private final ExecutorService saveWorker;
+
+    /**
+     * SaveManager Constructor, reads the index of the slots of a directory, the directory is created by the first save.
+     * @param directory directory of the slots
+     */
+    public SaveManager(File directory){
+        this.directory = directory;
+        this.indexFile = new File(directory, INDEX_FILE_NAME);
+        this.slots = new LinkedHashMap<>();
+        this.saveWorker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        readIndex();
+    }
+
+    /**
+     * Returns true if a name can be the name of a slot: 1 to 64 letters, digits, spaces, '-' or '_'.
+     * @param slotName name to check
+     */
+    public static boolean isValidSlotName(String slotName){
+        return (slotName != null) && SLOT_NAME_PATTERN.matcher(slotName).matches();
+    }
+
+    /**
+     * Saves a game in a slot, replacing the game saved in it if any.
+     * The snapshot of the game is taken before this method returns, the file is written on the save thread.
+     * @param slotName name of the slot, see isValidSlotName()
+     * @param boardModel BoardModel of the game to save
+     * @return CompletableFuture of the SaveSlot saved, completed exceptionally if the save could not be written
+     */
+    public CompletableFuture<SaveSlot> save(String slotName, BoardModel boardModel){
+        if(!isValidSlotName(slotName)){
+            throw new IllegalArgumentException("Invalid save slot name: " + slotName);
+        }
+        SavedGame snapshot = SavedGame.fromModel(boardModel);
+        List<String> playerNames = new ArrayList<>();
+        for (Player player : boardModel.players) {
+            playerNames.add(player.getName());
+        }
+        SaveSlot slot = new SaveSlot(slotName, playerNames, boardModel.getTurnCount(), System.currentTimeMillis());
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                writeSlot(slot, snapshot);
+                return slot;
+            }
+            catch (IOException | XMLStreamException e){
+                throw new CompletionException(e);
+            }
+        }, saveWorker);
+    }
+
+    /**
+     * Loads the game of a slot into a BoardModel, see BoardModel.load().
+     * @param slotName name of the slot
+     * @param boardModel BoardModel to load the game in
+     * @return true if the slot exists
+     */
+    public boolean load(String slotName, BoardModel boardModel){
+        if(getSlot(slotName) == null){
+            return false;
+        }
+        boardModel.load(getSlotFile(slotName).getPath());
+        return true;
+    }
+
+    /**
+     * Returns the slots, in the order they were first saved in.
+     */
+    public synchronized List<SaveSlot> getSlots(){
+        return new ArrayList<>(slots.values());
+    }
+
+    /**
+     * Returns the SaveSlot of a slot, null if there is no slot with this name.
+     * @param slotName name of the slot
+     */
+    public synchronized SaveSlot getSlot(String slotName){
+        return slots.get(slotName);
+    }
+
+    /**
+     * Returns the save file of a slot.
+     * @param slotName name of the slot
+     */
+    public File getSlotFile(String slotName){
+        return new File(directory, slotName + BoardModel.BINARY_SAVE_EXTENSION);
+    }
+
+    /**
+     * Waits for the saves already started to be written, and stops the save thread.
+     * @param timeoutMillis maximum time to wait, in milliseconds
+     * @return true if every save was written in time
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        saveWorker.shutdown();
+        return saveWorker.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the snapshot of a slot then the index, on the save thread.
+     */
+    private void writeSlot(SaveSlot slot, SavedGame snapshot) throws IOException, XMLStreamException {
+        if(!directory.isDirectory() && !directory.mkdirs()){
+            throw new IOException("Save directory can not be created: " + directory);
+        }
+        snapshot.writeBinaryAtomically(getSlotFile(slot.getName()));
+        List<SaveSlot> indexSlots;
+        synchronized (this) {
+            slots.put(slot.getName(), slot);
+            indexSlots = new ArrayList<>(slots.values());
+        }
+        writeIndex(indexSlots);
+    }
+
+    /**
+     * Writes the index of the slots to a temporary file, forces it to the disk and renames it over the index.
+     */
+    private void writeIndex(List<SaveSlot> indexSlots) throws IOException, XMLStreamException {
+        File temporaryFile = new File(indexFile.getPath() + SavedGame.TEMPORARY_EXTENSION);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryFile), StandardCharsets.UTF_8))) {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+            xml.writeStartElement("SaveSlots");
+            xml.writeCharacters("\n");
+            for (SaveSlot slot : indexSlots) {
+                xml.writeCharacters("    ");
+                xml.writeStartElement("Slot");
+                xml.writeCharacters("\n");
+                writeIndexElement(xml, "name", slot.getName());
+                for (String playerName : slot.getPlayerNames()) {
+                    writeIndexElement(xml, "player", playerName);
+                }
+                writeIndexElement(xml, "turn", String.valueOf(slot.getTurn()));
+                writeIndexElement(xml, "timestamp", String.valueOf(slot.getTimestamp()));
+                xml.writeCharacters("    ");
+                xml.writeEndElement();
+                xml.writeCharacters("\n");
+            }
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.flush();
+        }
+        try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        SavedGame.moveAtomically(temporaryFile, indexFile);
+    }
+
+    /**
+     * Writes an element of a Slot of the index on its own line.
+     */
+    private static void writeIndexElement(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeCharacters("        ");
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+    }
+
+    /**
+     * Reads the index of the slots, then lists the slot files missing from it with the metadata found in the file,
+     * and drops the slots of the index that have no file.
+     */
+    private synchronized void readIndex(){
+        if(indexFile.exists()){
+            try (InputStream in = new BufferedInputStream(new FileInputStream(indexFile))) {
+                XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+                while(xml.hasNext()){
+                    if((xml.next() == XMLStreamConstants.START_ELEMENT) && xml.getLocalName().equals("Slot")){
+                        SaveSlot slot = readIndexSlot(xml);
+                        if(isValidSlotName(slot.getName()) && getSlotFile(slot.getName()).exists()){
+                            slots.put(slot.getName(), slot);
+                        }
+                    }
+                }
+                xml.close();
+            }
+            catch (IOException | XMLStreamException | NumberFormatException e){
+                System.out.println("Save index can not be read, it is rebuilt from the save files: " + e.getMessage());
+                slots.clear();
+            }
+        }
+        File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(BoardModel.BINARY_SAVE_EXTENSION));
+        if(files == null){
+            return;
+        }
+        for (File file : files) {
+            String slotName = file.getName().substring(0, file.getName().length() - BoardModel.BINARY_SAVE_EXTENSION.length());
+            if(isValidSlotName(slotName) && !slots.containsKey(slotName)){
+                try {
+                    SavedGame savedGame = SavedGame.readBinary(file);
+                    slots.put(slotName, new SaveSlot(slotName, savedGame.getPlayerNames(), savedGame.getTurnCount(), file.lastModified()));
+                }
+                catch (IOException e){
+                    System.out.println(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the children of a Slot element of the index, the reader is left on its end tag.
+     */
+    private static SaveSlot readIndexSlot(XMLStreamReader xml) throws XMLStreamException {
+        String name = "";
+        List<String> playerNames = new ArrayList<>();
+        int turn = -1;
+        long timestamp = 0;
+        while(xml.nextTag() == XMLStreamConstants.START_ELEMENT){
+            String element = xml.getLocalName();
+            String text = xml.getElementText();
+            switch (element) {
+                case "name": name = text; break;
+                case "player": playerNames.add(text); break;
+                case "turn": turn = Integer.parseInt(text.trim()); break;
+                case "timestamp": timestamp = Long.parseLong(text.trim()); break;
+                default: break;
+            }
+        }
+        return new SaveSlot(name, playerNames, turn, timestamp);
+    }
+}
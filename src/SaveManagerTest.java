@@ -0,0 +1,136 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+
+
+public class SaveManagerTest {
+
+    private BoardModel newGame(long seed){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(seed));
+        for (int i = 0; i < 4; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(50*i,10,10), 1500, 4, boardModel.getBoard(), boardModel, null));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(100);
+        return boardModel;
+    }
+
+    private File newSaveDirectory() throws IOException {
+        File directory = Files.createTempDirectory("SaveManagerTest").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    private void deleteOnExit(File directory){
+        File[] files = directory.listFiles();
+        if(files != null){
+            for (File file : files) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    // A save is the game at the time save() returned, even if the game goes on while it is written
+    @Test
+    public void testSaveAndLoadSlots() throws Exception {
+        File directory = newSaveDirectory();
+        SaveManager saveManager = new SaveManager(directory);
+        BoardModel boardModel = newGame(3);
+        String firstXML = boardModel.toXML();
+        int firstTurn = boardModel.getTurnCount();
+        CompletableFuture<SaveSlot> first = saveManager.save("First", boardModel);
+        boardModel.playScheduledTurns(50);
+        String secondXML = boardModel.toXML();
+        SaveSlot second = saveManager.save("Second game", boardModel).get();
+        assertEquals(firstTurn, first.get().getTurn());
+        assertEquals(Arrays.asList("AI Player1", "AI Player2", "AI Player3", "AI Player4"), second.getPlayerNames());
+        deleteOnExit(directory);
+
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        assertTrue(saveManager.load("First", loadedBoardModel));
+        assertEquals(firstXML, loadedBoardModel.toXML());
+        assertEquals(firstTurn, loadedBoardModel.getTurnCount());
+        assertTrue(saveManager.load("Second game", loadedBoardModel));
+        assertEquals(secondXML, loadedBoardModel.toXML());
+        assertFalse(saveManager.load("Third", loadedBoardModel));
+        assertTrue(saveManager.shutdown(1000));
+
+        // the index keeps the slots and their metadata
+        List<SaveSlot> slots = new SaveManager(directory).getSlots();
+        assertEquals(2, slots.size());
+        assertEquals("First", slots.get(0).getName());
+        assertEquals(firstTurn, slots.get(0).getTurn());
+        assertEquals(second.getTimestamp(), slots.get(1).getTimestamp());
+        assertEquals(second.getPlayerNames(), slots.get(1).getPlayerNames());
+    }
+
+    // Saving a slot again replaces it, the other slots are kept
+    @Test
+    public void testOverwriteSlot() throws Exception {
+        File directory = newSaveDirectory();
+        SaveManager saveManager = new SaveManager(directory);
+        BoardModel boardModel = newGame(5);
+        saveManager.save("Slot", boardModel).get();
+        saveManager.save("Other", newGame(6)).get();
+        boardModel.playScheduledTurns(20);
+        saveManager.save("Slot", boardModel).get();
+        deleteOnExit(directory);
+
+        assertEquals(2, saveManager.getSlots().size());
+        assertEquals(boardModel.getTurnCount(), saveManager.getSlot("Slot").getTurn());
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        saveManager.load("Slot", loadedBoardModel);
+        assertEquals(boardModel.toXML(), loadedBoardModel.toXML());
+        assertEquals(2, new SaveManager(directory).getSlots().size());
+    }
+
+    // A save cut off before its rename leaves the previous save of the slot, and a lost index is rebuilt from the saves
+    @Test
+    public void testInterruptedSave() throws Exception {
+        File directory = newSaveDirectory();
+        SaveManager saveManager = new SaveManager(directory);
+        BoardModel boardModel = newGame(9);
+        String savedXML = boardModel.toXML();
+        saveManager.save("Slot", boardModel).get();
+        File slotFile = saveManager.getSlotFile("Slot");
+        File temporaryFile = new File(slotFile.getPath() + SavedGame.TEMPORARY_EXTENSION);
+        Files.write(temporaryFile.toPath(), new byte[]{'M', 'S', 'A'});
+        new File(directory, SaveManager.INDEX_FILE_NAME).delete();
+        deleteOnExit(directory);
+
+        SaveManager rebuiltSaveManager = new SaveManager(directory);
+        assertEquals(1, rebuiltSaveManager.getSlots().size());
+        assertEquals(boardModel.getPlayer(0).getName(), rebuiltSaveManager.getSlot("Slot").getPlayerNames().get(0));
+        assertEquals(boardModel.getTurnCount(), rebuiltSaveManager.getSlot("Slot").getTurn());
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        assertTrue(rebuiltSaveManager.load("Slot", loadedBoardModel));
+        assertEquals(savedXML, loadedBoardModel.toXML());
+
+        // a corrupted index is rebuilt as well
+        Files.write(new File(directory, SaveManager.INDEX_FILE_NAME).toPath(), new byte[]{'<', 'S'});
+        assertEquals(1, new SaveManager(directory).getSlots().size());
+    }
+
+    // Slot names are checked before the game is saved
+    @Test
+    public void testInvalidSlotName() throws IOException {
+        SaveManager saveManager = new SaveManager(newSaveDirectory());
+        for (String slotName : new String[]{"", "../Slot", "Slot.sav", null}) {
+            try {
+                saveManager.save(slotName, newGame(1));
+                fail("invalid slot name was saved: " + slotName);
+            }
+            catch (IllegalArgumentException e) {
+                assertTrue(saveManager.getSlots().isEmpty());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Class SaveSlot, the metadata of a named save slot of the SaveManager: the names of the players of the game saved,
+ * the turn it was saved at (-1 if unknown) and the time it was saved at, in milliseconds since the epoch.
+ * A SaveSlot never changes, saving a slot again replaces its SaveSlot.
+ */
+public final class SaveSlot {
+    private final String name;
+    private final List<String> playerNames;
+    private final int turn;
+    private final long timestamp;
+
+    /**
+     * SaveSlot Constructor
+     * @param name name of the slot
+     * @param playerNames names of the players of the game saved
+     * @param turn turn the game was saved at, -1 if unknown
+     * @param timestamp time the game was saved at, in milliseconds since the epoch
+     */
+    public SaveSlot(String name, List<String> playerNames, int turn, long timestamp){
+        this.name = name;
+        this.playerNames = Collections.unmodifiableList(new ArrayList<>(playerNames));
+        this.turn = turn;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Getter method for the name of the slot
+     */
+    public String getName(){return name;}
+
+    /**
+     * Getter method for the names of the players of the game saved
+     */
+    public List<String> getPlayerNames(){return playerNames;}
+
+    /**
+     * Getter method for the turn the game was saved at, -1 if unknown
+     */
+    public int getTurn(){return turn;}
+
+    /**
+     * Getter method for the time the game was saved at, in milliseconds since the epoch
+     */
+    public long getTimestamp(){return timestamp;}
+
+    @Override
+    public String toString(){
+        String s = name + " - " + String.join(", ", playerNames);
+        if(turn >= 0){
+            s += " - turn " + turn;
+        }
+        return s + " - " + new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date(timestamp));
+    }
+}
@@ -0,0 +1,687 @@
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.awt.*;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Class SavedGame, the state of a saved game, in one of two file formats.
+ * The xml format is the one written by BoardModel.writeXML(), read() fills a SavedGame in a single pass over it
+ * with an XMLStreamReader, so no DOM of the save is built.
+ * The binary format is written by writeBinary() from a SavedGame taken with fromModel(), and read by readBinary()
+ * through a memory mapped FileChannel. It is a header followed by a payload of three sections:
+ * <pre>
+ * header   magic "MSAV" (int), version (short), flags (short, bit 0: seeded), payload length (int), CRC32 of the payload (int)
+ * game     current player index (byte), nextRoll (byte), numPropertiesLeft (short), turnCount (int), seed (long),
+ *          randomDraws (long), currency (string)
+ * players  number of players (byte), then per player: name (string), balance (int), position, turnsInJail, ownsXtrains,
+ *          numOfDoubleRolls, flags (inJail 1, ownsBothUtil 2, ai 4, bankrupt 8, parameters 16), r, g, b (a byte each),
+ *          strategy (byte, index in STRATEGY_NAMES), and with the parameters flag the AIParameters of a "heuristic"
+ *          ai player that does not use AIParameters.DEFAULT (NUM_PARAMETERS doubles, in the order of toArray())
+ * squares  number of owned squares (byte), then per square: index, owner player index, numHouses, numHotels (a byte each)
+ * </pre>
+ * Strings are a short length followed by UTF-8 bytes, numbers are big endian.
+ * Version 1 saves have no strategy, their ai players load with the default HeuristicAIStrategy.
+ * Version 1 and 2 saves have no turnCount, they load with a turnCount of 0.
+ * The strategy of an ai player is saved by its name (see TournamentRunner.newStrategy(String, AIParameters)),
+ * a "mcts" player loads with the time budget of the GUI.
+ * applyTo() then replaces the board, players and attributes of a BoardModel with a SavedGame in one step.
+ * The board itself is not in the save file, it is the bundled board of the saved currency.
+ */
+public class SavedGame {
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    public static final int BINARY_MAGIC = 0x4D534156; // "MSAV"
+    public static final short BINARY_VERSION = 3;
+    public static final int BINARY_HEADER_SIZE = 16;
+    public static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final short SEEDED_FLAG = 1;
+    private static final int IN_JAIL_FLAG = 1;
+    private static final int OWNS_BOTH_UTIL_FLAG = 2;
+    private static final int AI_FLAG = 4;
+    private static final int BANKRUPT_FLAG = 8;
+    private static final int PARAMETERS_FLAG = 16;
+    private static final String[] STRATEGY_NAMES = {"heuristic", "expected", "mcts"};
+
+    private String currency;
+    private final List<SavedPlayer> players;
+    private final List<SavedSquare> squares;
+    private int currentPlayerIndex;
+    private boolean nextRoll;
+    private int numPropertiesLeft;
+    private int turnCount;
+    private boolean seeded;
+    private long seed;
+    private long randomDraws;
+
+    /**
+     * SavedGame Constructor, an empty saved game.
+     */
+    private SavedGame(){
+        this.currency = "";
+        this.players = new ArrayList<>();
+        this.squares = new ArrayList<>();
+        this.currentPlayerIndex = 0;
+        this.nextRoll = true;
+        this.numPropertiesLeft = 26;
+        this.turnCount = 0;
+        this.seeded = false;
+    }
+
+    /**
+     * Takes the saved game of the current state of a BoardModel, the squares saved are the ones owned by a player.
+     * The SavedGame shares nothing with the BoardModel, the game can go on while it is written.
+     * @param boardModel BoardModel to save
+     * @return SavedGame of the BoardModel
+     */
+    public static SavedGame fromModel(BoardModel boardModel){
+        SavedGame savedGame = new SavedGame();
+        Board board = boardModel.getBoard();
+        savedGame.currency = board.getCurrency();
+        for (int i = 0; i < boardModel.players.size(); i++) {
+            Player player = boardModel.getPlayer(i);
+            SavedPlayer savedPlayer = new SavedPlayer();
+            savedPlayer.name = player.getName();
+            savedPlayer.balance = player.getBalance();
+            savedPlayer.position = player.getPositon();
+            savedPlayer.inJail = player.getInJail();
+            savedPlayer.turnsInJail = player.getTurnsInJail();
+            savedPlayer.r = player.getColor().getRed();
+            savedPlayer.g = player.getColor().getGreen();
+            savedPlayer.b = player.getColor().getBlue();
+            savedPlayer.ownsXtrains = player.getOwnsXtrains();
+            savedPlayer.ownsBothUtil = player.getOwnsBothUtil();
+            savedPlayer.ai = player.getAi();
+            savedPlayer.numOfDoubleRolls = player.getNumOfDoubleRolls();
+            savedPlayer.bankrupt = player.getBankruptStatus();
+            if(player instanceof AIPlayer){
+                AIStrategy strategy = ((AIPlayer) player).getStrategy();
+                savedPlayer.strategy = TournamentRunner.getStrategyName(strategy);
+                if(strategy instanceof HeuristicAIStrategy){
+                    savedPlayer.parameters = ((HeuristicAIStrategy) strategy).getParameters();
+                }
+            }
+            savedGame.players.add(savedPlayer);
+        }
+        for (int i = 0; i < board.getPropertyArrayList().size(); i++) {
+            Property property = board.getProperty(i);
+            if(boardModel.players.contains(property.getOwner())){
+                SavedSquare savedSquare = new SavedSquare();
+                savedSquare.owner = property.getOwner().getName();
+                savedSquare.index = property.getLocation();
+                savedSquare.numHouses = property.getNumHouses();
+                savedSquare.numHotels = property.getNumHotels();
+                savedGame.squares.add(savedSquare);
+            }
+        }
+        savedGame.currentPlayerIndex = boardModel.getCurrentPlayerIndex();
+        savedGame.nextRoll = boardModel.getNextRoll();
+        savedGame.numPropertiesLeft = boardModel.getNumPropertiesLeft();
+        savedGame.turnCount = boardModel.getTurnCount();
+        if(boardModel.getRandomSource() instanceof SeededRandomSource){
+            SeededRandomSource seededRandomSource = (SeededRandomSource) boardModel.getRandomSource();
+            savedGame.seeded = true;
+            savedGame.seed = seededRandomSource.getSeed();
+            savedGame.randomDraws = seededRandomSource.getDraws();
+        }
+        return savedGame;
+    }
+
+    /**
+     * Reads a saved game from an xml save file.
+     * @param file save file to read
+     * @return SavedGame read
+     * @throws IOException if the file can not be read
+     * @throws XMLStreamException if the file is not well formed xml
+     */
+    public static SavedGame read(File file) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads a saved game from a stream in the xml save format.
+     * @param in stream to read, not closed
+     * @return SavedGame read
+     * @throws XMLStreamException if the stream is not well formed xml
+     */
+    public static SavedGame read(InputStream in) throws XMLStreamException {
+        SavedGame savedGame = new SavedGame();
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while(xml.hasNext()){
+                if(xml.next() != XMLStreamConstants.START_ELEMENT){
+                    continue;
+                }
+                switch (xml.getLocalName()) {
+                    case "Player": savedGame.players.add(readPlayer(xml)); break;
+                    case "Property": savedGame.squares.add(readSquare(xml)); break;
+                    case "Railroad": savedGame.squares.add(readSquare(xml)); break;
+                    case "Currency": savedGame.currency = xml.getElementText(); break;
+                    case "currentPlayerIndex": savedGame.currentPlayerIndex = parseInt(xml.getElementText()); break;
+                    case "nextRoll": savedGame.nextRoll = Boolean.parseBoolean(xml.getElementText().trim()); break;
+                    case "numPropertiesLeft": savedGame.numPropertiesLeft = parseInt(xml.getElementText()); break;
+                    case "turnCount": savedGame.turnCount = parseInt(xml.getElementText()); break;
+                    case "seed": savedGame.seed = Long.parseLong(xml.getElementText().trim()); savedGame.seeded = true; break;
+                    case "randomDraws": savedGame.randomDraws = Long.parseLong(xml.getElementText().trim()); break;
+                    default: break;
+                }
+            }
+        }
+        catch (NumberFormatException e){
+            throw new XMLStreamException("Invalid number in save file: " + e.getMessage(), xml.getLocation(), e);
+        }
+        finally {
+            xml.close();
+        }
+        if((savedGame.currentPlayerIndex < 0) || (savedGame.currentPlayerIndex >= savedGame.players.size())){
+            throw new XMLStreamException("Save file has no current player " + savedGame.currentPlayerIndex + " among its " + savedGame.players.size() + " players");
+        }
+        return savedGame;
+    }
+
+    /**
+     * Reads the children of a Player element, the reader is left on its end tag.
+     */
+    private static SavedPlayer readPlayer(XMLStreamReader xml) throws XMLStreamException {
+        SavedPlayer player = new SavedPlayer();
+        while(xml.nextTag() == XMLStreamConstants.START_ELEMENT){
+            String name = xml.getLocalName();
+            String text = xml.getElementText();
+            switch (name) {
+                case "name": player.name = text; break;
+                case "balance": player.balance = parseInt(text); break;
+                case "position": player.position = parseInt(text); break;
+                case "inJail": player.inJail = Boolean.parseBoolean(text.trim()); break;
+                case "turnsInJail": player.turnsInJail = parseInt(text); break;
+                case "r": player.r = parseInt(text); break;
+                case "g": player.g = parseInt(text); break;
+                case "b": player.b = parseInt(text); break;
+                case "ownsXtrains": player.ownsXtrains = parseInt(text); break;
+                case "ownsBothUtil": player.ownsBothUtil = Boolean.parseBoolean(text.trim()); break;
+                case "ai": player.ai = Boolean.parseBoolean(text.trim()); break;
+                case "numOfDoubleRolls": player.numOfDoubleRolls = parseInt(text); break;
+                case "bankruptStatus": player.bankrupt = Boolean.parseBoolean(text.trim()); break;
+                case "strategy": player.strategy = text.trim(); break;
+                case "strategyParameters": player.parameters = parseParameters(text); break;
+                default: break;
+            }
+        }
+        if(getStrategyIndex(player.strategy) < 0){
+            throw new XMLStreamException("Unknown AI strategy " + player.strategy + " of player " + player.name, xml.getLocation());
+        }
+        return player;
+    }
+
+    /**
+     * Reads the children of a Property or Railroad element, the reader is left on its end tag.
+     * A Railroad has no numHouses and numHotels, they stay 0.
+     */
+    private static SavedSquare readSquare(XMLStreamReader xml) throws XMLStreamException {
+        SavedSquare square = new SavedSquare();
+        while(xml.nextTag() == XMLStreamConstants.START_ELEMENT){
+            String name = xml.getLocalName();
+            String text = xml.getElementText();
+            switch (name) {
+                case "owner": square.owner = text; break;
+                case "index": square.index = parseInt(text); break;
+                case "numHouses": square.numHouses = parseInt(text); break;
+                case "numHotels": square.numHotels = parseInt(text); break;
+                default: break;
+            }
+        }
+        return square;
+    }
+
+    /**
+     * Formats AIParameters as the text of a strategyParameters element, the values of toArray() separated by spaces.
+     * @param parameters AIParameters to format
+     * @return text of the element
+     */
+    public static String formatParameters(AIParameters parameters){
+        StringBuilder text = new StringBuilder();
+        for (double value : parameters.toArray()) {
+            text.append((text.length() > 0) ? " " : "").append(value);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses the text of a strategyParameters element written by formatParameters().
+     */
+    private static AIParameters parseParameters(String text){
+        String[] values = text.trim().split("\\s+");
+        if(values.length != AIParameters.NUM_PARAMETERS){
+            throw new NumberFormatException("expected " + AIParameters.NUM_PARAMETERS + " strategy parameters, found " + values.length);
+        }
+        double[] parameters = new double[AIParameters.NUM_PARAMETERS];
+        for (int i = 0; i < AIParameters.NUM_PARAMETERS; i++) {
+            parameters[i] = Double.parseDouble(values[i]);
+        }
+        return AIParameters.fromArray(parameters);
+    }
+
+    /**
+     * Returns the index of a strategy name in STRATEGY_NAMES, -1 if it is not one.
+     */
+    private static int getStrategyIndex(String strategyName){
+        for (int i = 0; i < STRATEGY_NAMES.length; i++) {
+            if(STRATEGY_NAMES[i].equals(strategyName)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the AIParameters of a saved player are in the save, the ones of an ai player with the "heuristic"
+     * strategy that does not use AIParameters.DEFAULT.
+     */
+    private static boolean hasParameters(SavedPlayer player){
+        return player.ai && player.strategy.equals("heuristic") && (player.parameters != AIParameters.DEFAULT);
+    }
+
+    /**
+     * Parses the text of an int element, ignoring surrounding whitespace.
+     */
+    private static int parseInt(String text){
+        return Integer.parseInt(text.trim());
+    }
+
+    /**
+     * Writes the saved game to a file in the binary save format, replacing the file if it exists.
+     * @param file file to write
+     * @throws IOException if the file can not be written
+     */
+    public void writeBinary(File file) throws IOException {
+        // only the squares owned by a saved player are written, an xml save also lists the squares of the bank
+        List<SavedSquare> ownedSquares = new ArrayList<>();
+        for (SavedSquare square : squares) {
+            if(findPlayerIndex(square.owner) >= 0){
+                ownedSquares.add(square);
+            }
+        }
+        ByteBuffer payload = ByteBuffer.allocate(getBinaryPayloadSize(ownedSquares.size()));
+        payload.put((byte) currentPlayerIndex);
+        payload.put((byte) (nextRoll ? 1 : 0));
+        payload.putShort((short) numPropertiesLeft);
+        payload.putInt(turnCount);
+        payload.putLong(seed);
+        payload.putLong(randomDraws);
+        putString(payload, currency);
+        payload.put((byte) players.size());
+        for (SavedPlayer player : players) {
+            putString(payload, player.name);
+            payload.putInt(player.balance);
+            payload.put((byte) player.position);
+            payload.put((byte) player.turnsInJail);
+            payload.put((byte) player.ownsXtrains);
+            payload.put((byte) player.numOfDoubleRolls);
+            payload.put((byte) ((player.inJail ? IN_JAIL_FLAG : 0) | (player.ownsBothUtil ? OWNS_BOTH_UTIL_FLAG : 0)
+                    | (player.ai ? AI_FLAG : 0) | (player.bankrupt ? BANKRUPT_FLAG : 0) | (hasParameters(player) ? PARAMETERS_FLAG : 0)));
+            payload.put((byte) player.r);
+            payload.put((byte) player.g);
+            payload.put((byte) player.b);
+            payload.put((byte) getStrategyIndex(player.strategy));
+            if(hasParameters(player)){
+                for (double value : player.parameters.toArray()) {
+                    payload.putDouble(value);
+                }
+            }
+        }
+        payload.put((byte) ownedSquares.size());
+        for (SavedSquare square : ownedSquares) {
+            payload.put((byte) square.index);
+            payload.put((byte) findPlayerIndex(square.owner));
+            payload.put((byte) square.numHouses);
+            payload.put((byte) square.numHotels);
+        }
+        payload.flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE);
+        header.putInt(BINARY_MAGIC);
+        header.putShort(BINARY_VERSION);
+        header.putShort(seeded ? SEEDED_FLAG : 0);
+        header.putInt(payload.remaining());
+        header.putInt((int) crc.getValue());
+        header.flip();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, payload};
+            while(payload.hasRemaining()){
+                channel.write(buffers);
+            }
+        }
+    }
+
+    /**
+     * Writes the saved game to a file in the binary save format without ever leaving a partly written file:
+     * it is written to a temporary file next to it, forced to the disk, and renamed over the file.
+     * If the write fails or is cut short, the file keeps its previous content.
+     * @param file file to write
+     * @throws IOException if the file can not be written
+     */
+    public void writeBinaryAtomically(File file) throws IOException {
+        File temporaryFile = new File(file.getPath() + TEMPORARY_EXTENSION);
+        writeBinary(temporaryFile);
+        try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        moveAtomically(temporaryFile, file);
+    }
+
+    /**
+     * Renames a file over another one, atomically when the file system supports it.
+     * @param source file to rename
+     * @param target file replaced
+     * @throws IOException if the file can not be renamed
+     */
+    public static void moveAtomically(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e){
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads a saved game from a file in the binary save format, memory mapping the file.
+     * @param file save file to read
+     * @return SavedGame read
+     * @throws IOException if the file can not be read, is not a binary save of a known version, or fails its checksum
+     */
+    public static SavedGame readBinary(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size < BINARY_HEADER_SIZE){
+                throw new IOException("Not a binary save file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if(buffer.getInt() != BINARY_MAGIC){
+                throw new IOException("Not a binary save file: " + file);
+            }
+            short version = buffer.getShort();
+            if((version < 1) || (version > BINARY_VERSION)){
+                throw new IOException("Unsupported binary save version " + version + ": " + file);
+            }
+            short flags = buffer.getShort();
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if(payloadLength != size - BINARY_HEADER_SIZE){
+                throw new IOException("Truncated binary save file: " + file);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if((int) crc.getValue() != checksum){
+                throw new IOException("Corrupted binary save file, checksum mismatch: " + file);
+            }
+            return readBinaryPayload(buffer, version, flags);
+        }
+        catch (BufferUnderflowException | IllegalArgumentException e){
+            throw new IOException("Invalid binary save file: " + file, e);
+        }
+    }
+
+    /**
+     * Reads the sections of the payload of a binary save.
+     */
+    private static SavedGame readBinaryPayload(ByteBuffer payload, short version, short flags) throws IOException {
+        SavedGame savedGame = new SavedGame();
+        savedGame.seeded = (flags & SEEDED_FLAG) != 0;
+        savedGame.currentPlayerIndex = payload.get();
+        savedGame.nextRoll = payload.get() != 0;
+        savedGame.numPropertiesLeft = payload.getShort();
+        if(version >= 3){
+            savedGame.turnCount = payload.getInt();
+        }
+        savedGame.seed = payload.getLong();
+        savedGame.randomDraws = payload.getLong();
+        savedGame.currency = getString(payload);
+        int numPlayers = payload.get();
+        for (int i = 0; i < numPlayers; i++) {
+            SavedPlayer player = new SavedPlayer();
+            player.name = getString(payload);
+            player.balance = payload.getInt();
+            player.position = payload.get();
+            player.turnsInJail = payload.get();
+            player.ownsXtrains = payload.get();
+            player.numOfDoubleRolls = payload.get();
+            int playerFlags = payload.get();
+            player.inJail = (playerFlags & IN_JAIL_FLAG) != 0;
+            player.ownsBothUtil = (playerFlags & OWNS_BOTH_UTIL_FLAG) != 0;
+            player.ai = (playerFlags & AI_FLAG) != 0;
+            player.bankrupt = (playerFlags & BANKRUPT_FLAG) != 0;
+            player.r = payload.get() & 0xFF;
+            player.g = payload.get() & 0xFF;
+            player.b = payload.get() & 0xFF;
+            if(version >= 2){
+                int strategy = payload.get();
+                if((strategy < 0) || (strategy >= STRATEGY_NAMES.length)){
+                    throw new IOException("Player " + player.name + " has unknown AI strategy " + strategy);
+                }
+                player.strategy = STRATEGY_NAMES[strategy];
+                if((playerFlags & PARAMETERS_FLAG) != 0){
+                    double[] parameters = new double[AIParameters.NUM_PARAMETERS];
+                    for (int j = 0; j < AIParameters.NUM_PARAMETERS; j++) {
+                        parameters[j] = payload.getDouble();
+                    }
+                    player.parameters = AIParameters.fromArray(parameters);
+                }
+            }
+            savedGame.players.add(player);
+        }
+        int numSquares = payload.get();
+        for (int i = 0; i < numSquares; i++) {
+            SavedSquare square = new SavedSquare();
+            square.index = payload.get();
+            int owner = payload.get();
+            if((owner < 0) || (owner >= numPlayers)){
+                throw new IOException("Square " + square.index + " owned by unknown player " + owner);
+            }
+            square.owner = savedGame.players.get(owner).name;
+            square.numHouses = payload.get();
+            square.numHotels = payload.get();
+            savedGame.squares.add(square);
+        }
+        if((savedGame.currentPlayerIndex < 0) || (savedGame.currentPlayerIndex >= numPlayers)){
+            throw new IOException("Save file has no current player " + savedGame.currentPlayerIndex + " among its " + numPlayers + " players");
+        }
+        return savedGame;
+    }
+
+    /**
+     * Returns the size of the payload of the binary save of this game, with a number of owned squares.
+     */
+    private int getBinaryPayloadSize(int numOwnedSquares){
+        int size = 1 + 1 + 2 + 4 + 8 + 8 + getStringSize(currency) + 1 + 1 + (numOwnedSquares * 4);
+        for (SavedPlayer player : players) {
+            size += getStringSize(player.name) + 4 + 8 + 1 + (hasParameters(player) ? AIParameters.NUM_PARAMETERS * 8 : 0);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the index of the first saved player with a name, -1 if there is none.
+     */
+    private int findPlayerIndex(String name){
+        for (int i = 0; i < players.size(); i++) {
+            if(players.get(i).name.equals(name)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int getStringSize(String string){
+        return 2 + string.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(ByteBuffer buffer, String string){
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replaces the game of a BoardModel with this saved game: the bundled board of the saved currency,
+     * the saved players with the AIStrategy of the ai ones, the owners and houses of the squares, the current player,
+     * nextRoll, numPropertiesLeft, turnCount and, for a seeded save, the random source. Squares owned by a name that is not a saved player stay with the bank.
+     * When the BoardModel is already on the bundled board of the saved currency, that board is cleared and reused
+     * instead of loading it again.
+     * The state hash of the BoardModel is reset and its GameEventListener is told the game was loaded.
+     * @param boardModel BoardModel to load the game in
+     */
+    public void applyTo(BoardModel boardModel){
+        GameEventListener gameEventListener = boardModel.getGameEventListener();
+        String boardFileName = BoardConstructor.getBoardFileName(currency);
+        Board board = boardModel.getBoard();
+        if(boardFileName.equals(board.getUserInputSource())){
+            for (Property property : board.getPropertyArrayList()) {
+                property.setOwner(Player.BANK);
+                property.setNumHouses(0);
+                property.setNumHotels(0);
+            }
+        }
+        else{
+            board = new BoardConstructor(new Board(boardFileName)).loadBoardFromMapFile(boardFileName, true);
+            board.setIsValid(true);
+            boardModel.setBoard(board);
+        }
+        gameEventListener.setAllPropertys();
+
+        ArrayList<Player> loadedPlayers = boardModel.players;
+        loadedPlayers.clear();
+        for (int i = 0; i < players.size(); i++) {
+            SavedPlayer savedPlayer = players.get(i);
+            Color color = new Color(savedPlayer.r, savedPlayer.g, savedPlayer.b);
+            Player player = savedPlayer.ai
+                    ? new AIPlayer(savedPlayer.name, color, savedPlayer.balance, players.size(), board, boardModel, boardModel.getBoardView(),
+                            TournamentRunner.newStrategy(savedPlayer.strategy, savedPlayer.parameters))
+                    : new Player(savedPlayer.name, color, savedPlayer.balance, false);
+            player.setPosition(savedPlayer.position);
+            player.setInJail(savedPlayer.inJail);
+            player.setTurnsInJail(savedPlayer.turnsInJail);
+            player.setOwnsXtrains(savedPlayer.ownsXtrains);
+            player.setOwnsBothUtil(savedPlayer.ownsBothUtil);
+            player.setNumOfDoubleRolls(savedPlayer.numOfDoubleRolls);
+            player.setBankruptStatus(savedPlayer.bankrupt);
+            loadedPlayers.add(player);
+            //Make player's icon visible at new location
+            gameEventListener.setPlayerIconVisibility(i, savedPlayer.position, true);
+        }
+
+        for (SavedSquare savedSquare : squares) {
+            Player owner = findPlayer(loadedPlayers, savedSquare.owner);
+            if((owner != null) && (savedSquare.index >= 0) && (savedSquare.index < board.getPropertyArrayList().size())){
+                Property property = board.getProperty(savedSquare.index);
+                property.setOwner(owner);
+                property.setNumHouses(savedSquare.numHouses);
+                property.setNumHotels(savedSquare.numHotels);
+            }
+        }
+
+        boardModel.setCurrentPlayer(loadedPlayers.get(currentPlayerIndex));
+        boardModel.setNextRoll(nextRoll);
+        boardModel.setNumPropertiesLeft(numPropertiesLeft);
+        boardModel.setTurnCount(turnCount);
+        //Saves without a seed keep the current random source
+        if(seeded){
+            boardModel.setRandomSource(new SeededRandomSource(seed, randomDraws));
+        }
+        boardModel.resetStateHash();
+        gameEventListener.gameLoaded(players.size());
+    }
+
+    /**
+     * Returns the first player with a name, null if there is none.
+     */
+    private static Player findPlayer(List<Player> players, String name){
+        for (Player player : players) {
+            if(player.getName().equals(name)){
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Getter method for the currency of the saved game
+     */
+    public String getCurrency(){return currency;}
+
+    /**
+     * Getter method for the number of saved players
+     */
+    public int getNumPlayers(){return players.size();}
+
+    /**
+     * Getter method for the names of the saved players
+     */
+    public List<String> getPlayerNames(){
+        List<String> playerNames = new ArrayList<>();
+        for (SavedPlayer player : players) {
+            playerNames.add(player.name);
+        }
+        return playerNames;
+    }
+
+    /**
+     * Getter method for the number of turns passed when the game was saved, 0 for a save without it
+     */
+    public int getTurnCount(){return turnCount;}
+
+    /**
+     * Getter method for the index of the saved current player
+     */
+    public int getCurrentPlayerIndex(){return currentPlayerIndex;}
+
+    /**
+     * Class SavedPlayer, the fields of a saved Player.
+     */
+    private static class SavedPlayer {
+        private String name = "";
+        private int balance;
+        private int position;
+        private boolean inJail;
+        private int turnsInJail;
+        private int r, g, b;
+        private int ownsXtrains;
+        private boolean ownsBothUtil;
+        private boolean ai;
+        private int numOfDoubleRolls;
+        private boolean bankrupt;
+        private String strategy = "heuristic";
+        private AIParameters parameters = AIParameters.DEFAULT;
+    }
+
+    /**
+     * Class SavedSquare, the owner and buildings of a saved Property or Railroad.
+     */
+    private static class SavedSquare {
+        private String owner = "";
+        private int index;
+        private int numHouses;
+        private int numHotels;
+    }
+}
@@ -0,0 +1,143 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+
+
+public class SavedGameTest {
+
+    private BoardModel newPlayedGame(String boardFileName){
+        BoardModel boardModel = new BoardModel(boardFileName, new SeededRandomSource(42));
+        for (int i = 0; i < 4; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(50*i,10,10), 1500, 4, boardModel.getBoard(), boardModel, null));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        boardModel.playScheduledTurns(300);
+        return boardModel;
+    }
+
+    private File newSaveFile() throws IOException {
+        File file = File.createTempFile("SavedGameTest", BoardModel.BINARY_SAVE_EXTENSION);
+        file.deleteOnExit();
+        return file;
+    }
+
+    // The AIStrategy of every ai player, and the AIParameters of a tuned one, load back from both save formats
+    @Test
+    public void testStrategiesSaveAndLoad() throws IOException {
+        AIParameters tunedParameters = new AIParameters(300, 900, 0.5, 0.6, 0.7, 0.2, 2.5);
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(42));
+        AIStrategy[] strategies = {new HeuristicAIStrategy(), new HeuristicAIStrategy(tunedParameters),
+                new ExpectedValueAIStrategy(), new MonteCarloAIStrategy(MonteCarloTreeSearch.DEFAULT_BUDGET_MILLIS)};
+        for (int i = 0; i < strategies.length; i++) {
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), new Color(50*i,10,10), 1500, 4, boardModel.getBoard(), boardModel, null, strategies[i]));
+        }
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        for (String extension : new String[]{BoardModel.BINARY_SAVE_EXTENSION, BoardModel.XML_SAVE_EXTENSION}) {
+            File saveFile = File.createTempFile("SavedGameTest", extension);
+            saveFile.deleteOnExit();
+            boardModel.save(saveFile.getPath());
+
+            BoardModel loadedBoardModel = new BoardModel("board.xml");
+            loadedBoardModel.load(saveFile.getPath());
+            for (int i = 0; i < strategies.length; i++) {
+                AIStrategy strategy = ((AIPlayer) loadedBoardModel.getPlayer(i)).getStrategy();
+                assertSame(strategies[i].getClass(), strategy.getClass());
+            }
+            assertSame(AIParameters.DEFAULT, ((HeuristicAIStrategy) ((AIPlayer) loadedBoardModel.getPlayer(0)).getStrategy()).getParameters());
+            AIParameters loadedParameters = ((HeuristicAIStrategy) ((AIPlayer) loadedBoardModel.getPlayer(1)).getStrategy()).getParameters();
+            assertArrayEquals(tunedParameters.toArray(), loadedParameters.toArray(), 0.0);
+            assertEquals(boardModel.toXML(), loadedBoardModel.toXML());
+        }
+    }
+
+    // A game saved in the binary format loads back into the same game, on the same board or another one
+    @Test
+    public void testBinarySaveAndLoad() throws IOException {
+        for (String boardFileName : new String[]{"board.xml", "board-fr.xml"}) {
+            BoardModel boardModel = newPlayedGame(boardFileName);
+            File saveFile = newSaveFile();
+            boardModel.save(saveFile.getPath());
+            assertTrue(saveFile.length() < 300);
+
+            BoardModel loadedBoardModel = new BoardModel("board.xml");
+            loadedBoardModel.load(saveFile.getPath());
+            assertEquals(boardModel.toXML(), loadedBoardModel.toXML());
+            assertEquals(boardModel.computeStateHash(), loadedBoardModel.getStateHash());
+            assertEquals(boardModel.getTurnCount(), loadedBoardModel.getTurnCount());
+            assertEquals(boardFileName, loadedBoardModel.getBoard().getUserInputSource());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(boardModel.getPlayer(i).getOwnedSquares(), loadedBoardModel.getPlayer(i).getOwnedSquares());
+            }
+
+            // loading back into the game played on clears its board
+            String savedXML = boardModel.toXML();
+            boardModel.playScheduledTurns(50);
+            boardModel.load(saveFile.getPath());
+            assertEquals(savedXML, boardModel.toXML());
+            assertEquals(boardModel.computeStateHash(), boardModel.getStateHash());
+        }
+    }
+
+    // An xml save read back and written in the binary format keeps the whole game
+    @Test
+    public void testXmlToBinary() throws Exception {
+        BoardModel boardModel = newPlayedGame("board.xml");
+        File xmlFile = File.createTempFile("SavedGameTest", BoardModel.XML_SAVE_EXTENSION);
+        xmlFile.deleteOnExit();
+        boardModel.save(xmlFile.getPath());
+        File saveFile = newSaveFile();
+        SavedGame.read(xmlFile).writeBinary(saveFile);
+
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        SavedGame.readBinary(saveFile).applyTo(loadedBoardModel);
+        assertEquals(boardModel.toXML(), loadedBoardModel.toXML());
+    }
+
+    // A binary save with a changed byte fails its checksum and leaves the game as it was
+    @Test
+    public void testCorruptedBinarySave() throws IOException {
+        BoardModel boardModel = newPlayedGame("board.xml");
+        File saveFile = newSaveFile();
+        boardModel.save(saveFile.getPath());
+        try (RandomAccessFile file = new RandomAccessFile(saveFile, "rw")) {
+            file.seek(SavedGame.BINARY_HEADER_SIZE + 5);
+            int value = file.read();
+            file.seek(SavedGame.BINARY_HEADER_SIZE + 5);
+            file.write(value ^ 1);
+        }
+        try {
+            SavedGame.readBinary(saveFile);
+            fail("corrupted save was read");
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains("checksum"));
+        }
+        BoardModel loadedBoardModel = new BoardModel("board.xml");
+        loadedBoardModel.load(saveFile.getPath());
+        assertTrue(loadedBoardModel.players.isEmpty());
+    }
+
+    // A binary save of a newer version is refused
+    @Test
+    public void testUnsupportedVersion() throws IOException {
+        BoardModel boardModel = newPlayedGame("board.xml");
+        File saveFile = newSaveFile();
+        boardModel.save(saveFile.getPath());
+        try (RandomAccessFile file = new RandomAccessFile(saveFile, "rw")) {
+            file.seek(4);
+            file.writeShort(SavedGame.BINARY_VERSION + 1);
+        }
+        try {
+            SavedGame.readBinary(saveFile);
+            fail("save of an unknown version was read");
+        }
+        catch (IOException e) {
+            assertTrue(e.getMessage().contains("version"));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Class ScriptedRandomSource, a RandomSource that returns a fixed list of values in order.
+ * Used in tests to roll known dice: BoardModel rolls a die as nextInt(6) + 1, so a die of 4 is scripted as 3.
+ * Once all values are used, the list starts again from the first value.
+ */
+public class ScriptedRandomSource implements RandomSource {
+    private final int[] values;
+    private int nextValue;
+
+    /**
+     * ScriptedRandomSource Constructor
+     * @param values the values nextInt returns, in order
+     */
+    public ScriptedRandomSource(int... values){
+        if(values.length == 0){
+            throw new IllegalArgumentException("A ScriptedRandomSource needs at least one value");
+        }
+        this.values = values.clone();
+        this.nextValue = 0;
+    }
+
+    /**
+     * Creates a ScriptedRandomSource that rolls the given dice faces (1 to 6) in order.
+     * @param diceValues dice faces to roll
+     * @return ScriptedRandomSource for the dice
+     */
+    public static ScriptedRandomSource ofDice(int... diceValues){
+        int[] values = new int[diceValues.length];
+        for (int i = 0; i < diceValues.length; i++) {
+            values[i] = diceValues[i] - 1;
+        }
+        return new ScriptedRandomSource(values);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        int value = values[nextValue];
+        nextValue = (nextValue + 1) % values.length;
+        if((value < 0) || (value >= bound)){
+            throw new IllegalStateException("Scripted value " + value + " is out of bound " + bound);
+        }
+        return value;
+    }
+}
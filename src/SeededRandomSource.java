@@ -0,0 +1,74 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class SeededRandomSource, the default RandomSource of a BoardModel, backed by a SplittableRandom.
+ * seed is the seed the generator was created with, it is recorded in save files.
+ * draws is the number of random integers drawn so far. Every draw uses exactly one value of the generator,
+ * so a game can be continued bit for bit from its seed and number of draws.
+ * Not thread safe, a SeededRandomSource belongs to a single BoardModel.
+ */
+public class SeededRandomSource implements RandomSource {
+    private final long seed;
+    private final SplittableRandom random;
+    private long draws;
+
+    /**
+     * Creates a SeededRandomSource with a random seed.
+     */
+    public SeededRandomSource(){
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a SeededRandomSource with the given seed.
+     * @param seed seed of the generator
+     */
+    public SeededRandomSource(long seed){
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.draws = 0;
+    }
+
+    /**
+     * Creates a SeededRandomSource with the given seed, positioned after a number of draws.
+     * Used to continue a saved game exactly where it was saved.
+     * @param seed seed of the generator
+     * @param draws number of draws already made with this seed
+     */
+    public SeededRandomSource(long seed, long draws){
+        this(seed);
+        for (long i = 0; i < draws; i++) {
+            random.nextLong();
+        }
+        this.draws = draws;
+    }
+
+    /**
+     * Returns the seed of game number gameIndex of a set of games started from masterSeed.
+     * The seed only depends on masterSeed and gameIndex, not on which thread plays the game.
+     * @param masterSeed seed of the whole set of games
+     * @param gameIndex number of the game
+     * @return long seed for the game
+     */
+    public static long seedForGame(long masterSeed, long gameIndex){
+        return new SplittableRandom(masterSeed ^ (gameIndex * 0x9E3779B97F4A7C15L)).nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        draws++;
+        // scale the upper 32 bits of one value to the bound, so every draw uses exactly one value
+        return (int) (((random.nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Getter method for the seed of the generator
+     */
+    public long getSeed(){return seed;}
+
+    /**
+     * Getter method for the number of draws made so far
+     */
+    public long getDraws(){return draws;}
+}
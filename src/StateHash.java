@@ -0,0 +1,94 @@
+import java.util.SplittableRandom;
+
+/**
+ * Class StateHash, the Zobrist keys that hash the state of a game into a 64 bit number.
+ * Every part of the state has a random key: the position of each player, its balance rounded down to a multiple of
+ * BALANCE_BUCKET (balances of NUM_BALANCE_BUCKETS buckets or more share the last key), its jail state (inJail and
+ * turnsInJail) and bankrupt status, the owner and number of houses (5 with a hotel) of every square, and the current player.
+ * The hash of a state is the XOR of the keys of its parts, so when a part changes the hash is updated in O(1),
+ * by XORing out the key of the old value and XORing in the key of the new one.
+ * A square owned by the bank with no houses and the absence of a current player have key 0.
+ * The keys are drawn from a fixed seed, so equal states have equal hashes in every run of the game.
+ * BoardModel keeps the hash of its game up to date, GameState computes the same hash from its arrays.
+ */
+public final class StateHash {
+    public static final int MAX_PLAYERS = 8;
+    public static final int BALANCE_BUCKET = 50;
+    private static final int NUM_BALANCE_BUCKETS = 256;
+    private static final int NUM_SQUARES = 64;
+    private static final int NUM_LEVELS = RentTable.NUM_LEVELS;
+    private static final int MAX_TURNS_IN_JAIL = 7;
+    private static final int NUM_JAIL_STATES = 2 * (MAX_TURNS_IN_JAIL + 1);
+    private static final long SEED = 3110;
+
+    private static final long[] positionKeys = new long[MAX_PLAYERS * NUM_SQUARES];
+    private static final long[] balanceKeys = new long[MAX_PLAYERS * NUM_BALANCE_BUCKETS];
+    private static final long[] jailKeys = new long[MAX_PLAYERS * NUM_JAIL_STATES];
+    private static final long[] bankruptKeys = new long[MAX_PLAYERS];
+    private static final long[] ownerKeys = new long[NUM_SQUARES * MAX_PLAYERS];
+    private static final long[] levelKeys = new long[NUM_SQUARES * NUM_LEVELS];
+    private static final long[] currentPlayerKeys = new long[MAX_PLAYERS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        fill(positionKeys, random);
+        fill(balanceKeys, random);
+        fill(jailKeys, random);
+        fill(bankruptKeys, random);
+        fill(ownerKeys, random);
+        fill(levelKeys, random);
+        fill(currentPlayerKeys, random);
+        // a square at level 0 adds nothing, so only the squares with houses or a hotel have a level key
+        for (int square = 0; square < NUM_SQUARES; square++) {
+            levelKeys[square * NUM_LEVELS] = 0;
+        }
+    }
+
+    private StateHash(){}
+
+    /**
+     * Returns the key of the state of a player: its position, balance bucket, jail state and bankrupt status.
+     * @param player index of the player, less than MAX_PLAYERS
+     * @param position location of the player on the board
+     * @param balance balance of the player
+     * @param inJail true if the player is in jail
+     * @param turnsInJail turnsInJail of the player
+     * @param bankrupt true if the player is bankrupt
+     */
+    public static long playerKey(int player, int position, int balance, boolean inJail, int turnsInJail, boolean bankrupt){
+        int bucket = Math.min(Math.max(balance, 0) / BALANCE_BUCKET, NUM_BALANCE_BUCKETS - 1);
+        int jailState = ((inJail ? 1 : 0) * (MAX_TURNS_IN_JAIL + 1)) + Math.min(Math.max(turnsInJail, 0), MAX_TURNS_IN_JAIL);
+        long key = positionKeys[player * NUM_SQUARES + position]
+                ^ balanceKeys[player * NUM_BALANCE_BUCKETS + bucket]
+                ^ jailKeys[player * NUM_JAIL_STATES + jailState];
+        return bankrupt ? (key ^ bankruptKeys[player]) : key;
+    }
+
+    /**
+     * Returns the key of a square: its owner and its number of houses.
+     * @param square location of the square
+     * @param owner index of the owning player, -1 for the bank
+     * @param level number of houses, 5 with a hotel
+     */
+    public static long squareKey(int square, int owner, int level){
+        long key = levelKeys[square * NUM_LEVELS + level];
+        return (owner < 0) ? key : (key ^ ownerKeys[square * MAX_PLAYERS + owner]);
+    }
+
+    /**
+     * Returns the key of the current player.
+     * @param player index of the current player, -1 if there is none
+     */
+    public static long currentPlayerKey(int player){
+        return (player < 0) ? 0 : currentPlayerKeys[player];
+    }
+
+    /**
+     * Fills an array of keys with random numbers.
+     */
+    private static void fill(long[] keys, SplittableRandom random){
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Class TournamentResults, statistics of a set of AI only games played by the TournamentRunner.
+ * wins stores the number of games won by each player seat (index of the player in the game).
+ * draws is the number of games that ended without a single winner.
+ * netWorthEnds is the number of games ended by the turn cap or a stalemate, won by the highest net worth.
+ * unfinishedGames is the number of games that could not be played to the end.
+ * totalTurns is the sum of the length in turns of all games.
+ * Not thread safe, every worker keeps its own TournamentResults which are merged at the end.
+ */
+public class TournamentResults {
+    private final int[] wins;
+    private int gamesPlayed;
+    private int draws;
+    private int netWorthEnds;
+    private int unfinishedGames;
+    private long totalTurns;
+    private long elapsedNanos;
+
+    /**
+     * TournamentResults Constructor
+     * @param numPlayers number of players in each game
+     */
+    public TournamentResults(int numPlayers){
+        this.wins = new int[numPlayers];
+    }
+
+    /**
+     * Record a game that has ended.
+     * @param winnerIndex index of the single winner, -1 if the game ended without a single winner
+     * @param turns length of the game in turns
+     */
+    public void recordGame(int winnerIndex, int turns){
+        recordGame(winnerIndex, turns, false);
+    }
+
+    /**
+     * Record a game that has ended.
+     * @param winnerIndex index of the single winner, -1 if the game ended without a single winner
+     * @param turns length of the game in turns
+     * @param endedByNetWorth true if the game was ended by the turn cap or a stalemate (see BoardModel.hasEndedByNetWorth())
+     */
+    public void recordGame(int winnerIndex, int turns, boolean endedByNetWorth){
+        gamesPlayed++;
+        if(endedByNetWorth){
+            netWorthEnds++;
+        }
+        totalTurns += turns;
+        if(winnerIndex >= 0){
+            wins[winnerIndex]++;
+        }
+        else{
+            draws++;
+        }
+    }
+
+    /**
+     * Record a game that could not be played to the end.
+     * @param turns number of turns played before the game was stopped
+     */
+    public void recordUnfinishedGame(int turns){
+        gamesPlayed++;
+        unfinishedGames++;
+        totalTurns += turns;
+    }
+
+    /**
+     * Add the results of other to these results.
+     * @param other TournamentResults to add
+     */
+    public void merge(TournamentResults other){
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+        }
+        gamesPlayed += other.gamesPlayed;
+        draws += other.draws;
+        netWorthEnds += other.netWorthEnds;
+        unfinishedGames += other.unfinishedGames;
+        totalTurns += other.totalTurns;
+    }
+
+    /**
+     * Setter method for the time it took to play all games
+     * @param elapsedNanos time in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos){this.elapsedNanos = elapsedNanos;}
+
+    /**
+     * Getter method for the number of games played
+     */
+    public int getGamesPlayed(){return gamesPlayed;}
+
+    /**
+     * Getter method for the number of games won by a player
+     * @param playerIndex index of the player in the game
+     */
+    public int getWins(int playerIndex){return wins[playerIndex];}
+
+    /**
+     * Getter method for the number of games without a single winner
+     */
+    public int getDraws(){return draws;}
+
+    /**
+     * Getter method for the number of games ended by the turn cap or a stalemate
+     */
+    public int getNetWorthEnds(){return netWorthEnds;}
+
+    /**
+     * Getter method for the number of games that were not played to the end
+     */
+    public int getUnfinishedGames(){return unfinishedGames;}
+
+    /**
+     * Returns the win rate of a player, between 0 and 1.
+     * @param playerIndex index of the player in the game
+     */
+    public double getWinRate(int playerIndex){
+        if(gamesPlayed == 0){
+            return 0;
+        }
+        return (double) wins[playerIndex] / gamesPlayed;
+    }
+
+    /**
+     * Returns the average length of the games in turns.
+     */
+    public double getAverageGameLength(){
+        if(gamesPlayed == 0){
+            return 0;
+        }
+        return (double) totalTurns / gamesPlayed;
+    }
+
+    /**
+     * Returns the number of games played per second.
+     */
+    public double getGamesPerSecond(){
+        if(elapsedNanos == 0){
+            return 0;
+        }
+        return gamesPlayed / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < wins.length; i++) {
+            s.append(String.format("AI Player%d win rate: %.2f%% (%d wins)%n", i+1, getWinRate(i)*100, wins[i]));
+        }
+        s.append(String.format("Draws: %d, Ended by net worth: %d, Unfinished games: %d%n", draws, netWorthEnds, unfinishedGames));
+        s.append(String.format("Average game length: %.1f turns%n", getAverageGameLength()));
+        s.append(String.format("Throughput: %.1f games/sec", getGamesPerSecond()));
+        return s.toString();
+    }
+}
@@ -0,0 +1,240 @@
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class TournamentRunner, plays a large number of AI only games without a GUI and reports the results.
+ * Every game has its own BoardModel, Board and AIPlayers, so games share no state and run in parallel
+ * on a fixed pool of worker threads (one per core by default).
+ * Each worker takes the next game to play from a shared counter and keeps its own statistics,
+ * which are only merged once all games are played.
+ * Game number i is rolled with a SeededRandomSource seeded from masterSeed and i, so a tournament
+ * can be replayed exactly, whatever the number of threads.
+ * strategyNames gives the AIStrategy of each player seat (see newStrategy(String, AIParameters)), repeated if there
+ * are more seats. The "heuristic" seats use heuristicParameters, AIParameters.DEFAULT unless other ones are given.
+ */
+public class TournamentRunner {
+    private final String boardFileName;
+    private final int numPlayers;
+    private final int numGames;
+    private final int numThreads;
+    private final long masterSeed;
+    private final String[] strategyNames;
+    private final AIParameters heuristicParameters;
+
+    /**
+     * Maximum number of turns of a game, longer games end with a net worth ranking.
+     * Games without progress end earlier, see BoardModel.setStalemateDetection(int, double).
+     */
+    private static final int MAX_TURNS_PER_GAME = 20000;
+
+    /**
+     * TournamentRunner Constructor
+     * @param boardFileName name of the board file every game is played on
+     * @param numPlayers number of AI players in each game, between 2 and 4
+     * @param numGames total number of games to play
+     * @param numThreads number of worker threads to play the games with
+     * @param masterSeed seed the seeds of all games are made from
+     */
+    public TournamentRunner(String boardFileName, int numPlayers, int numGames, int numThreads, long masterSeed){
+        this(boardFileName, numPlayers, numGames, numThreads, masterSeed, new String[]{"heuristic"});
+    }
+
+    /**
+     * TournamentRunner Constructor
+     * @param boardFileName name of the board file every game is played on
+     * @param numPlayers number of AI players in each game, between 2 and 4
+     * @param numGames total number of games to play
+     * @param numThreads number of worker threads to play the games with
+     * @param masterSeed seed the seeds of all games are made from
+     * @param strategyNames names of the AIStrategy of each player seat, see newStrategy(String, AIParameters)
+     */
+    public TournamentRunner(String boardFileName, int numPlayers, int numGames, int numThreads, long masterSeed, String[] strategyNames){
+        this(boardFileName, numPlayers, numGames, numThreads, masterSeed, strategyNames, AIParameters.DEFAULT);
+    }
+
+    /**
+     * TournamentRunner Constructor
+     * @param boardFileName name of the board file every game is played on
+     * @param numPlayers number of AI players in each game, between 2 and 4
+     * @param numGames total number of games to play
+     * @param numThreads number of worker threads to play the games with
+     * @param masterSeed seed the seeds of all games are made from
+     * @param strategyNames names of the AIStrategy of each player seat, see newStrategy(String, AIParameters)
+     * @param heuristicParameters AIParameters of the "heuristic" seats
+     */
+    public TournamentRunner(String boardFileName, int numPlayers, int numGames, int numThreads, long masterSeed, String[] strategyNames,
+                            AIParameters heuristicParameters){
+        if((numPlayers < 2) || (numPlayers > 4)){
+            throw new IllegalArgumentException("Number of players can only be 2, 3, or 4.");
+        }
+        this.boardFileName = boardFileName;
+        this.numPlayers = numPlayers;
+        this.numGames = numGames;
+        this.numThreads = Math.max(1, numThreads);
+        this.masterSeed = masterSeed;
+        this.strategyNames = strategyNames.clone();
+        this.heuristicParameters = heuristicParameters;
+        for (String strategyName : strategyNames) {
+            newStrategy(strategyName, heuristicParameters);
+        }
+    }
+
+    /**
+     * Creates an AIStrategy from its name: "heuristic" (HeuristicAIStrategy), "expected" (ExpectedValueAIStrategy)
+     * or "mcts" (MonteCarloAIStrategy).
+     * @param strategyName name of the strategy
+     * @param heuristicParameters AIParameters of a HeuristicAIStrategy
+     * @return new AIStrategy
+     */
+    public static AIStrategy newStrategy(String strategyName, AIParameters heuristicParameters){
+        if(strategyName.equalsIgnoreCase("heuristic")){
+            return new HeuristicAIStrategy(heuristicParameters);
+        }
+        if(strategyName.equalsIgnoreCase("expected")){
+            return new ExpectedValueAIStrategy();
+        }
+        if(strategyName.equalsIgnoreCase("mcts")){
+            return new MonteCarloAIStrategy(MonteCarloTreeSearch.DEFAULT_BUDGET_MILLIS);
+        }
+        throw new IllegalArgumentException("Unknown AI strategy: " + strategyName);
+    }
+
+    /**
+     * Returns the name newStrategy(String, AIParameters) creates an AIStrategy from, "heuristic" for a strategy
+     * it can not create.
+     * @param strategy AIStrategy to name
+     * @return name of the strategy
+     */
+    public static String getStrategyName(AIStrategy strategy){
+        if(strategy instanceof ExpectedValueAIStrategy){
+            return "expected";
+        }
+        if(strategy instanceof MonteCarloAIStrategy){
+            return "mcts";
+        }
+        return "heuristic";
+    }
+
+    /**
+     * Plays all games of the tournament and returns the merged results.
+     * @return TournamentResults of all games played
+     */
+    public TournamentResults run() throws InterruptedException {
+        AtomicInteger nextGame = new AtomicInteger(0);
+        ExecutorService workers = Executors.newFixedThreadPool(numThreads, newWorkerThreadFactory());
+        List<Future<TournamentResults>> futures = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < numThreads; i++) {
+            futures.add(workers.submit(() -> {
+                TournamentResults workerResults = new TournamentResults(numPlayers);
+                int gameIndex = nextGame.getAndIncrement();
+                while(gameIndex < numGames){
+                    playGame(gameIndex, workerResults);
+                    gameIndex = nextGame.getAndIncrement();
+                }
+                return workerResults;
+            }));
+        }
+        TournamentResults results = new TournamentResults(numPlayers);
+        try {
+            for (Future<TournamentResults> future : futures) {
+                results.merge(future.get());
+            }
+        }
+        catch (ExecutionException e){
+            throw new IllegalStateException("A tournament worker failed", e.getCause());
+        }
+        finally {
+            workers.shutdownNow();
+        }
+        results.setElapsedNanos(System.nanoTime() - startTime);
+        return results;
+    }
+
+    /**
+     * Plays one complete AI only game and records its result.
+     * @param gameIndex number of the game in the tournament
+     * @param results TournamentResults to record the game in
+     */
+    private void playGame(int gameIndex, TournamentResults results){
+        BoardModel boardModel = newGame(SeededRandomSource.seedForGame(masterSeed, gameIndex));
+        Player firstPlayer = boardModel.getPlayer(boardModel.determineFirstPlayer());
+        boardModel.setCurrentPlayer(firstPlayer);
+        boardModel.setMaxTurns(MAX_TURNS_PER_GAME);
+        boardModel.setStalemateDetection(BoardModel.DEFAULT_STALEMATE_ROUNDS, BoardModel.DEFAULT_STALEMATE_BALANCE_DRIFT);
+        boardModel.playScheduledTurns(MAX_TURNS_PER_GAME);
+        if(!boardModel.isGameOver()){
+            results.recordUnfinishedGame(boardModel.getTurnCount());
+            return;
+        }
+        ArrayList<Player> winners = boardModel.getWinnersList();
+        int winnerIndex = -1;
+        if(winners.size() == 1){
+            winnerIndex = boardModel.players.indexOf(winners.get(0));
+        }
+        results.recordGame(winnerIndex, boardModel.getTurnCount(), boardModel.hasEndedByNetWorth());
+    }
+
+    /**
+     * Creates a new headless BoardModel with numPlayers AI players.
+     * @param seed seed of the dice of the game
+     * @return BoardModel ready to be played
+     */
+    private BoardModel newGame(long seed){
+        BoardModel boardModel = new BoardModel(boardFileName, new SeededRandomSource(seed));
+        Color[] playerColors = {new Color(100,0,0), new Color(0,100,0), new Color(0,0,100), new Color(150,100,50)};
+        for (int i = 0; i < numPlayers; i++) {
+            AIStrategy strategy = newStrategy(strategyNames[i % strategyNames.length], heuristicParameters);
+            boardModel.addPlayer(new AIPlayer("AI Player" + (i+1), playerColors[i], 1500, numPlayers, boardModel.getBoard(), boardModel, null, strategy));
+        }
+        return boardModel;
+    }
+
+    /**
+     * Creates the factory of the worker threads, daemon threads named after the tournament.
+     * @return ThreadFactory for the worker pool
+     */
+    private static ThreadFactory newWorkerThreadFactory(){
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "tournament-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Main method to run a tournament from the command line.
+     * Arguments (all optional): number of games, number of players, number of threads, board file name, master seed,
+     * strategies of the player seats separated by commas (for example "expected,heuristic"), AIParameters file of
+     * the heuristic seats (for example the aiParameters.xml written by the GeneticTuner, AIParameters.DEFAULT if none).
+     */
+    public static void main(String args[]) throws InterruptedException {
+        int numGames = 10000;
+        int numPlayers = 4;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        String boardFileName = "board.xml";
+        long masterSeed = System.nanoTime();
+        if(args.length > 0){ numGames = Integer.parseInt(args[0]); }
+        if(args.length > 1){ numPlayers = Integer.parseInt(args[1]); }
+        if(args.length > 2){ numThreads = Integer.parseInt(args[2]); }
+        if(args.length > 3){ boardFileName = args[3]; }
+        if(args.length > 4){ masterSeed = Long.parseLong(args[4]); }
+        String[] strategyNames = {"heuristic"};
+        if(args.length > 5){ strategyNames = args[5].split(","); }
+        AIParameters heuristicParameters = AIParameters.DEFAULT;
+        if(args.length > 6){ heuristicParameters = AIParameters.load(args[6]); }
+
+        TournamentRunner tournamentRunner = new TournamentRunner(boardFileName, numPlayers, numGames, numThreads, masterSeed, strategyNames, heuristicParameters);
+        TournamentResults results = tournamentRunner.run();
+        System.out.println("Played " + numGames + " games of " + numPlayers + " AI players on " + numThreads + " threads, master seed " + masterSeed + ".");
+        System.out.println(results);
+    }
+}
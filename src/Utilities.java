@@ -21,17 +21,16 @@ public class Utilities extends Property {
 
     @Override
     /**
-     * get and return rent variable.
-     * if owner owns both utilities, return rentVar times 2.5
-     * else return rentVar
-     * @returns calculated rentVar() value
+     * get rent level of utilities.
+     * if owner owns both utilities, return 1 (rent of rentVar times 2.5)
+     * else return 0 (rent of rentVar)
      */
-    public int getRent() {
+    public int getRentLevel() {
         if (getOwner().getOwnsBothUtil()) {
-            return (int)(this.getrentVar()*2.5);
+            return 1;
         }
         else{
-            return this.getrentVar();
+            return 0;
         }
     }
 }
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Class WinProbabilityEstimator, estimates the chance of winning of every player of a game in the background.
+ * estimate() takes a GameState snapshot of the game and plays numRollouts headless games from it on a pool of worker
+ * threads, with the default policy of the MonteCarloTreeSearch, for at most ROLLOUT_TURNS turns each.
+ * A player scores 1 for a win, and its share of the net worth of all players if the rollout is not over.
+ * The win probabilities (the average scores) are given to the publisher on a worker thread once all rollouts are played.
+ * Each new estimate cancels the one still running, which publishes nothing, so the estimates keep up with the game.
+ * The snapshot is copied by every rollout and never changed, so the game can go on while the estimate runs.
+ */
+public class WinProbabilityEstimator {
+    public static final int DEFAULT_NUM_ROLLOUTS = 2000;
+    private static final int ROLLOUT_TURNS = 500;
+
+    private final int numRollouts;
+    private final int numWorkers;
+    private final Consumer<double[]> publisher;
+    private final ExecutorService workers;
+    private Estimate runningEstimate;
+
+    /**
+     * WinProbabilityEstimator Constructor
+     * @param numRollouts number of rollouts of each estimate
+     * @param publisher receives the win probability of each player, on a worker thread
+     */
+    public WinProbabilityEstimator(int numRollouts, Consumer<double[]> publisher){
+        this.numRollouts = Math.max(1, numRollouts);
+        this.numWorkers = Runtime.getRuntime().availableProcessors();
+        this.publisher = publisher;
+        this.workers = Executors.newFixedThreadPool(numWorkers, newWorkerThreadFactory());
+    }
+
+    /**
+     * Cancels the running estimate and starts estimating the win probabilities of a snapshot of the game.
+     * Returns right away.
+     * @param snapshot GameState of the game, not changed by the estimate
+     */
+    public synchronized void estimate(GameState snapshot){
+        cancel();
+        Estimate estimate = new Estimate(snapshot.getNumPlayers());
+        runningEstimate = estimate;
+        for (int i = 0; i < numWorkers; i++) {
+            int workerRollouts = (numRollouts / numWorkers) + ((i < numRollouts % numWorkers) ? 1 : 0);
+            estimate.futures.add(workers.submit(() -> playRollouts(estimate, snapshot, workerRollouts)));
+        }
+    }
+
+    /**
+     * Cancels the running estimate, if any, it publishes nothing.
+     */
+    public synchronized void cancel(){
+        if(runningEstimate != null){
+            runningEstimate.cancelled = true;
+            for (Future<?> future : runningEstimate.futures) {
+                future.cancel(false);
+            }
+            runningEstimate = null;
+        }
+    }
+
+    /**
+     * Cancels the running estimate and stops the worker threads.
+     */
+    public void shutdown(){
+        cancel();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Plays the rollouts of a worker and adds their scores to the estimate, the last worker to finish publishes it.
+     */
+    private void playRollouts(Estimate estimate, GameState snapshot, int workerRollouts){
+        RandomSource random = new SeededRandomSource();
+        double[] scores = new double[snapshot.getNumPlayers()];
+        for (int i = 0; (i < workerRollouts) && !estimate.cancelled; i++) {
+            GameState state = snapshot.copy();
+            for (int turn = 0; (turn < ROLLOUT_TURNS) && !state.isGameOver(); turn++) {
+                MonteCarloTreeSearch.playTurn(state, random);
+            }
+            addScores(state, scores);
+        }
+        if(estimate.addWorkerScores(scores, numWorkers) && !estimate.cancelled){
+            for (int i = 0; i < estimate.scores.length; i++) {
+                estimate.scores[i] /= numRollouts;
+            }
+            publisher.accept(estimate.scores);
+        }
+    }
+
+    /**
+     * Adds the score of every player at the end of a rollout.
+     */
+    private static void addScores(GameState state, double[] scores){
+        if(state.isGameOver()){
+            scores[state.getWinner()] += 1;
+            return;
+        }
+        double totalNetWorth = 0;
+        for (int i = 0; i < state.getNumPlayers(); i++) {
+            totalNetWorth += state.getNetWorth(i);
+        }
+        for (int i = 0; (i < state.getNumPlayers()) && (totalNetWorth > 0); i++) {
+            scores[i] += state.getNetWorth(i) / totalNetWorth;
+        }
+    }
+
+    /**
+     * Class Estimate, the merged scores of the workers of one estimate.
+     * cancelled is set when a newer estimate starts, finishedWorkers counts the workers that added their scores.
+     */
+    private static class Estimate {
+        private final double[] scores;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private volatile boolean cancelled;
+        private int finishedWorkers;
+
+        private Estimate(int numPlayers){
+            this.scores = new double[numPlayers];
+        }
+
+        /**
+         * Adds the scores of a worker, returns true if it was the last worker to finish.
+         */
+        private synchronized boolean addWorkerScores(double[] workerScores, int numWorkers){
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += workerScores[i];
+            }
+            finishedWorkers++;
+            return finishedWorkers == numWorkers;
+        }
+    }
+
+    /**
+     * Creates the factory of the worker threads, daemon threads so they never keep the game running,
+     * with a low priority so the GUI and the AI turns come first.
+     */
+    private static ThreadFactory newWorkerThreadFactory(){
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "win-probability-worker-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+}
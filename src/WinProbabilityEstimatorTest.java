@@ -0,0 +1,49 @@
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+
+public class WinProbabilityEstimatorTest {
+
+    private GameState newGameState(int balance1){
+        BoardModel boardModel = new BoardModel("board.xml", new SeededRandomSource(3));
+        boardModel.addPlayer(new Player("P1", new Color(10,10,10), balance1, false));
+        boardModel.addPlayer(new Player("P2", new Color(20,20,20), 1500, false));
+        boardModel.setCurrentPlayer(boardModel.getPlayer(0));
+        return GameState.fromModel(boardModel);
+    }
+
+    // The win probabilities of all players add up to 1, and the richest player is the most likely to win
+    @Test
+    public void testEstimate() throws InterruptedException {
+        BlockingQueue<double[]> estimates = new ArrayBlockingQueue<>(10);
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(400, estimates::add);
+        estimator.estimate(newGameState(1500));
+        double[] probabilities = estimates.poll(30, TimeUnit.SECONDS);
+        assertNotNull(probabilities);
+        assertEquals(1.0, probabilities[0] + probabilities[1], 1e-9);
+        assertTrue(probabilities[0] > 0.2 && probabilities[1] > 0.2);
+
+        estimator.estimate(newGameState(20000));
+        probabilities = estimates.poll(30, TimeUnit.SECONDS);
+        assertNotNull(probabilities);
+        assertTrue(probabilities[0] > 0.8);
+        estimator.shutdown();
+    }
+
+    // A cancelled estimate publishes nothing
+    @Test
+    public void testCancel() throws InterruptedException {
+        BlockingQueue<double[]> estimates = new ArrayBlockingQueue<>(10);
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(100000, estimates::add);
+        estimator.estimate(newGameState(1500));
+        estimator.cancel();
+        assertNull(estimates.poll(500, TimeUnit.MILLISECONDS));
+        estimator.shutdown();
+    }
+}